@@ -0,0 +1,215 @@
+package com.github.messenger4j.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file ({@code -rf json}) with a stored baseline and exits with status 1 if any
+ * benchmark regressed, either in its primary score or in its normalized allocation rate ({@code -prof gc}).
+ * <p>
+ * A difference counts as a regression if it exceeds the threshold relative to the baseline. The score errors are not
+ * added to that margin, since errors of 30% and more would let any regression pass; instead, runs have to be
+ * measured with enough forks and iterations to keep their errors below the threshold, and scores with a larger
+ * error are flagged as {@code NOISY}, since their verdict is not reliable. A warning is printed if the run settings differ from those of the baseline.
+ * <p>
+ * With {@code --record}, a result file is instead written as a new baseline, reduced to the run settings, the scores
+ * and their errors, so that baselines do not carry the paths, arguments and versions of the machine they were
+ * recorded on.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> [threshold, default 0.1]} or
+ * {@code BaselineComparison --record <result.json> <baseline.json>}
+ *
+ * @since 1.1.0
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_TOLERANCE_BYTES = 16;
+    private static final double DEFAULT_THRESHOLD = 0.1;
+    private static final String[] RUN_SETTINGS = {"forks", "warmupIterations", "measurementIterations"};
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && "--record".equals(args[0])) {
+            record(args[1], args[2]);
+            return;
+        }
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [threshold]");
+            System.err.println("       BaselineComparison --record <result.json> <baseline.json>");
+            System.exit(2);
+        }
+        final Map<String, JsonObject> baseline = read(args[0]);
+        final Map<String, JsonObject> result = read(args[1]);
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        int regressionCount = 0;
+        System.out.printf("%-100s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Current", "Change",
+                "Base B/op", "Curr B/op");
+        for (Map.Entry<String, JsonObject> entry : result.entrySet()) {
+            final JsonObject baselineRun = baseline.get(entry.getKey());
+            if (baselineRun == null) {
+                System.out.printf("%-100s %14s%n", entry.getKey(), "(no baseline)");
+                continue;
+            }
+            final JsonObject currentRun = entry.getValue();
+            warnAboutDifferentSettings(entry.getKey(), baselineRun, currentRun);
+            final JsonObject baselineScore = baselineRun.getAsJsonObject("primaryMetric");
+            final JsonObject currentScore = currentRun.getAsJsonObject("primaryMetric");
+            final double change = (score(currentScore) - score(baselineScore)) / score(baselineScore);
+            final boolean higherIsBetter = "thrpt".equals(currentRun.get("mode").getAsString());
+            boolean regressed = regressed(baselineScore, currentScore, higherIsBetter, threshold, 0);
+            final boolean noisy = relativeError(baselineScore) > threshold || relativeError(currentScore) > threshold;
+
+            final JsonObject baselineAllocation = allocation(baselineRun);
+            final JsonObject currentAllocation = allocation(currentRun);
+            if (baselineAllocation != null && currentAllocation != null
+                    && regressed(baselineAllocation, currentAllocation, false, threshold, ALLOCATION_TOLERANCE_BYTES)) {
+                regressed = true;
+            }
+            if (regressed) {
+                regressionCount++;
+            }
+            System.out.printf("%-100s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%s%n", entry.getKey(),
+                    score(baselineScore), score(currentScore), change * 100, score(baselineAllocation),
+                    score(currentAllocation), (regressed ? "  REGRESSION" : "") + (noisy ? "  NOISY" : ""));
+        }
+
+        if (regressionCount > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n",
+                    regressionCount, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static void record(String resultFile, String baselineFile) throws IOException {
+        final JsonArray baseline = new JsonArray();
+        for (JsonObject run : read(resultFile).values()) {
+            final JsonObject baselineRun = new JsonObject();
+            baselineRun.add("benchmark", run.get("benchmark"));
+            baselineRun.add("mode", run.get("mode"));
+            for (String setting : RUN_SETTINGS) {
+                baselineRun.add(setting, run.get(setting));
+            }
+            if (run.has("params")) {
+                baselineRun.add("params", run.get("params"));
+            }
+            baselineRun.add("primaryMetric", metric(run.getAsJsonObject("primaryMetric")));
+            final JsonObject allocation = allocation(run);
+            if (allocation != null) {
+                final JsonObject secondaryMetrics = new JsonObject();
+                secondaryMetrics.add(ALLOCATION_METRIC, metric(allocation));
+                baselineRun.add("secondaryMetrics", secondaryMetrics);
+            }
+            baseline.add(baselineRun);
+            final double relativeError = relativeError(run.getAsJsonObject("primaryMetric"));
+            if (relativeError > DEFAULT_THRESHOLD) {
+                System.out.printf("Warning: %s has a score error of %.1f%%, record with more forks or iterations%n",
+                        key(run), relativeError * 100);
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(Paths.get(baselineFile), UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(baseline, writer);
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    private static JsonObject metric(JsonObject metric) {
+        final JsonObject reducedMetric = new JsonObject();
+        reducedMetric.addProperty("score", score(metric));
+        reducedMetric.addProperty("scoreError", scoreError(metric));
+        reducedMetric.add("scoreUnit", metric.get("scoreUnit"));
+        return reducedMetric;
+    }
+
+    /**
+     * @return whether the current score is worse than the baseline score by more than the threshold and the absolute
+     * tolerance
+     */
+    private static boolean regressed(JsonObject baseline, JsonObject current, boolean higherIsBetter,
+                                     double threshold, double tolerance) {
+        final double difference = higherIsBetter ? score(baseline) - score(current) : score(current) - score(baseline);
+        return difference > threshold * score(baseline) + tolerance;
+    }
+
+    private static void warnAboutDifferentSettings(String key, JsonObject baselineRun, JsonObject currentRun) {
+        for (String setting : RUN_SETTINGS) {
+            final JsonElement baselineSetting = baselineRun.get(setting);
+            final JsonElement currentSetting = currentRun.get(setting);
+            if (baselineSetting != null && !baselineSetting.equals(currentSetting)) {
+                System.out.printf("Warning: %s was measured with %s=%s, the baseline with %s%n", key, setting,
+                        currentSetting, baselineSetting);
+            }
+        }
+    }
+
+    private static Map<String, JsonObject> read(String file) throws IOException {
+        final Map<String, JsonObject> runs = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(file), UTF_8)) {
+            final JsonArray jsonArray = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement jsonElement : jsonArray) {
+                final JsonObject run = jsonElement.getAsJsonObject();
+                runs.put(key(run), run);
+            }
+        }
+        return runs;
+    }
+
+    private static String key(JsonObject run) {
+        final StringBuilder key = new StringBuilder(run.get("benchmark").getAsString()
+                .replace("com.github.messenger4j.benchmark.", ""));
+        final JsonObject params = run.getAsJsonObject("params");
+        if (params != null) {
+            final Map<String, String> sortedParams = new TreeMap<>();
+            params.entrySet().forEach(param -> sortedParams.put(param.getKey(), param.getValue().getAsString()));
+            sortedParams.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+
+    private static double score(JsonObject metric) {
+        return metric == null ? -1 : metric.get("score").getAsDouble();
+    }
+
+    /**
+     * @return the score error, or {@code 0} if JMH could not compute it (e.g. {@code "NaN"} for a single iteration)
+     */
+    private static double scoreError(JsonObject metric) {
+        final JsonElement scoreError = metric.get("scoreError");
+        if (scoreError == null || !scoreError.isJsonPrimitive() || !scoreError.getAsJsonPrimitive().isNumber()) {
+            return 0;
+        }
+        final double value = scoreError.getAsDouble();
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private static double relativeError(JsonObject metric) {
+        return score(metric) == 0 ? 0 : scoreError(metric) / Math.abs(score(metric));
+    }
+
+    private static JsonObject allocation(JsonObject run) {
+        final JsonObject secondaryMetrics = run.getAsJsonObject("secondaryMetrics");
+        if (secondaryMetrics != null) {
+            for (Map.Entry<String, JsonElement> metric : secondaryMetrics.entrySet()) {
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    return metric.getValue().getAsJsonObject();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.benchmark.WebhookPayloads.EventType;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.factory.EventFactory;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link EventFactory#createEvent(JsonObject)} per event type, excluding JSON parsing.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventFactoryBenchmark {
+
+    @Param({"TEXT", "QUICK_REPLY", "ATTACHMENT", "ECHO", "POSTBACK", "REFERRAL", "OPT_IN", "ACCOUNT_LINKING", "READ",
+            "DELIVERY"})
+    private EventType eventType;
+
+    private JsonObject messagingEvent;
+
+    @Setup
+    public void setUp() {
+        messagingEvent = new JsonParser().parse(WebhookPayloads.messagingEvent(eventType, 1)).getAsJsonObject();
+    }
+
+    @Benchmark
+    public Event createEvent() {
+        return EventFactory.createEvent(messagingEvent);
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.internal.gson.GsonFactory;
+import com.google.gson.Gson;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of the {@code Gson} instance used by {@code Messenger}.
+ *
+ * @since 1.1.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GsonFactoryBenchmark {
+
+    @Benchmark
+    public Gson createGson() {
+        return GsonFactory.createGson();
+    }
+}
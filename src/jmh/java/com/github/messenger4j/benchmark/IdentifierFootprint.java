@@ -0,0 +1,88 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.benchmark.WebhookPayloads.EventType;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IdentifierInterner;
+import com.github.messenger4j.webhook.factory.EventFactory;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the retained heap of received events with and without an {@link IdentifierInterner}, simulating an
+ * application that keeps recent events (e.g. as conversation history) in memory.
+ * <p>
+ * Usage: {@code IdentifierFootprint [events=200000] [users=1000] [capacity=4096]}
+ *
+ * @since 1.1.0
+ */
+public final class IdentifierFootprint {
+
+    private IdentifierFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int eventCount = 200_000;
+        int userCount = 1000;
+        int capacity = 4096;
+        for (String arg : args) {
+            final String[] keyValue = arg.split("=", 2);
+            switch (keyValue[0]) {
+                case "events":
+                    eventCount = Integer.parseInt(keyValue[1]);
+                    break;
+                case "users":
+                    userCount = Integer.parseInt(keyValue[1]);
+                    break;
+                case "capacity":
+                    capacity = Integer.parseInt(keyValue[1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        final long plainBytes = retainedBytes(eventCount, userCount, null);
+        final IdentifierInterner identifierInterner = IdentifierInterner.create(capacity);
+        final long internedBytes = retainedBytes(eventCount, userCount, identifierInterner);
+
+        System.out.printf("%d events from %d users%n", eventCount, userCount);
+        System.out.printf("without interner: %,d bytes (%d bytes/event)%n", plainBytes, plainBytes / eventCount);
+        System.out.printf("with interner:    %,d bytes (%d bytes/event, hit rate %.1f%%)%n", internedBytes,
+                internedBytes / eventCount, 100.0 * identifierInterner.hitCount() /
+                        (identifierInterner.hitCount() + identifierInterner.missCount()));
+        System.out.printf("saved:            %,d bytes (%.1f%%)%n", plainBytes - internedBytes,
+                100.0 * (plainBytes - internedBytes) / plainBytes);
+    }
+
+    private static long retainedBytes(int eventCount, int userCount, IdentifierInterner identifierInterner)
+            throws InterruptedException {
+        final JsonParser jsonParser = new JsonParser();
+        final long baseline = usedHeap();
+        final List<Event> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            final JsonObject messagingEvent = jsonParser.parse(
+                    WebhookPayloads.messagingEvent(EventType.READ, i % userCount)).getAsJsonObject();
+            events.add(identifierInterner == null
+                    ? EventFactory.createEvent(messagingEvent)
+                    : EventFactory.createEvent(messagingEvent, identifierInterner));
+        }
+        final long retained = usedHeap() - baseline;
+        if (events.size() != eventCount) {
+            throw new IllegalStateException();
+        }
+        return retained;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+}
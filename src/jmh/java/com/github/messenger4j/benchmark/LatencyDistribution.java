@@ -0,0 +1,58 @@
+package com.github.messenger4j.benchmark;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The distribution of the response latency of the {@link MockGraphApi}.
+ *
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * The z-score of the 99th percentile of the standard normal distribution.
+     */
+    double Z_99 = 2.326;
+
+    long sampleNanos(Random random);
+
+    static LatencyDistribution fixed(Duration latency) {
+        final long latencyNanos = latency.toNanos();
+        return random -> latencyNanos;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        final long minNanos = min.toNanos();
+        final long rangeNanos = max.toNanos() - minNanos;
+        return random -> minNanos + (long) (random.nextDouble() * rangeNanos);
+    }
+
+    /**
+     * A long-tailed distribution as usually observed for remote APIs, defined by its median and 99th percentile.
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        final double mu = Math.log(median.toNanos());
+        final double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    /**
+     * Parses {@code fixed:<latency>}, {@code uniform:<min>:<max>} or {@code lognormal:<median>:<p99>}, where
+     * durations are given like {@code 250ms} or {@code 2s}.
+     */
+    static LatencyDistribution parse(String value) {
+        final String[] parts = value.split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(LoadTestOptions.parseDuration(parts[1]));
+            case "uniform":
+                return uniform(LoadTestOptions.parseDuration(parts[1]), LoadTestOptions.parseDuration(parts[2]));
+            case "lognormal":
+                return logNormal(LoadTestOptions.parseDuration(parts[1]), LoadTestOptions.parseDuration(parts[2]));
+            default:
+                throw new IllegalArgumentException("Unsupported latency distribution: " + value);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.messenger4j.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.messenger4j.spi.MessengerHttpClient;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * The HTTP clients the load test can be run with. Every client redirects the requests for
+ * {@code https://graph.facebook.com/} to the given base URL, e.g. the one of the {@link MockGraphApi}.
+ *
+ * @since 1.1.0
+ */
+public enum LoadTestHttpClient {
+
+    /**
+     * OkHttp configured like the default client of messenger4j.
+     */
+    OKHTTP {
+        @Override
+        MessengerHttpClient create(int concurrency) {
+            return new OkHttpMessengerHttpClient(new OkHttpClient());
+        }
+    },
+
+    /**
+     * OkHttp keeping as many idle connections as there are concurrent requests.
+     */
+    OKHTTP_POOLED {
+        @Override
+        MessengerHttpClient create(int concurrency) {
+            return new OkHttpMessengerHttpClient(new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(concurrency, 5, TimeUnit.MINUTES))
+                    .build());
+        }
+    },
+
+    /**
+     * The JDK's {@link HttpURLConnection}.
+     */
+    URL_CONNECTION {
+        @Override
+        MessengerHttpClient create(int concurrency) {
+            return new UrlConnectionMessengerHttpClient();
+        }
+    };
+
+    private static final String GRAPH_API_BASE_URL = "https://graph.facebook.com/";
+    private static final String APPLICATION_JSON_CHARSET_UTF_8 = "application/json; charset=utf-8";
+
+    public MessengerHttpClient create(int concurrency, String baseUrl) {
+        final MessengerHttpClient delegate = create(concurrency);
+        return (httpMethod, url, jsonBody) -> delegate.execute(httpMethod,
+                url.startsWith(GRAPH_API_BASE_URL) ? baseUrl + url.substring(GRAPH_API_BASE_URL.length()) : url,
+                jsonBody);
+    }
+
+    abstract MessengerHttpClient create(int concurrency);
+
+    private static final class OkHttpMessengerHttpClient implements MessengerHttpClient {
+
+        private final OkHttpClient okHttp;
+
+        private OkHttpMessengerHttpClient(OkHttpClient okHttp) {
+            this.okHttp = okHttp;
+        }
+
+        @Override
+        public HttpResponse execute(HttpMethod httpMethod, String url, String jsonBody) throws IOException {
+            final Request.Builder requestBuilder = new Request.Builder().url(url);
+            if (httpMethod != HttpMethod.GET) {
+                final RequestBody requestBody = RequestBody.create(MediaType.parse(APPLICATION_JSON_CHARSET_UTF_8),
+                        jsonBody);
+                requestBuilder.method(httpMethod.name(), requestBody);
+            }
+            try (Response response = okHttp.newCall(requestBuilder.build()).execute()) {
+                return new HttpResponse(response.code(), response.body().string());
+            }
+        }
+    }
+
+    private static final class UrlConnectionMessengerHttpClient implements MessengerHttpClient {
+
+        @Override
+        public HttpResponse execute(HttpMethod httpMethod, String url, String jsonBody) throws IOException {
+            final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod(httpMethod.name());
+            if (httpMethod != HttpMethod.GET) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", APPLICATION_JSON_CHARSET_UTF_8);
+                try (OutputStream requestBody = connection.getOutputStream()) {
+                    requestBody.write(jsonBody.getBytes(UTF_8));
+                }
+            }
+            final int statusCode = connection.getResponseCode();
+            try (InputStream responseBody = statusCode < 400 ? connection.getInputStream()
+                    : connection.getErrorStream()) {
+                return new HttpResponse(statusCode, read(responseBody));
+            }
+        }
+
+        private static String read(InputStream inputStream) throws IOException {
+            if (inputStream == null) {
+                return "";
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, length);
+            }
+            return new String(bytes.toByteArray(), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.benchmark.OutboundPayloads.PayloadType;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The options of the {@link SendLoadTest}, given as {@code key=value} arguments.
+ *
+ * @since 1.1.0
+ */
+final class LoadTestOptions {
+
+    final double requestsPerSecond;
+    final Duration warmup;
+    final Duration duration;
+    final LoadTestHttpClient httpClient;
+    final ConcurrencyMode concurrencyMode;
+    final int concurrency;
+    final PayloadType payloadType;
+    final LatencyDistribution latency;
+    final double errorRate;
+    final int throttleRequestsPerSecond;
+
+    private LoadTestOptions(Map<String, String> options) {
+        this.requestsPerSecond = Double.parseDouble(options.getOrDefault("qps", "500"));
+        this.warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+        this.duration = parseDuration(options.getOrDefault("duration", "20s"));
+        this.httpClient = LoadTestHttpClient.valueOf(upperCase(options.getOrDefault("client", "okhttp")));
+        this.concurrencyMode = ConcurrencyMode.valueOf(upperCase(options.getOrDefault("mode", "fixed")));
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        this.payloadType = PayloadType.valueOf(upperCase(options.getOrDefault("payload", "text_message")));
+        this.latency = LatencyDistribution.parse(options.getOrDefault("latency", "lognormal:20ms:150ms"));
+        this.errorRate = Double.parseDouble(options.getOrDefault("errorRate", "0"));
+        this.throttleRequestsPerSecond = Integer.parseInt(options.getOrDefault("throttleQps", "0"));
+        if (payloadType == PayloadType.MESSENGER_SETTINGS) {
+            throw new IllegalArgumentException("payload must be a message payload");
+        }
+    }
+
+    static LoadTestOptions parse(String... args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separatorIndex = arg.indexOf('=');
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Options must be given as key=value: " + arg);
+            }
+            options.put(arg.substring(0, separatorIndex), arg.substring(separatorIndex + 1));
+        }
+        return new LoadTestOptions(options);
+    }
+
+    /**
+     * Parses durations like {@code 250ms}, {@code 20s} or {@code 2m}.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Unsupported duration: " + value);
+    }
+
+    private static String upperCase(String value) {
+        return value.toUpperCase(Locale.ENGLISH);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("qps=%s warmup=%s duration=%s client=%s mode=%s concurrency=%d payload=%s " +
+                        "errorRate=%s throttleQps=%d", requestsPerSecond, warmup, duration, httpClient,
+                concurrencyMode, concurrency, payloadType, errorRate, throttleRequestsPerSecond);
+    }
+
+    /**
+     * How the sends are executed.
+     */
+    enum ConcurrencyMode {
+
+        /**
+         * A fixed pool of {@code concurrency} threads; sends queue up when all threads are busy.
+         */
+        FIXED,
+
+        /**
+         * A new or idle thread for every send, so sends never queue up.
+         */
+        CACHED
+    }
+}
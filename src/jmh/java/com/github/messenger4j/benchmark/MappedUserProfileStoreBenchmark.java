@@ -0,0 +1,90 @@
+package com.github.messenger4j.benchmark;
+
+import static java.util.Optional.empty;
+
+import com.github.messenger4j.userprofile.MappedUserProfileStore;
+import com.github.messenger4j.userprofile.StoredUserProfile;
+import com.github.messenger4j.userprofile.UserProfile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the startup load time and the lookup latency of {@link MappedUserProfileStore}.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.args=MappedUserProfileStore}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class MappedUserProfileStoreBenchmark {
+
+    private static final long FIRST_PSID = 1_000_000_000_000_000L;
+
+    @Param({"1000000"})
+    private int profileCount;
+
+    private Path file;
+    private MappedUserProfileStore store;
+
+    @Setup(Level.Trial)
+    public void writeStore() throws IOException {
+        file = Files.createTempFile("user-profiles", ".bin");
+        Files.delete(file);
+        final Instant fetchedAt = Instant.now();
+        try (MappedUserProfileStore writer = MappedUserProfileStore.open(file)) {
+            for (int i = 0; i < profileCount; i++) {
+                final UserProfile userProfile = new UserProfile("First" + i, "Last" + i,
+                        "https://fbcdn-profile-a.akamaihd.net/" + i + ".jpg", "en_US", 1f,
+                        UserProfile.Gender.FEMALE, true, empty());
+                writer.put(Long.toString(FIRST_PSID + i), userProfile, fetchedAt);
+            }
+        }
+        store = MappedUserProfileStore.open(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int load() throws IOException {
+        try (MappedUserProfileStore loadedStore = MappedUserProfileStore.open(file)) {
+            return loadedStore.size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Optional<StoredUserProfile> lookup() throws IOException {
+        final long psid = FIRST_PSID + ThreadLocalRandom.current().nextInt(profileCount);
+        return store.get(Long.toString(psid));
+    }
+}
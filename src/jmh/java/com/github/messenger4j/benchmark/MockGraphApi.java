@@ -0,0 +1,184 @@
+package com.github.messenger4j.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local imitation of the Graph API endpoints used for sending: {@code /me/messages}, {@code /me/messenger_profile}
+ * and the user profile endpoint. Every response is delayed according to the given {@link LatencyDistribution}.
+ * A share of the requests fails with the temporary error code {@code 2}, and requests beyond the given rate limit
+ * are rejected with the throttling error code {@code 613}, like the real API does.
+ *
+ * @since 1.1.0
+ */
+public final class MockGraphApi implements Closeable {
+
+    private static final String API_VERSION_PATH = "/v2.11/";
+    private static final String TEMPORARY_ERROR = error("An unexpected error has occurred. " +
+            "Please retry your request later.", 2);
+    private static final String THROTTLING_ERROR = error("(#613) Calls to this api have exceeded the rate limit.",
+            613);
+    private static final String PROFILE = "{\"first_name\":\"Peter\",\"last_name\":\"Chang\"," +
+            "\"profile_pic\":\"https://fbcdn-profile-a.akamaihd.net/profile.jpg\",\"locale\":\"en_US\"," +
+            "\"timezone\":-7,\"gender\":\"male\",\"is_payment_enabled\":true}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int requestsPerSecondLimit;
+
+    private final AtomicInteger messageIdSequence = new AtomicInteger();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private long currentSecond;
+    private int currentSecondRequestCount;
+
+    /**
+     * @param errorRate              the share of requests failing with a temporary error, between 0 and 1
+     * @param requestsPerSecondLimit the number of requests per second above which requests are throttled, or 0
+     *                               for no limit
+     */
+    public static MockGraphApi start(LatencyDistribution latency, double errorRate, int requestsPerSecondLimit)
+            throws IOException {
+        // without TCP_NODELAY, the separately written headers and body of a response are delayed by Nagle's
+        // algorithm and delayed ACKs, adding about 40 ms to every request
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        return new MockGraphApi(latency, errorRate, requestsPerSecondLimit);
+    }
+
+    private MockGraphApi(LatencyDistribution latency, double errorRate, int requestsPerSecondLimit)
+            throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.requestsPerSecondLimit = requestsPerSecondLimit;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "mock-graph-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.server.createContext(API_VERSION_PATH, this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return the URL to use instead of {@code https://graph.facebook.com/}
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public long requestCount() {
+        return requestCount.sum();
+    }
+
+    public long errorCount() {
+        return errorCount.sum();
+    }
+
+    public long throttledCount() {
+        return throttledCount.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[8192];
+            while (requestBody.read(buffer) != -1) {
+                // drain the request, so that the connection can be reused
+            }
+        }
+        requestCount.increment();
+        sleep(latency.sampleNanos(ThreadLocalRandom.current()));
+
+        if (isThrottled()) {
+            throttledCount.increment();
+            respond(exchange, 400, THROTTLING_ERROR);
+        } else if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errorCount.increment();
+            respond(exchange, 500, TEMPORARY_ERROR);
+        } else {
+            respond(exchange, 200, responseBody(exchange));
+        }
+    }
+
+    private String responseBody(HttpExchange exchange) {
+        final String path = exchange.getRequestURI().getPath();
+        final String method = exchange.getRequestMethod();
+        if (path.endsWith("/me/messages")) {
+            return "{\"recipient_id\":\"1254459154682919\",\"message_id\":\"mid.1473372944816:94f72b88c597657974." +
+                    messageIdSequence.incrementAndGet() + "\"}";
+        }
+        if (path.endsWith("/me/messenger_profile")) {
+            return "GET".equals(method) ? "{\"data\":[{}]}" : "{\"result\":\"success\"}";
+        }
+        final String query = exchange.getRequestURI().getQuery();
+        if (path.equals(API_VERSION_PATH) && query != null && query.startsWith("ids=")) {
+            final String ids = query.substring("ids=".length(), query.indexOf('&'));
+            final StringJoiner profiles = new StringJoiner(",", "{", "}");
+            for (String id : ids.split(",")) {
+                profiles.add("\"" + id + "\":" + PROFILE);
+            }
+            return profiles.toString();
+        }
+        return PROFILE;
+    }
+
+    private synchronized boolean isThrottled() {
+        if (requestsPerSecondLimit <= 0) {
+            return false;
+        }
+        final long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        if (second != currentSecond) {
+            currentSecond = second;
+            currentSecondRequestCount = 0;
+        }
+        return ++currentSecondRequestCount > requestsPerSecondLimit;
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        final byte[] bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.getResponseHeaders().set("x-fb-trace-id", Long.toString(ThreadLocalRandom.current().nextLong(), 36));
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String error(String message, int code) {
+        return "{\"error\":{\"message\":\"" + message + "\",\"type\":\"OAuthException\",\"code\":" + code +
+                ",\"fbtrace_id\":\"H3qnFWAPjPt\"}}";
+    }
+}
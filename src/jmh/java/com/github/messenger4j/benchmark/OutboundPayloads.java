@@ -0,0 +1,168 @@
+package com.github.messenger4j.benchmark;
+
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.common.SupportedLocale;
+import com.github.messenger4j.common.WebviewHeightRatio;
+import com.github.messenger4j.common.WebviewShareButtonState;
+import com.github.messenger4j.messengerprofile.MessengerSettings;
+import com.github.messenger4j.messengerprofile.persistentmenu.LocalizedPersistentMenu;
+import com.github.messenger4j.messengerprofile.persistentmenu.PersistentMenu;
+import com.github.messenger4j.messengerprofile.persistentmenu.action.CallToAction;
+import com.github.messenger4j.messengerprofile.persistentmenu.action.NestedCallToAction;
+import com.github.messenger4j.messengerprofile.persistentmenu.action.PostbackCallToAction;
+import com.github.messenger4j.messengerprofile.persistentmenu.action.UrlCallToAction;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.RichMediaMessage;
+import com.github.messenger4j.send.message.TemplateMessage;
+import com.github.messenger4j.send.message.TextMessage;
+import com.github.messenger4j.send.message.quickreply.QuickReply;
+import com.github.messenger4j.send.message.quickreply.TextQuickReply;
+import com.github.messenger4j.send.message.richmedia.RichMediaAsset;
+import com.github.messenger4j.send.message.richmedia.UrlRichMediaAsset;
+import com.github.messenger4j.send.message.template.GenericTemplate;
+import com.github.messenger4j.send.message.template.ListTemplate;
+import com.github.messenger4j.send.message.template.ReceiptTemplate;
+import com.github.messenger4j.send.message.template.button.Button;
+import com.github.messenger4j.send.message.template.button.CallButton;
+import com.github.messenger4j.send.message.template.button.PostbackButton;
+import com.github.messenger4j.send.message.template.button.UrlButton;
+import com.github.messenger4j.send.message.template.common.DefaultAction;
+import com.github.messenger4j.send.message.template.common.Element;
+import com.github.messenger4j.send.message.template.receipt.Address;
+import com.github.messenger4j.send.message.template.receipt.Adjustment;
+import com.github.messenger4j.send.message.template.receipt.Item;
+import com.github.messenger4j.send.message.template.receipt.Summary;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds representative outbound payloads for the benchmarks.
+ *
+ * @since 1.1.0
+ */
+public final class OutboundPayloads {
+
+    private static final String RECIPIENT_ID = "1254459154682919";
+
+    private OutboundPayloads() {
+    }
+
+    public enum PayloadType {
+        TEXT_MESSAGE, RICH_MEDIA_MESSAGE, GENERIC_TEMPLATE, LIST_TEMPLATE, RECEIPT_TEMPLATE, MESSENGER_SETTINGS
+    }
+
+    public static Object payload(PayloadType payloadType) {
+        try {
+            switch (payloadType) {
+                case TEXT_MESSAGE:
+                    return textMessage();
+                case RICH_MEDIA_MESSAGE:
+                    return richMediaMessage();
+                case GENERIC_TEMPLATE:
+                    return genericTemplate(10);
+                case LIST_TEMPLATE:
+                    return listTemplate();
+                case RECEIPT_TEMPLATE:
+                    return receiptTemplate(50);
+                case MESSENGER_SETTINGS:
+                    return messengerSettings();
+                default:
+                    throw new IllegalArgumentException("Unsupported payload type: " + payloadType);
+            }
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static MessagePayload textMessage() {
+        final List<QuickReply> quickReplies = Arrays.asList(TextQuickReply.create("Red", "PICK_RED"),
+                TextQuickReply.create("Green", "PICK_GREEN"), TextQuickReply.create("Blue", "PICK_BLUE"));
+        return MessagePayload.create(RECIPIENT_ID, MessagingType.RESPONSE,
+                TextMessage.create("Which color would you like your sneakers in?", of(quickReplies), empty()));
+    }
+
+    public static MessagePayload richMediaMessage() throws MalformedURLException {
+        return MessagePayload.create(RECIPIENT_ID, MessagingType.RESPONSE, RichMediaMessage.create(
+                UrlRichMediaAsset.create(RichMediaAsset.Type.IMAGE,
+                        new URL("https://petersapparel.com/img/shirt.png"), of(true))));
+    }
+
+    public static MessagePayload genericTemplate(int elementCount) throws MalformedURLException {
+        final List<Element> elements = new ArrayList<>(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            final List<Button> buttons = Arrays.asList(
+                    UrlButton.create("View Item", new URL("https://petersfancyapparel.com/item?id=" + i),
+                            of(WebviewHeightRatio.FULL), of(true), of(new URL("https://petersfancyapparel.com/")),
+                            empty()),
+                    CallButton.create("Call Representative", "+15105551234"),
+                    PostbackButton.create("Add to Cart", "ADD_TO_CART_" + i));
+            final DefaultAction defaultAction = DefaultAction.create(
+                    new URL("https://petersfancyapparel.com/view?item=" + i), of(WebviewHeightRatio.TALL), of(true),
+                    of(new URL("https://petersfancyapparel.com/")), of(WebviewShareButtonState.HIDE));
+            elements.add(Element.create("Classic Hat #" + i, of("We have got the right hat for everyone."),
+                    of(new URL("https://petersfancybrownhats.com/hat_" + i + ".png")), of(defaultAction),
+                    of(buttons)));
+        }
+        return MessagePayload.create(RECIPIENT_ID, MessagingType.RESPONSE,
+                TemplateMessage.create(GenericTemplate.create(elements)));
+    }
+
+    public static MessagePayload listTemplate() throws MalformedURLException {
+        final List<Element> elements = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            elements.add(Element.create("Classic T-Shirt #" + i, of("100% Cotton, 200% Comfortable"),
+                    of(new URL("https://peterssendreceiveapp.ngrok.io/img/t-shirt-" + i + ".png")),
+                    of(DefaultAction.create(new URL("https://peterssendreceiveapp.ngrok.io/view?item=" + i),
+                            of(WebviewHeightRatio.TALL), empty(), empty(), empty())),
+                    of(singletonList(UrlButton.create("Shop Now",
+                            new URL("https://peterssendreceiveapp.ngrok.io/shop?item=" + i),
+                            of(WebviewHeightRatio.TALL), empty(), empty(), empty())))));
+        }
+        return MessagePayload.create(RECIPIENT_ID, MessagingType.RESPONSE,
+                TemplateMessage.create(ListTemplate.create(elements, of(ListTemplate.TopElementStyle.LARGE),
+                        of(singletonList(PostbackButton.create("View More", "VIEW_MORE_PAYLOAD"))))));
+    }
+
+    public static MessagePayload receiptTemplate(int itemCount) throws MalformedURLException {
+        final List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.create("Classic T-Shirt #" + i, 19.99F + i, of("100% Soft and Luxurious Cotton"),
+                    of(1 + i % 3), of("USD"), of(new URL("https://petersapparel.parseapp.com/img/shirt-" + i + ".png"))));
+        }
+        final ReceiptTemplate receiptTemplate = ReceiptTemplate.create("Stephane Crozatier", "12345678902",
+                "Visa 2345", "USD", Summary.create(1056.14F, of(1075.00F), of(6.19F), of(4.95F)),
+                of(Address.create("1 Hacker Way", of(""), "Menlo Park", "94025", "CA", "US")), of(items),
+                of(Arrays.asList(Adjustment.create("New Customer Discount", 20.00F),
+                        Adjustment.create("$10 Off Coupon", 10.00F))), empty(),
+                of(new URL("https://petersapparel.parseapp.com/order?order_id=123456")), empty(),
+                of(Instant.parse("2015-04-07T22:14:12Z")));
+        return MessagePayload.create(RECIPIENT_ID, MessagingType.RESPONSE, TemplateMessage.create(receiptTemplate));
+    }
+
+    public static MessengerSettings messengerSettings() throws MalformedURLException {
+        final List<CallToAction> accountActions = Arrays.asList(
+                PostbackCallToAction.create("Pay Bill", "PAYBILL_PAYLOAD"),
+                PostbackCallToAction.create("History", "HISTORY_PAYLOAD"),
+                PostbackCallToAction.create("Contact Info", "CONTACT_INFO_PAYLOAD"));
+        final List<CallToAction> callToActions = Arrays.asList(
+                NestedCallToAction.create("My Account", accountActions),
+                NestedCallToAction.create("Shop", Arrays.asList(
+                        UrlCallToAction.create("Hats", new URL("https://petershats.parseapp.com/hats")),
+                        UrlCallToAction.create("Shirts", new URL("https://petershats.parseapp.com/shirts")),
+                        PostbackCallToAction.create("Deals", "DEALS_PAYLOAD"))),
+                UrlCallToAction.create("Latest News", new URL("https://petershats.parseapp.com/hat-news"),
+                        of(WebviewHeightRatio.FULL), empty(), empty(), of(WebviewShareButtonState.HIDE)));
+        final PersistentMenu persistentMenu = PersistentMenu.create(true, of(callToActions),
+                LocalizedPersistentMenu.create(SupportedLocale.zh_CN, false, of(callToActions)),
+                LocalizedPersistentMenu.create(SupportedLocale.de_DE, false, of(callToActions)));
+        return MessengerSettings.create(empty(), empty(), of(persistentMenu), empty(), empty(), empty(), empty());
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.benchmark.LoadTestOptions.ConcurrencyMode;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.exception.MessengerIOException;
+import com.github.messenger4j.metrics.HistogramSnapshot;
+import com.github.messenger4j.metrics.InMemoryMessengerMetrics;
+import com.github.messenger4j.send.Payload;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@link Messenger#send(Payload)} against the {@link MockGraphApi} at a fixed rate and reports the achieved
+ * throughput and the latency percentiles, e.g. to compare HTTP clients and concurrency modes.
+ * <p>
+ * Sends are scheduled open-loop: every send has an intended start time derived from the target rate and its
+ * latency is measured from that time, so queueing delays are not hidden when the client can not keep up. The
+ * service time is measured from the actual start of the send.
+ * <p>
+ * Usage: {@code SendLoadTest [qps=500] [warmup=5s] [duration=20s] [client=okhttp|okhttp_pooled|url_connection]
+ * [mode=fixed|cached] [concurrency=64] [payload=text_message] [latency=lognormal:20ms:150ms] [errorRate=0]
+ * [throttleQps=0]}
+ *
+ * @since 1.1.0
+ */
+public final class SendLoadTest {
+
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private SendLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Running send load test with " + options);
+
+        try (MockGraphApi graphApi = MockGraphApi.start(options.latency, options.errorRate,
+                options.throttleRequestsPerSecond)) {
+            final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "APP_SECRET", "VERIFY_TOKEN",
+                    MessengerOptions.create()
+                            .withHttpClient(options.httpClient.create(options.concurrency, graphApi.baseUrl())));
+            final Payload payload = (Payload) OutboundPayloads.payload(options.payloadType);
+            final InMemoryMessengerMetrics results = InMemoryMessengerMetrics.create();
+            final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+            final ExecutorService executor = executor(options);
+
+            final long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.requestsPerSecond);
+            final long startNanos = System.nanoTime();
+            final long measurementStartNanos = startNanos + options.warmup.toNanos();
+            final long endNanos = measurementStartNanos + options.duration.toNanos();
+            for (long intendedStartNanos = startNanos; intendedStartNanos < endNanos;
+                 intendedStartNanos += intervalNanos) {
+                sleepUntil(intendedStartNanos);
+                final long scheduledNanos = intendedStartNanos;
+                final boolean measured = scheduledNanos >= measurementStartNanos;
+                executor.execute(() -> {
+                    final long sendStartNanos = System.nanoTime();
+                    final String outcome = send(messenger, payload);
+                    final long sendEndNanos = System.nanoTime();
+                    if (measured) {
+                        results.timer("latency").record(sendEndNanos - scheduledNanos);
+                        results.timer("serviceTime").record(sendEndNanos - sendStartNanos);
+                        results.histogram("completion").record(sendEndNanos - measurementStartNanos);
+                        outcomes.computeIfAbsent(outcome, o -> new LongAdder()).increment();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            report(options, results, outcomes, graphApi);
+        }
+    }
+
+    private static String send(Messenger messenger, Payload payload) {
+        try {
+            messenger.send(payload);
+            return "success";
+        } catch (MessengerApiException e) {
+            return "api error " + e.code().map(String::valueOf).orElse("without code");
+        } catch (MessengerIOException e) {
+            return "io error";
+        }
+    }
+
+    private static ExecutorService executor(LoadTestOptions options) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "send-load-test-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return options.concurrencyMode == ConcurrencyMode.FIXED
+                ? Executors.newFixedThreadPool(options.concurrency, threadFactory)
+                : Executors.newCachedThreadPool(threadFactory);
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        final long remainingNanos = nanos - System.nanoTime();
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private static void report(LoadTestOptions options, InMemoryMessengerMetrics results,
+                               Map<String, LongAdder> outcomes, MockGraphApi graphApi) {
+        final HistogramSnapshot latency = results.snapshot("latency").orElseThrow(IllegalStateException::new);
+        final HistogramSnapshot serviceTime = results.snapshot("serviceTime").orElseThrow(IllegalStateException::new);
+        final HistogramSnapshot completion = results.snapshot("completion").orElseThrow(IllegalStateException::new);
+        final double elapsedSeconds = Math.max(completion.max(), options.duration.toNanos()) / 1e9;
+
+        System.out.printf("Target throughput:   %10.1f sends/s%n", options.requestsPerSecond);
+        System.out.printf("Achieved throughput: %10.1f sends/s (%d sends in %.1f s)%n",
+                latency.count() / elapsedSeconds, latency.count(), elapsedSeconds);
+        printPercentiles("Latency", latency);
+        printPercentiles("Service time", serviceTime);
+        for (Map.Entry<String, LongAdder> outcome : new TreeMap<>(outcomes).entrySet()) {
+            System.out.printf("Outcome %-16s %10d%n", outcome.getKey() + ":", outcome.getValue().sum());
+        }
+        System.out.printf("Mock Graph API: %d requests, %d temporary errors, %d throttled%n",
+                graphApi.requestCount(), graphApi.errorCount(), graphApi.throttledCount());
+    }
+
+    private static void printPercentiles(String label, HistogramSnapshot snapshot) {
+        final StringBuilder line = new StringBuilder(String.format("%-20s", label + " (ms):"));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" p%s=%.2f", percentile == Math.rint(percentile)
+                    ? String.valueOf((long) percentile) : String.valueOf(percentile),
+                    snapshot.valueAtPercentile(percentile) / 1e6));
+        }
+        line.append(String.format(" max=%.2f", snapshot.max() / 1e6));
+        System.out.println(line);
+    }
+}
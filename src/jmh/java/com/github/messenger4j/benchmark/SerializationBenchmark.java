@@ -0,0 +1,61 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.benchmark.OutboundPayloads.PayloadType;
+import com.github.messenger4j.internal.gson.GsonFactory;
+import com.google.gson.Gson;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the send-side serialization of outbound payloads with the {@code Gson} instance used by
+ * {@code Messenger}, and the cost of creating and first using a new instance.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.args="Serialization -prof gc"}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+
+    @Param({"TEXT_MESSAGE", "RICH_MEDIA_MESSAGE", "GENERIC_TEMPLATE", "LIST_TEMPLATE", "RECEIPT_TEMPLATE",
+            "MESSENGER_SETTINGS"})
+    private PayloadType payloadType;
+
+    private Gson gson;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        gson = GsonFactory.createGson();
+        payload = OutboundPayloads.payload(payloadType);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(payload);
+    }
+
+    /**
+     * A new {@code Gson} instance builds its type adapters lazily on first use, hence the instance is used once for a
+     * realistic cost.
+     */
+    @Benchmark
+    public String createGsonAndSerialize() {
+        return GsonFactory.createGson().toJson(payload);
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.messenger4j.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.benchmark.WebhookPayloads.PayloadMix;
+import com.github.messenger4j.webhook.SignatureUtil;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the webhook receive path for different payload mixes and request sizes.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.args="WebhookBenchmark -prof gc"}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebhookBenchmark {
+
+    private static final String APP_SECRET = "60efff025951cddde78c8d03de52cc90";
+
+    @Param({"TEXT_HEAVY", "DELIVERY_READ_HEAVY", "ATTACHMENT_HEAVY"})
+    private PayloadMix payloadMix;
+
+    @Param({"1", "10", "100", "1000"})
+    private int eventCount;
+
+    private Messenger messenger;
+    private String payload;
+    private String signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        messenger = Messenger.create("PAGE_ACCESS_TOKEN", APP_SECRET, "VERIFY_TOKEN");
+        payload = WebhookPayloads.webhook(payloadMix, eventCount);
+        signature = "sha1=" + hmacSha1Hex(payload);
+    }
+
+    @Benchmark
+    public void onReceiveEvents(Blackhole blackhole) throws Exception {
+        messenger.onReceiveEvents(payload, of(signature), blackhole::consume);
+    }
+
+    @Benchmark
+    public void onReceiveEventsWithoutSignature(Blackhole blackhole) throws Exception {
+        messenger.onReceiveEvents(payload, empty(), blackhole::consume);
+    }
+
+    @Benchmark
+    public boolean isSignatureValid() {
+        return SignatureUtil.isSignatureValid(payload, signature, APP_SECRET);
+    }
+
+    private static String hmacSha1Hex(String payload) throws Exception {
+        final Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(APP_SECRET.getBytes(UTF_8), "HmacSHA1"));
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : mac.doFinal(payload.getBytes(UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
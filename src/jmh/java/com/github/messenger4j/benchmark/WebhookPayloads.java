@@ -0,0 +1,110 @@
+package com.github.messenger4j.benchmark;
+
+import java.util.StringJoiner;
+
+/**
+ * Generates realistic webhook request payloads for the benchmarks.
+ *
+ * @since 1.1.0
+ */
+public final class WebhookPayloads {
+
+    private static final int EVENTS_PER_ENTRY = 100;
+
+    private WebhookPayloads() {
+    }
+
+    /**
+     * The share of event types in a webhook request, defined per ten events.
+     */
+    public enum PayloadMix {
+        TEXT_HEAVY(EventType.TEXT, EventType.TEXT, EventType.TEXT, EventType.TEXT, EventType.TEXT, EventType.TEXT,
+                EventType.TEXT, EventType.TEXT, EventType.QUICK_REPLY, EventType.POSTBACK),
+        DELIVERY_READ_HEAVY(EventType.DELIVERY, EventType.READ, EventType.DELIVERY, EventType.READ,
+                EventType.DELIVERY, EventType.READ, EventType.DELIVERY, EventType.READ, EventType.DELIVERY,
+                EventType.TEXT),
+        ATTACHMENT_HEAVY(EventType.ATTACHMENT, EventType.ATTACHMENT, EventType.ATTACHMENT, EventType.ATTACHMENT,
+                EventType.ATTACHMENT, EventType.ATTACHMENT, EventType.ATTACHMENT, EventType.TEXT, EventType.TEXT,
+                EventType.ECHO);
+
+        private final EventType[] eventTypes;
+
+        PayloadMix(EventType... eventTypes) {
+            this.eventTypes = eventTypes;
+        }
+
+        EventType eventType(int index) {
+            return eventTypes[index % eventTypes.length];
+        }
+    }
+
+    public enum EventType {
+        TEXT, QUICK_REPLY, ATTACHMENT, ECHO, POSTBACK, REFERRAL, OPT_IN, ACCOUNT_LINKING, READ, DELIVERY
+    }
+
+    /**
+     * @return a webhook request body with the given number of messaging events, split into entries of at most 100
+     * events
+     */
+    public static String webhook(PayloadMix payloadMix, int eventCount) {
+        final StringJoiner entries = new StringJoiner(",", "{\"object\":\"page\",\"entry\":[", "]}");
+        for (int entryStart = 0; entryStart < eventCount; entryStart += EVENTS_PER_ENTRY) {
+            final StringJoiner messagingEvents = new StringJoiner(",",
+                    "{\"id\":\"1067280970047460\",\"time\":1458692752478,\"messaging\":[", "]}");
+            for (int i = entryStart; i < Math.min(eventCount, entryStart + EVENTS_PER_ENTRY); i++) {
+                messagingEvents.add(messagingEvent(payloadMix.eventType(i), i));
+            }
+            entries.add(messagingEvents.toString());
+        }
+        return entries.toString();
+    }
+
+    public static String messagingEvent(EventType eventType, int index) {
+        final String userId = Long.toString(1254459154682919L + index);
+        final String pageId = "1067280970047460";
+        final long timestamp = 1458692752478L + index;
+        final String mid = "mid.1457764197618:41d102a3e1ae206a" + index;
+        switch (eventType) {
+            case TEXT:
+                return event(userId, pageId, timestamp, "\"message\":{\"mid\":\"" + mid + "\",\"seq\":" + index +
+                        ",\"text\":\"Hello, I would like to know whether the red sneakers are available in size " +
+                        (36 + index % 10) + " and when they could be delivered?\"}");
+            case QUICK_REPLY:
+                return event(userId, pageId, timestamp, "\"message\":{\"mid\":\"" + mid + "\",\"text\":\"Red\"," +
+                        "\"quick_reply\":{\"payload\":\"DEVELOPER_DEFINED_PAYLOAD_FOR_PICKING_RED\"}}");
+            case ATTACHMENT:
+                return event(userId, pageId, timestamp, "\"message\":{\"mid\":\"" + mid + "\",\"attachments\":[" +
+                        "{\"type\":\"image\",\"payload\":{\"url\":\"https://scontent.xx.fbcdn.net/v/t34.0-12/" +
+                        index + "_n.jpg?_nc_ad=z-m&oh=a0bd4d1c3f1a0a2e0d3d8c3b5a&oe=5A1F2B3C\"}}," +
+                        "{\"type\":\"location\",\"payload\":{\"coordinates\":{\"lat\":52.3765533,\"long\":9.7389123}}}]}");
+            case ECHO:
+                return event(pageId, userId, timestamp, "\"message\":{\"is_echo\":true,\"app_id\":1517776481860111," +
+                        "\"metadata\":\"DEVELOPER_DEFINED_METADATA_STRING\",\"mid\":\"" + mid + "\",\"seq\":" + index +
+                        ",\"text\":\"Yes, the red sneakers are available in all sizes.\"}");
+            case POSTBACK:
+                return event(userId, pageId, timestamp, "\"postback\":{\"title\":\"Get Started\"," +
+                        "\"payload\":\"GET_STARTED_PAYLOAD\",\"referral\":{\"ref\":\"summer-campaign\"," +
+                        "\"source\":\"SHORTLINK\",\"type\":\"OPEN_THREAD\"}}");
+            case REFERRAL:
+                return event(userId, pageId, timestamp, "\"referral\":{\"ref\":\"summer-campaign\"," +
+                        "\"ad_id\":\"6045246247433\",\"source\":\"ADS\",\"type\":\"OPEN_THREAD\"}");
+            case OPT_IN:
+                return event(userId, pageId, timestamp, "\"optin\":{\"ref\":\"PASS_THROUGH_PARAM\"}");
+            case ACCOUNT_LINKING:
+                return event(userId, pageId, timestamp, "\"account_linking\":{\"status\":\"linked\"," +
+                        "\"authorization_code\":\"PASS_THROUGH_AUTHORIZATION_CODE\"}");
+            case READ:
+                return event(userId, pageId, timestamp, "\"read\":{\"watermark\":" + (timestamp - 200) + "}");
+            case DELIVERY:
+                return event(userId, pageId, timestamp, "\"delivery\":{\"mids\":[\"" + mid + "\",\"" + mid +
+                        "1\",\"" + mid + "2\"],\"watermark\":" + (timestamp - 200) + "}");
+            default:
+                throw new IllegalArgumentException("Unsupported event type: " + eventType);
+        }
+    }
+
+    private static String event(String senderId, String recipientId, long timestamp, String body) {
+        return "{\"sender\":{\"id\":\"" + senderId + "\"},\"recipient\":{\"id\":\"" + recipientId + "\"}," +
+                "\"timestamp\":" + timestamp + "," + body + "}";
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.messenger4j.benchmark;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.metrics.HistogramSnapshot;
+import com.github.messenger4j.webhook.WebhookRecorder;
+import com.github.messenger4j.webhook.WebhookReplayResult;
+import com.github.messenger4j.webhook.WebhookReplayer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a recording of {@link WebhookRecorder} into a {@link Messenger} with a no-op event handler and reports the
+ * achieved throughput and the p50/p99/p99.9 latency. The signatures are only verified if the app secret is given.
+ * <p>
+ * Usage: {@code WebhookReplay recording=<file> [speed=1|10|...|max] [appSecret=<secret>]}
+ *
+ * @since 1.1.0
+ */
+public final class WebhookReplay {
+
+    private WebhookReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path recording = null;
+        double speed = Double.POSITIVE_INFINITY;
+        String appSecret = null;
+        for (String arg : args) {
+            final String[] keyValue = arg.split("=", 2);
+            switch (keyValue[0]) {
+                case "recording":
+                    recording = Paths.get(keyValue[1]);
+                    break;
+                case "speed":
+                    speed = keyValue[1].equals("max") ? Double.POSITIVE_INFINITY : Double.parseDouble(keyValue[1]);
+                    break;
+                case "appSecret":
+                    appSecret = keyValue[1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (recording == null) {
+            throw new IllegalArgumentException("Option 'recording' is required");
+        }
+
+        final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", appSecret == null ? "" : appSecret,
+                "VERIFY_TOKEN");
+        final WebhookReplayResult result = WebhookReplayer.create(speed, appSecret != null)
+                .replay(recording, messenger, event -> {
+                });
+
+        System.out.printf("%d requests, %d events, %d failures in %d ms%n", result.requestCount(),
+                result.eventCount(), result.failureCount(), result.elapsed().toMillis());
+        System.out.printf("throughput: %.0f requests/s, %.0f events/s%n", result.requestsPerSecond(),
+                result.eventsPerSecond());
+        print("request latency", result.requestLatency());
+        print("handler latency", result.handlerLatency());
+    }
+
+    private static void print(String name, HistogramSnapshot snapshot) {
+        System.out.printf("%s: p50=%dus p99=%dus p99.9=%dus max=%dus%n", name,
+                micros(snapshot.valueAtPercentile(50)), micros(snapshot.valueAtPercentile(99)),
+                micros(snapshot.valueAtPercentile(99.9)), micros(snapshot.max()));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
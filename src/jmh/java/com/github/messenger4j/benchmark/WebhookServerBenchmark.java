@@ -0,0 +1,111 @@
+package com.github.messenger4j.benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.WebhookServer;
+import com.github.messenger4j.benchmark.WebhookPayloads.PayloadMix;
+import com.github.messenger4j.webhook.IngestionQueue;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import okhttp3.ConnectionPool;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the requests per second the {@link WebhookServer} acknowledges on loopback, with 16 concurrent clients
+ * posting signed payloads over keep-alive connections.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Djmh.args="WebhookServer"}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebhookServerBenchmark {
+
+    private static final String APP_SECRET = "60efff025951cddde78c8d03de52cc90";
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    @Param({"1", "100"})
+    private int eventCount;
+
+    @Param({"4"})
+    private int workerThreads;
+
+    private final LongAdder dispatchedEvents = new LongAdder();
+    private WebhookServer webhookServer;
+    private OkHttpClient httpClient;
+    private Request request;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", APP_SECRET, "VERIFY_TOKEN");
+        webhookServer = WebhookServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/webhook",
+                messenger, event -> dispatchedEvents.increment(), workerThreads,
+                IngestionQueue.create(100_000));
+
+        final String payload = WebhookPayloads.webhook(PayloadMix.TEXT_HEAVY, eventCount);
+        httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(16, 5, TimeUnit.MINUTES))
+                .build();
+        request = new Request.Builder()
+                .url("http://" + webhookServer.address().getHostString() + ":" + webhookServer.address().getPort()
+                        + "/webhook")
+                .header("X-Hub-Signature", "sha1=" + hmacSha1Hex(payload))
+                .post(RequestBody.create(JSON, payload.getBytes(UTF_8)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        webhookServer.close();
+        httpClient.connectionPool().evictAll();
+        System.out.println();
+        System.out.println("accepted: " + webhookServer.acceptedCount() + ", overflowed: "
+                + webhookServer.overflowCount() + ", dispatched events: " + dispatchedEvents.sum());
+    }
+
+    @Benchmark
+    public int postWebhook() throws IOException {
+        try (Response response = httpClient.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+
+    private static String hmacSha1Hex(String payload) throws Exception {
+        final Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(APP_SECRET.getBytes(UTF_8), "HmacSHA1"));
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : mac.doFinal(payload.getBytes(UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -2,6 +2,8 @@ package com.github.messenger4j;
 
 import com.github.messenger4j.spi.MessengerHttpClient;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -28,7 +30,10 @@ final class DefaultMessengerHttpClient implements MessengerHttpClient {
         }
         final Request request = requestBuilder.build();
         try (Response response = this.okHttp.newCall(request).execute()) {
-            return new HttpResponse(response.code(), response.body().string());
+            final String fbTraceId = response.header(MessengerInstrumentation.FB_TRACE_ID_HEADER_NAME);
+            final Map<String, String> headers = fbTraceId == null ? Collections.emptyMap()
+                    : Collections.singletonMap(MessengerInstrumentation.FB_TRACE_ID_HEADER_NAME, fbTraceId);
+            return new HttpResponse(response.code(), response.body().string(), headers);
         }
     }
 }
@@ -1,47 +1,87 @@
 package com.github.messenger4j;
 
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_DATA;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ENTRY;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGING;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_OBJECT;
 import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonArray;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.DELETE;
 import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.GET;
 import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
+import com.github.messenger4j.MessengerInstrumentation.RequestRecording;
+import com.github.messenger4j.attachmentupload.AttachmentIdCache;
+import com.github.messenger4j.attachmentupload.AttachmentUploadPayload;
+import com.github.messenger4j.attachmentupload.AttachmentUploadResponse;
+import com.github.messenger4j.attachmentupload.AttachmentUploadResponseFactory;
 import com.github.messenger4j.exception.MessengerApiException;
 import com.github.messenger4j.exception.MessengerApiExceptionFactory;
 import com.github.messenger4j.exception.MessengerIOException;
 import com.github.messenger4j.exception.MessengerVerificationException;
 import com.github.messenger4j.internal.gson.GsonFactory;
+import com.github.messenger4j.internal.gson.PropertyPath;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents.EventDispatch;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents.WebhookReceive;
 import com.github.messenger4j.messengerprofile.DeleteMessengerSettingsPayload;
 import com.github.messenger4j.messengerprofile.MessengerSettingProperty;
 import com.github.messenger4j.messengerprofile.MessengerSettings;
+import com.github.messenger4j.messengerprofile.SettingsHashStore;
+import com.github.messenger4j.messengerprofile.SettingsSyncResponse;
 import com.github.messenger4j.messengerprofile.SetupResponse;
 import com.github.messenger4j.messengerprofile.SetupResponseFactory;
+import com.github.messenger4j.send.MessagePayload;
 import com.github.messenger4j.send.MessageResponse;
 import com.github.messenger4j.send.MessageResponseFactory;
 import com.github.messenger4j.send.Payload;
+import com.github.messenger4j.send.message.RichMediaMessage;
+import com.github.messenger4j.send.message.richmedia.ReusableRichMediaAsset;
+import com.github.messenger4j.send.message.richmedia.UrlRichMediaAsset;
 import com.github.messenger4j.spi.MessengerHttpClient;
 import com.github.messenger4j.spi.MessengerHttpClient.HttpMethod;
 import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.userprofile.PartialUserProfile;
+import com.github.messenger4j.userprofile.PartialUserProfileFactory;
 import com.github.messenger4j.userprofile.UserProfile;
 import com.github.messenger4j.userprofile.UserProfileFactory;
+import com.github.messenger4j.userprofile.UserProfileField;
+import com.github.messenger4j.userprofile.UserProfilesResponse;
 import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IdentifierInterner;
 import com.github.messenger4j.webhook.SignatureUtil;
+import com.github.messenger4j.webhook.WebhookRecorder;
 import com.github.messenger4j.webhook.factory.EventFactory;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import lombok.NonNull;
@@ -78,19 +118,38 @@ public final class Messenger {
     private static final String HUB_MODE_SUBSCRIBE = "subscribe";
 
     private static final String FB_GRAPH_API_URL_MESSAGES = "https://graph.facebook.com/v2.11/me/messages?access_token=%s";
+    private static final String FB_GRAPH_API_URL_MESSAGE_ATTACHMENTS = "https://graph.facebook.com/v2.11/me/message_attachments?access_token=%s";
     private static final String FB_GRAPH_API_URL_MESSENGER_PROFILE = "https://graph.facebook.com/v2.11/me/messenger_profile?access_token=%s";
-    private static final String FB_GRAPH_API_URL_USER = "https://graph.facebook.com/v2.11/%s?fields=first_name," +
-            "last_name,profile_pic,locale,timezone,gender,is_payment_enabled,last_ad_referral&access_token=%s";
+    private static final String FB_GRAPH_API_URL_MESSENGER_PROFILE_FIELDS = "https://graph.facebook.com/v2.11/me/messenger_profile?fields=%s&access_token=%s";
+    private static final String FB_GRAPH_API_URL = "https://graph.facebook.com/v2.11/";
+    private static final String FB_GRAPH_API_USER_PROFILE_FIELDS = "first_name,last_name,profile_pic,locale," +
+            "timezone,gender,is_payment_enabled,last_ad_referral";
+    private static final int FB_GRAPH_API_MAX_IDS_PER_REQUEST = 50;
+    private static final int FB_GRAPH_API_ERROR_CODE_INVALID_PARAMETER = 100;
+
+    static final PropertyPath ENTRY_ID = path(PROP_ID);
+    private static final PropertyPath OBJECT = path(PROP_OBJECT);
+    private static final PropertyPath ENTRY = path(PROP_ENTRY);
+    private static final PropertyPath MESSAGING = path(PROP_MESSAGING);
 
     private final String pageAccessToken;
     private final String appSecret;
     private final String verifyToken;
+    private final MessengerHttpClient httpClient;
+    private final Optional<AttachmentIdCache> attachmentIdCache;
+    private final MessengerInstrumentation instrumentation;
+    private final Optional<IdentifierInterner> identifierInterner;
+    private final Optional<WebhookRecorder> webhookRecorder;
+
     private final String messagesRequestUrl;
+    private final String messageAttachmentsRequestUrl;
     private final String messengerProfileRequestUrl;
-    private final MessengerHttpClient httpClient;
+    private final String messengerProfileFieldsRequestUrl;
+    private final String accessTokenParameter;
 
     private final Gson gson;
     private final JsonParser jsonParser;
+    private final ConcurrentMap<String, CompletableFuture<Object>> pendingQueries;
 
     public static Messenger create(@NonNull String pageAccessToken, @NonNull String appSecret, @NonNull String verifyToken) {
         return create(pageAccessToken, appSecret, verifyToken, empty());
@@ -99,75 +158,295 @@ public final class Messenger {
     public static Messenger create(@NonNull String pageAccessToken, @NonNull String appSecret,
                                    @NonNull String verifyToken, @NonNull Optional<MessengerHttpClient> customHttpClient) {
 
-        return new Messenger(pageAccessToken, appSecret, verifyToken, customHttpClient);
+        final MessengerOptions options = MessengerOptions.create();
+        return create(pageAccessToken, appSecret, verifyToken, customHttpClient.map(options::withHttpClient)
+                .orElse(options));
+    }
+
+    /**
+     * @param options the optional collaborators, see {@link MessengerOptions}
+     * @since 1.1.0
+     */
+    public static Messenger create(@NonNull String pageAccessToken, @NonNull String appSecret,
+                                   @NonNull String verifyToken, @NonNull MessengerOptions options) {
+
+        return new Messenger(pageAccessToken, appSecret, verifyToken,
+                options.httpClient().orElseGet(DefaultMessengerHttpClient::new), options.attachmentIdCache(),
+                MessengerInstrumentation.create(options.metrics()), options.identifierInterner(),
+                options.webhookRecorder(), GsonFactory.createGson(), new JsonParser(), new ConcurrentHashMap<>());
     }
 
-    private Messenger(String pageAccessToken, String appSecret, String verifyToken, Optional<MessengerHttpClient> httpClient) {
+    /**
+     * Creates a {@code Messenger} that shares the given (thread-safe) infrastructure with other instances.
+     * Used by {@link MessengerRegistry} and {@link SettingsRollout} to keep the per-page footprint small. The request
+     * URLs containing the page access token are built once here, so sending does not format them again per request.
+     */
+    Messenger(String pageAccessToken, String appSecret, String verifyToken, MessengerHttpClient httpClient,
+              Optional<AttachmentIdCache> attachmentIdCache, MessengerInstrumentation instrumentation,
+              Optional<IdentifierInterner> identifierInterner, Optional<WebhookRecorder> webhookRecorder,
+              Gson gson, JsonParser jsonParser, ConcurrentMap<String, CompletableFuture<Object>> pendingQueries) {
         this.pageAccessToken = pageAccessToken;
         this.appSecret = appSecret;
         this.verifyToken = verifyToken;
+        this.httpClient = httpClient;
+        this.attachmentIdCache = attachmentIdCache;
+        this.instrumentation = instrumentation;
+        this.identifierInterner = identifierInterner;
+        this.webhookRecorder = webhookRecorder;
+
         this.messagesRequestUrl = String.format(FB_GRAPH_API_URL_MESSAGES, pageAccessToken);
+        this.messageAttachmentsRequestUrl = String.format(FB_GRAPH_API_URL_MESSAGE_ATTACHMENTS, pageAccessToken);
         this.messengerProfileRequestUrl = String.format(FB_GRAPH_API_URL_MESSENGER_PROFILE, pageAccessToken);
-        this.httpClient = httpClient.orElse(new DefaultMessengerHttpClient());
+        this.messengerProfileFieldsRequestUrl = createMessengerProfileFieldsRequestUrl(gson, pageAccessToken);
+        this.accessTokenParameter = "&access_token=" + pageAccessToken;
 
-        this.gson = GsonFactory.createGson();
-        this.jsonParser = new JsonParser();
+        this.gson = gson;
+        this.jsonParser = jsonParser;
+        this.pendingQueries = pendingQueries;
     }
 
     public MessageResponse send(@NonNull Payload payload)
             throws MessengerApiException, MessengerIOException {
 
+        if (attachmentIdCache.isPresent() && isUrlRichMediaMessagePayload(payload)) {
+            return sendUrlRichMediaMessage((MessagePayload) payload, attachmentIdCache.get());
+        }
         return doRequest(POST, messagesRequestUrl, of(payload), MessageResponseFactory::create);
     }
 
+    public AttachmentUploadResponse uploadAttachment(@NonNull UrlRichMediaAsset richMediaAsset)
+            throws MessengerApiException, MessengerIOException {
+
+        final AttachmentUploadPayload payload = AttachmentUploadPayload.create(richMediaAsset);
+        if (!attachmentIdCache.isPresent()) {
+            return doRequest(POST, messageAttachmentsRequestUrl, of(payload), AttachmentUploadResponseFactory::create);
+        }
+
+        final String key = AttachmentIdCache.urlKey(richMediaAsset);
+        final AtomicReference<AttachmentUploadResponse> uploadResponse = new AtomicReference<>();
+        final Optional<String> attachmentId = attachmentIdCache.get().attachmentId(key, () -> {
+            uploadResponse.set(doRequest(POST, messageAttachmentsRequestUrl, of(payload),
+                    AttachmentUploadResponseFactory::create));
+            return of(uploadResponse.get().attachmentId());
+        });
+        if (uploadResponse.get() != null) {
+            return uploadResponse.get();
+        }
+        if (attachmentId.isPresent()) {
+            return new AttachmentUploadResponse(attachmentId.get());
+        }
+        return doRequest(POST, messageAttachmentsRequestUrl, of(payload), AttachmentUploadResponseFactory::create);
+    }
+
     public void onReceiveEvents(@NonNull String requestPayload, @NonNull Optional<String> signature,
                                 @NonNull Consumer<Event> eventHandler)
             throws MessengerVerificationException {
 
+        if (webhookRecorder.isPresent()) {
+            webhookRecorder.get().record(requestPayload, signature);
+        }
+        final JsonArray entries = parseEntries(requestPayload, signature, this.appSecret, this.jsonParser,
+                this.instrumentation);
+        for (JsonElement entry : entries) {
+            dispatchEntry(entry.getAsJsonObject(), eventHandler, this.instrumentation, this.identifierInterner);
+        }
+    }
+
+    /**
+     * Verifies the signature of a raw request body, so that it can be dispatched later on by
+     * {@link #onReceiveVerifiedEvents(String, Consumer)}. Used by {@link WebhookServer}.
+     */
+    void verifySignature(byte[] requestPayload, String signature) throws MessengerVerificationException {
+        if (webhookRecorder.isPresent()) {
+            webhookRecorder.get().record(requestPayload, of(signature));
+        }
+        verifySignature(requestPayload, signature, appSecret, instrumentation);
+    }
+
+    static void verifySignature(byte[] requestPayload, String signature, String appSecret,
+                                MessengerInstrumentation instrumentation) throws MessengerVerificationException {
+        final long signatureStartNanos = instrumentation.startTime();
+        final boolean signatureValid = SignatureUtil.isSignatureValid(requestPayload, signature, appSecret);
+        checkSignature(signatureValid, signatureStartNanos, instrumentation);
+    }
+
+    void onReceiveVerifiedEvents(String requestPayload, Consumer<Event> eventHandler) {
+        final JsonArray entries = parseVerifiedEntries(requestPayload, jsonParser, instrumentation,
+                instrumentation.beginWebhookReceive(), 0);
+        for (JsonElement entry : entries) {
+            dispatchEntry(entry.getAsJsonObject(), eventHandler, instrumentation, identifierInterner);
+        }
+    }
+
+    static JsonArray parseEntries(String requestPayload, Optional<String> signature, String appSecret,
+                                  JsonParser jsonParser, MessengerInstrumentation instrumentation)
+            throws MessengerVerificationException {
+
+        final WebhookReceive receiveEvent = instrumentation.beginWebhookReceive();
+        long signatureNanos = 0;
         if (signature.isPresent()) {
-            if (!SignatureUtil.isSignatureValid(requestPayload, signature.get(), this.appSecret)) {
-                throw new MessengerVerificationException("Signature verification failed. " +
-                        "Provided signature does not match calculated signature.");
-            }
+            final long signatureStartNanos = instrumentation.startTime();
+            final boolean signatureValid = SignatureUtil.isSignatureValid(requestPayload, signature.get(), appSecret);
+            signatureNanos = checkSignature(signatureValid, signatureStartNanos, instrumentation);
         } else {
             log.warn("No signature provided, hence the signature verification is skipped. THIS IS NOT RECOMMENDED");
         }
+        return parseVerifiedEntries(requestPayload, jsonParser, instrumentation, receiveEvent, signatureNanos);
+    }
+
+    /**
+     * @return the duration of the signature verification, or {@code 0} if not measured
+     */
+    private static long checkSignature(boolean signatureValid, long signatureStartNanos,
+                                       MessengerInstrumentation instrumentation)
+            throws MessengerVerificationException {
+
+        final long signatureNanos = instrumentation.recordSignatureVerification(signatureStartNanos);
+        if (!signatureValid) {
+            throw new MessengerVerificationException("Signature verification failed. " +
+                    "Provided signature does not match calculated signature.");
+        }
+        return signatureNanos;
+    }
 
-        final JsonObject payloadJsonObject = this.jsonParser.parse(requestPayload).getAsJsonObject();
+    static JsonArray parseVerifiedEntries(String requestPayload, JsonParser jsonParser,
+                                          MessengerInstrumentation instrumentation, WebhookReceive receiveEvent,
+                                          long signatureNanos) {
 
-        final Optional<String> objectType = getPropertyAsString(payloadJsonObject, PROP_OBJECT);
-        if (!objectType.isPresent() || !objectType.get().equalsIgnoreCase(OBJECT_TYPE_PAGE)) {
+        final long parsingStartNanos = instrumentation.startTime();
+        final JsonObject payloadJsonObject = jsonParser.parse(requestPayload).getAsJsonObject();
+        final long parsingNanos = instrumentation.recordParsing(parsingStartNanos, requestPayload.length());
+
+        final String objectType = OBJECT.getAsString(payloadJsonObject);
+        if (objectType == null || !objectType.equalsIgnoreCase(OBJECT_TYPE_PAGE)) {
             throw new IllegalArgumentException("'object' property must be 'page'. " +
                     "Make sure this is a page subscription");
         }
 
-        final JsonArray entries = getPropertyAsJsonArray(payloadJsonObject, PROP_ENTRY)
-                .orElseThrow(IllegalArgumentException::new);
-        for (JsonElement entry : entries) {
-            final JsonArray messagingEvents = getPropertyAsJsonArray(entry.getAsJsonObject(), PROP_MESSAGING)
-                    .orElseThrow(IllegalArgumentException::new);
-            for (JsonElement messagingEvent : messagingEvents) {
-                final Event event = EventFactory.createEvent(messagingEvent.getAsJsonObject());
-                eventHandler.accept(event);
-            }
+        final JsonArray entries = ENTRY.requireJsonArray(payloadJsonObject);
+        instrumentation.endWebhookReceive(receiveEvent, requestPayload.length(), entries, signatureNanos,
+                parsingNanos);
+        return entries;
+    }
+
+    static void dispatchEntry(JsonObject entry, Consumer<Event> eventHandler,
+                              MessengerInstrumentation instrumentation,
+                              Optional<IdentifierInterner> identifierInterner) {
+        final JsonArray messagingEvents = MESSAGING.requireJsonArray(entry);
+        for (JsonElement messagingEvent : messagingEvents) {
+            final Event event = identifierInterner.isPresent()
+                    ? EventFactory.createEvent(messagingEvent.getAsJsonObject(), identifierInterner.get())
+                    : EventFactory.createEvent(messagingEvent.getAsJsonObject());
+            final long dispatchStartNanos = instrumentation.startTime();
+            final EventDispatch dispatchEvent = instrumentation.beginEventDispatch();
+            eventHandler.accept(event);
+            instrumentation.recordDispatch(event, dispatchStartNanos, dispatchEvent);
         }
     }
 
     public void verifyWebhook(@NonNull String mode, @NonNull String verifyToken) throws MessengerVerificationException {
+        verifyWebhook(mode, verifyToken, this.verifyToken);
+    }
+
+    static void verifyWebhook(String mode, String verifyToken, String expectedVerifyToken)
+            throws MessengerVerificationException {
+
         if (!mode.equals(HUB_MODE_SUBSCRIBE)) {
             throw new MessengerVerificationException("Webhook verification failed. Mode '" + mode + "' is invalid.");
         }
-        if (!verifyToken.equals(this.verifyToken)) {
+        if (!verifyToken.equals(expectedVerifyToken)) {
             throw new MessengerVerificationException("Webhook verification failed. Verification token '" +
                     verifyToken + "' is invalid.");
         }
     }
 
+    /**
+     * Queries the profile of the given user. Concurrent queries for the same user are collapsed into one request,
+     * whose result (or exception) is shared by all callers.
+     */
     public UserProfile queryUserProfile(@NonNull String userId) throws MessengerApiException, MessengerIOException {
-        final String requestUrl = String.format(FB_GRAPH_API_URL_USER, userId, pageAccessToken);
-        return doRequest(GET, requestUrl, empty(), UserProfileFactory::create);
+        final String requestUrl = userProfileRequestUrl(userId, FB_GRAPH_API_USER_PROFILE_FIELDS);
+        return doCoalescedQuery(requestUrl, treeParser(UserProfileFactory::create));
     }
 
+    /**
+     * Asynchronous variant of {@link #queryUserProfile(String)}, executing the request on the given executor.
+     * The returned future is completed exceptionally with a {@link MessengerApiException} or a
+     * {@link MessengerIOException} if the query fails.
+     */
+    public CompletableFuture<UserProfile> queryUserProfileAsync(@NonNull String userId, @NonNull Executor executor) {
+        final String requestUrl = userProfileRequestUrl(userId, FB_GRAPH_API_USER_PROFILE_FIELDS);
+        return doCoalescedQueryAsync(requestUrl, treeParser(UserProfileFactory::create), executor);
+    }
+
+    /**
+     * Queries only the given fields of the profile of the given user. This keeps the response small and it is
+     * decoded without building an intermediate JSON tree. Like {@link #queryUserProfile(String)}, concurrent
+     * queries for the same user and fields are collapsed into one request.
+     */
+    public PartialUserProfile queryUserProfile(@NonNull String userId, @NonNull Set<UserProfileField> fields)
+            throws MessengerApiException, MessengerIOException {
+
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("at least one field must be requested");
+        }
+        final StringJoiner fieldNames = new StringJoiner(",");
+        for (UserProfileField field : EnumSet.copyOf(fields)) {
+            fieldNames.add(field.fieldName());
+        }
+        final String requestUrl = userProfileRequestUrl(userId, fieldNames.toString());
+        return doCoalescedQuery(requestUrl, responseBody -> {
+            try (JsonReader jsonReader = new JsonReader(new StringReader(responseBody))) {
+                return PartialUserProfileFactory.create(jsonReader);
+            }
+        });
+    }
+
+
+    public UserProfilesResponse queryUserProfiles(@NonNull Collection<String> userIds) {
+        return queryUserProfiles(userIds, 1, Runnable::run);
+    }
+
+    /**
+     * Queries the profiles of many users using the multi-ID form of the Graph API, at most 50 IDs per request.
+     * Up to {@code parallelism} requests are in flight at the same time, one of them on the calling thread,
+     * the others on the given executor.
+     * <p>
+     * Each response is parsed one profile at a time, hence the memory needed does not depend on the chunk size.
+     * If a request is rejected because of an invalid ID, its IDs are queried one by one, so that the error can be
+     * attributed to the offending ID.
+     */
+    public UserProfilesResponse queryUserProfiles(@NonNull Collection<String> userIds, int parallelism,
+                                                  @NonNull Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        final Queue<List<String>> chunks = new ConcurrentLinkedQueue<>();
+        final List<String> distinctUserIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        for (int i = 0; i < distinctUserIds.size(); i += FB_GRAPH_API_MAX_IDS_PER_REQUEST) {
+            chunks.add(distinctUserIds.subList(i, Math.min(i + FB_GRAPH_API_MAX_IDS_PER_REQUEST, distinctUserIds.size())));
+        }
+
+        final Map<String, UserProfile> userProfiles = new ConcurrentHashMap<>();
+        final Map<String, Exception> errors = new ConcurrentHashMap<>();
+        final Runnable worker = () -> {
+            List<String> chunk;
+            while ((chunk = chunks.poll()) != null) {
+                queryUserProfileChunk(chunk, userProfiles, errors);
+            }
+        };
+
+        final int workerCount = Math.min(parallelism, chunks.size());
+        final List<CompletableFuture<Void>> asyncWorkers = new ArrayList<>(workerCount);
+        for (int i = 1; i < workerCount; i++) {
+            asyncWorkers.add(CompletableFuture.runAsync(worker, executor));
+        }
+        worker.run();
+        CompletableFuture.allOf(asyncWorkers.toArray(new CompletableFuture[0])).join();
+
+        return new UserProfilesResponse(userProfiles, errors);
+    }
 
     public SetupResponse updateSettings(@NonNull MessengerSettings messengerSettings)
             throws MessengerApiException, MessengerIOException {
@@ -185,27 +464,344 @@ public final class Messenger {
         return doRequest(DELETE, messengerProfileRequestUrl, of(payload), SetupResponseFactory::create);
     }
 
+    /**
+     * Brings the Messenger Profile settings of the page in line with the given settings. The current settings are
+     * read first, then only the properties whose value differs are updated and the properties that are absent from
+     * the given settings are deleted.
+     */
+    public SettingsSyncResponse syncSettings(@NonNull MessengerSettings messengerSettings)
+            throws MessengerApiException, MessengerIOException {
+
+        return syncSettings(messengerSettings, empty());
+    }
+
+    /**
+     * Like {@link #syncSettings(MessengerSettings)}, but skips the synchronization without sending any request if the
+     * given store holds the same settings hash for this page, i.e. the page was successfully synchronized with
+     * exactly these settings before. The store is updated after a successful synchronization.
+     */
+    public SettingsSyncResponse syncSettings(@NonNull MessengerSettings messengerSettings,
+                                             @NonNull SettingsHashStore settingsHashStore)
+            throws MessengerApiException, MessengerIOException {
+
+        return syncSettings(messengerSettings, of(settingsHashStore));
+    }
+
+    private SettingsSyncResponse syncSettings(MessengerSettings messengerSettings,
+                                              Optional<SettingsHashStore> settingsHashStore)
+            throws MessengerApiException, MessengerIOException {
+
+        final JsonObject desiredSettings = this.gson.toJsonTree(messengerSettings).getAsJsonObject();
+        final String pageKey = SettingsHashStore.contentHash(pageAccessToken);
+        final String settingsHash = SettingsHashStore.contentHash(desiredSettings.toString());
+        final boolean isUnchanged = settingsHashStore.flatMap(store -> store.settingsHash(pageKey))
+                .map(settingsHash::equals).orElse(false);
+        if (isUnchanged) {
+            return new SettingsSyncResponse(true, EnumSet.noneOf(MessengerSettingProperty.class),
+                    EnumSet.noneOf(MessengerSettingProperty.class));
+        }
+
+        final JsonObject currentSettings = doRequest(GET, messengerProfileFieldsRequestUrl, empty(),
+                Messenger::currentSettings);
+        final JsonObject changedSettings = new JsonObject();
+        final Set<MessengerSettingProperty> updatedProperties = EnumSet.noneOf(MessengerSettingProperty.class);
+        final Set<MessengerSettingProperty> deletedProperties = EnumSet.noneOf(MessengerSettingProperty.class);
+        for (MessengerSettingProperty property : MessengerSettingProperty.values()) {
+            final String propertyName = this.gson.toJsonTree(property).getAsString();
+            final JsonElement desiredValue = desiredSettings.get(propertyName);
+            final JsonElement currentValue = currentSettings.get(propertyName);
+            if (desiredValue != null && !desiredValue.equals(currentValue)) {
+                changedSettings.add(propertyName, desiredValue);
+                updatedProperties.add(property);
+            } else if (desiredValue == null && currentValue != null && !currentValue.isJsonNull()) {
+                deletedProperties.add(property);
+            }
+        }
+
+        if (!updatedProperties.isEmpty()) {
+            doRequest(POST, messengerProfileRequestUrl, of(changedSettings), SetupResponseFactory::create);
+        }
+        if (!deletedProperties.isEmpty()) {
+            final DeleteMessengerSettingsPayload payload =
+                    DeleteMessengerSettingsPayload.create(new ArrayList<>(deletedProperties));
+            doRequest(DELETE, messengerProfileRequestUrl, of(payload), SetupResponseFactory::create);
+        }
+        settingsHashStore.ifPresent(store -> store.put(pageKey, settingsHash));
+        return new SettingsSyncResponse(false, updatedProperties, deletedProperties);
+    }
+
+    private static JsonObject currentSettings(JsonObject responseJsonObject) {
+        final JsonArray data = getPropertyAsJsonArray(responseJsonObject, PROP_DATA)
+                .orElseThrow(IllegalArgumentException::new);
+        return data.size() == 0 ? new JsonObject() : data.get(0).getAsJsonObject();
+    }
+
+    private static String createMessengerProfileFieldsRequestUrl(Gson gson, String pageAccessToken) {
+        final StringJoiner fields = new StringJoiner(",");
+        for (MessengerSettingProperty property : MessengerSettingProperty.values()) {
+            fields.add(gson.toJsonTree(property).getAsString());
+        }
+        return String.format(FB_GRAPH_API_URL_MESSENGER_PROFILE_FIELDS, fields, pageAccessToken);
+    }
+
+    private String userProfileRequestUrl(String userId, String fieldNames) {
+        return FB_GRAPH_API_URL + userId + "?fields=" + fieldNames + accessTokenParameter;
+    }
+
+    private boolean isUrlRichMediaMessagePayload(Payload payload) {
+        if (!(payload instanceof MessagePayload)) {
+            return false;
+        }
+        final MessagePayload messagePayload = (MessagePayload) payload;
+        return messagePayload.message() instanceof RichMediaMessage &&
+                ((RichMediaMessage) messagePayload.message()).richMediaAsset() instanceof UrlRichMediaAsset;
+    }
+
+    private MessageResponse sendUrlRichMediaMessage(MessagePayload payload, AttachmentIdCache attachmentIdCache)
+            throws MessengerApiException, MessengerIOException {
+
+        final RichMediaMessage message = (RichMediaMessage) payload.message();
+        final UrlRichMediaAsset richMediaAsset = (UrlRichMediaAsset) message.richMediaAsset();
+        final String key = AttachmentIdCache.urlKey(richMediaAsset);
+
+        final AtomicReference<MessageResponse> uploadingSendResponse = new AtomicReference<>();
+        final AtomicBoolean uploading = new AtomicBoolean();
+        final AttachmentIdCache.Upload upload = () -> {
+            uploading.set(true);
+            final UrlRichMediaAsset reusableAsset = UrlRichMediaAsset.create(richMediaAsset.type(),
+                    richMediaAsset.url(), of(true));
+            final MessagePayload uploadingPayload = MessagePayload.create(payload.recipient(), payload.messagingType(),
+                    RichMediaMessage.create(reusableAsset, message.quickReplies(), message.metadata()),
+                    payload.notificationType(), payload.tag());
+            uploadingSendResponse.set(doRequest(POST, messagesRequestUrl, of(uploadingPayload),
+                    MessageResponseFactory::create));
+            return uploadingSendResponse.get().attachmentId();
+        };
+        Optional<String> attachmentId;
+        try {
+            attachmentId = attachmentIdCache.attachmentId(key, upload);
+        } catch (MessengerApiException | MessengerIOException e) {
+            if (uploading.get()) {
+                throw e;
+            }
+            // the uploading message was sent to another recipient, its failure does not concern this one
+            attachmentId = empty();
+        }
+        if (uploadingSendResponse.get() != null) {
+            return uploadingSendResponse.get();
+        }
+
+        final Payload effectivePayload = attachmentId
+                .<Payload>map(id -> MessagePayload.create(payload.recipient(), payload.messagingType(),
+                        RichMediaMessage.create(ReusableRichMediaAsset.create(richMediaAsset.type(), id),
+                                message.quickReplies(), message.metadata()),
+                        payload.notificationType(), payload.tag()))
+                .orElse(payload);
+        return doRequest(POST, messagesRequestUrl, of(effectivePayload), MessageResponseFactory::create);
+    }
+
+    private void queryUserProfileChunk(List<String> userIds, Map<String, UserProfile> userProfiles,
+                                       Map<String, Exception> errors) {
+        final String requestUrl = FB_GRAPH_API_URL + "?ids=" + String.join(",", userIds) + "&fields=" +
+                FB_GRAPH_API_USER_PROFILE_FIELDS + accessTokenParameter;
+        final RequestRecording request = instrumentation.startRequest(GET, requestUrl);
+        try {
+            final HttpResponse httpResponse = this.httpClient.execute(GET, requestUrl, null);
+            request.responded(httpResponse);
+            if (httpResponse.statusCode() >= 200 && httpResponse.statusCode() < 300) {
+                try {
+                    parseUserProfiles(httpResponse.body(), userProfiles, errors);
+                } catch (RuntimeException e) {
+                    request.invalidResponse();
+                    throw e;
+                }
+                request.succeeded();
+                for (String userId : userIds) {
+                    if (!userProfiles.containsKey(userId) && !errors.containsKey(userId)) {
+                        errors.put(userId, new MessengerApiException("The response does not contain the user profile",
+                                empty(), empty(), empty()));
+                    }
+                }
+                return;
+            }
+
+            final MessengerApiException apiException = MessengerApiExceptionFactory.create(
+                    this.jsonParser.parse(httpResponse.body()).getAsJsonObject());
+            request.failed(apiException);
+            final boolean isInvalidIdError = apiException.code()
+                    .map(code -> code == FB_GRAPH_API_ERROR_CODE_INVALID_PARAMETER).orElse(false);
+            if (isInvalidIdError && userIds.size() > 1) {
+                queryUserProfilesOneByOne(userIds, userProfiles, errors);
+            } else {
+                userIds.forEach(userId -> errors.put(userId, apiException));
+            }
+        } catch (IOException e) {
+            request.failed(e);
+            final MessengerIOException ioException = new MessengerIOException(e);
+            userIds.forEach(userId -> errors.put(userId, ioException));
+        } catch (RuntimeException e) {
+            userIds.forEach(userId -> errors.put(userId, e));
+        }
+    }
+
+    private void queryUserProfilesOneByOne(List<String> userIds, Map<String, UserProfile> userProfiles,
+                                           Map<String, Exception> errors) {
+        for (String userId : userIds) {
+            try {
+                userProfiles.put(userId, queryUserProfile(userId));
+            } catch (MessengerApiException | MessengerIOException | RuntimeException e) {
+                errors.put(userId, e);
+            }
+        }
+    }
+
+    private void parseUserProfiles(String responseBody, Map<String, UserProfile> userProfiles,
+                                   Map<String, Exception> errors) throws IOException {
+        try (JsonReader jsonReader = new JsonReader(new StringReader(responseBody))) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                final String userId = jsonReader.nextName();
+                final JsonElement userProfileJsonElement = this.jsonParser.parse(jsonReader);
+                try {
+                    userProfiles.put(userId, UserProfileFactory.create(userProfileJsonElement.getAsJsonObject()));
+                } catch (RuntimeException e) {
+                    errors.put(userId, e);
+                }
+            }
+            jsonReader.endObject();
+        }
+    }
+
+    private <R> R doCoalescedQuery(String requestUrl, ResponseParser<R> responseParser)
+            throws MessengerApiException, MessengerIOException {
+
+        final CompletableFuture<Object> ownQuery = new CompletableFuture<>();
+        final CompletableFuture<Object> pendingQuery = pendingQueries.putIfAbsent(requestUrl, ownQuery);
+        if (pendingQuery != null) {
+            return awaitQuery(pendingQuery);
+        }
+        try {
+            final R response = doRequest(GET, requestUrl, empty(), responseParser);
+            ownQuery.complete(response);
+            return response;
+        } catch (Throwable t) {
+            ownQuery.completeExceptionally(t);
+            throw t;
+        } finally {
+            pendingQueries.remove(requestUrl, ownQuery);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> doCoalescedQueryAsync(String requestUrl,
+                                                           ResponseParser<R> responseParser,
+                                                           Executor executor) {
+
+        final CompletableFuture<Object> ownQuery = new CompletableFuture<>();
+        final CompletableFuture<Object> pendingQuery = pendingQueries.putIfAbsent(requestUrl, ownQuery);
+        if (pendingQuery != null) {
+            return pendingQuery.thenApply(response -> (R) response);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    ownQuery.complete(doRequest(GET, requestUrl, empty(), responseParser));
+                } catch (Throwable t) {
+                    ownQuery.completeExceptionally(t);
+                } finally {
+                    pendingQueries.remove(requestUrl, ownQuery);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingQueries.remove(requestUrl, ownQuery);
+            ownQuery.completeExceptionally(e);
+        }
+        return ownQuery.thenApply(response -> (R) response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R awaitQuery(CompletableFuture<Object> pendingQuery) throws MessengerApiException, MessengerIOException {
+        try {
+            return (R) pendingQuery.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessengerIOException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof MessengerApiException) {
+                throw (MessengerApiException) cause;
+            }
+            if (cause instanceof MessengerIOException) {
+                throw (MessengerIOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MessengerIOException(cause);
+        }
+    }
+
     private <R> R doRequest(HttpMethod httpMethod, String requestUrl, Optional<Object> payload,
                             Function<JsonObject, R> responseTransformer)
             throws MessengerApiException, MessengerIOException {
 
+        return doRequest(httpMethod, requestUrl, payload, treeParser(responseTransformer));
+    }
+
+    private <R> R doRequest(HttpMethod httpMethod, String requestUrl, Optional<Object> payload,
+                            ResponseParser<R> responseParser)
+            throws MessengerApiException, MessengerIOException {
+
+        final RequestRecording request = instrumentation.startRequest(httpMethod, requestUrl);
         try {
             final Optional<String> jsonBody = payload.map(this.gson::toJson);
             final HttpResponse httpResponse = this.httpClient.execute(httpMethod, requestUrl, jsonBody.orElse(null));
-            final JsonObject responseJsonObject = this.jsonParser.parse(httpResponse.body()).getAsJsonObject();
-
-            if (responseJsonObject.size() == 0) {
-                throw new MessengerApiException("The response JSON does not contain any key/value pair",
-                        empty(), empty(), empty());
-            }
+            request.responded(httpResponse);
 
             if (httpResponse.statusCode() >= 200 && httpResponse.statusCode() < 300) {
-                return responseTransformer.apply(responseJsonObject);
-            } else {
-                throw MessengerApiExceptionFactory.create(responseJsonObject);
+                final R response;
+                try {
+                    response = responseParser.parse(httpResponse.body());
+                } catch (MessengerApiException | IOException | RuntimeException e) {
+                    request.invalidResponse();
+                    throw e;
+                }
+                request.succeeded();
+                return response;
             }
+
+            final JsonObject responseJsonObject = parseNonEmptyJsonObject(httpResponse.body());
+            final MessengerApiException apiException = MessengerApiExceptionFactory.create(responseJsonObject);
+            request.failed(apiException);
+            throw apiException;
         } catch (IOException e) {
+            request.failed(e);
             throw new MessengerIOException(e);
         }
     }
+
+    private <R> ResponseParser<R> treeParser(Function<JsonObject, R> responseTransformer) {
+        return responseBody -> responseTransformer.apply(parseNonEmptyJsonObject(responseBody));
+    }
+
+    private JsonObject parseNonEmptyJsonObject(String responseBody) throws MessengerApiException {
+        final JsonObject responseJsonObject = this.jsonParser.parse(responseBody).getAsJsonObject();
+        if (responseJsonObject.size() == 0) {
+            throw new MessengerApiException("The response JSON does not contain any key/value pair",
+                    empty(), empty(), empty());
+        }
+        return responseJsonObject;
+    }
+
+    /**
+     * Turns the body of a successful response into the response object.
+     */
+    @FunctionalInterface
+    private interface ResponseParser<R> {
+
+        R parse(String responseBody) throws MessengerApiException, IOException;
+    }
 }
@@ -0,0 +1,353 @@
+package com.github.messenger4j;
+
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGING;
+import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonArray;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents.EventDispatch;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents.GraphApiRequest;
+import com.github.messenger4j.internal.jfr.FlightRecorderEvents.WebhookReceive;
+import com.github.messenger4j.internal.jfr.FlightRecorderSupport;
+import com.github.messenger4j.spi.GraphApiRequestOutcome;
+import com.github.messenger4j.spi.GraphApiRequestOutcome.Result;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpMethod;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.spi.MessengerMetrics;
+import com.github.messenger4j.spi.MessengerMetrics.Counter;
+import com.github.messenger4j.spi.MessengerMetrics.Histogram;
+import com.github.messenger4j.spi.MessengerMetrics.Timer;
+import com.github.messenger4j.webhook.Event;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the measurements described in {@link MessengerMetrics} and emits the JFR events of messenger4j. The
+ * instruments of the webhook path are resolved up front, so recording does not allocate. Without metrics and
+ * without a recording of the JFR events, {@link #NOOP} skips even taking the time.
+ *
+ * @since 1.1.0
+ */
+final class MessengerInstrumentation {
+
+    static final MessengerInstrumentation NOOP = new MessengerInstrumentation(MessengerMetrics.noop(), false);
+
+    private static final String GRAPH_API_URL_PREFIX = "https://graph.facebook.com/v2.11/";
+    static final String FB_TRACE_ID_HEADER_NAME = "x-fb-trace-id";
+
+    private final boolean enabled;
+    private final FlightRecorderEvents flightRecorder;
+    private final MessengerMetrics metrics;
+    private final Timer signatureTimer;
+    private final Timer parsingTimer;
+    private final Histogram payloadSizeHistogram;
+    private final Counter[] eventCounters;
+    private final Timer[] dispatchTimers;
+    private final Timer[] requestTimers;
+    private final ConcurrentMap<String, Counter> responseCounters;
+    private final ConcurrentMap<String, Counter> errorCounters;
+
+    static MessengerInstrumentation create(Optional<MessengerMetrics> metrics) {
+        return metrics.map(m -> new MessengerInstrumentation(m, true)).orElse(NOOP);
+    }
+
+    private MessengerInstrumentation(MessengerMetrics metrics, boolean enabled) {
+        this.enabled = enabled;
+        this.flightRecorder = FlightRecorderSupport.events();
+        this.metrics = metrics;
+        this.signatureTimer = metrics.timer("messenger4j.webhook.signature");
+        this.parsingTimer = metrics.timer("messenger4j.webhook.parsing");
+        this.payloadSizeHistogram = metrics.histogram("messenger4j.webhook.payload.size");
+        final EventType[] eventTypes = EventType.values();
+        this.eventCounters = new Counter[eventTypes.length];
+        this.dispatchTimers = new Timer[eventTypes.length];
+        for (EventType eventType : eventTypes) {
+            eventCounters[eventType.ordinal()] = metrics.counter("messenger4j.webhook.events", "type", eventType.tag);
+            dispatchTimers[eventType.ordinal()] = metrics.timer("messenger4j.webhook.dispatch", "type", eventType.tag);
+        }
+        final Endpoint[] endpoints = Endpoint.values();
+        this.requestTimers = new Timer[endpoints.length];
+        for (Endpoint endpoint : endpoints) {
+            requestTimers[endpoint.ordinal()] = metrics.timer("messenger4j.http.requests", "endpoint", endpoint.tag);
+        }
+        this.responseCounters = new ConcurrentHashMap<>();
+        this.errorCounters = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the start time to pass to one of the {@code record} methods
+     */
+    long startTime() {
+        return enabled || flightRecorder.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    WebhookReceive beginWebhookReceive() {
+        return flightRecorder.beginWebhookReceive();
+    }
+
+    /**
+     * @return the duration of the signature verification, or {@code 0} if not measured
+     */
+    long recordSignatureVerification(long startNanos) {
+        if (startNanos == 0) {
+            return 0;
+        }
+        final long durationNanos = System.nanoTime() - startNanos;
+        signatureTimer.record(durationNanos);
+        return durationNanos;
+    }
+
+    /**
+     * @return the duration of the parsing, or {@code 0} if not measured
+     */
+    long recordParsing(long startNanos, int payloadLength) {
+        if (startNanos == 0) {
+            return 0;
+        }
+        final long durationNanos = System.nanoTime() - startNanos;
+        parsingTimer.record(durationNanos);
+        payloadSizeHistogram.record(payloadLength);
+        return durationNanos;
+    }
+
+    void endWebhookReceive(WebhookReceive receiveEvent, int payloadLength, JsonArray entries, long signatureNanos,
+                           long parsingNanos) {
+        if (receiveEvent.shouldCommit()) {
+            int eventCount = 0;
+            for (JsonElement entry : entries) {
+                eventCount += getPropertyAsJsonArray(entry.getAsJsonObject(), PROP_MESSAGING)
+                        .map(JsonArray::size).orElse(0);
+            }
+            receiveEvent.commit(payloadLength, eventCount, signatureNanos, parsingNanos);
+        }
+    }
+
+    EventDispatch beginEventDispatch() {
+        return flightRecorder.beginEventDispatch();
+    }
+
+    void recordDispatch(Event event, long startNanos, EventDispatch dispatchEvent) {
+        final boolean commitDispatchEvent = dispatchEvent.shouldCommit();
+        if (!enabled && !commitDispatchEvent) {
+            return;
+        }
+        final EventType eventType = EventType.of(event);
+        if (enabled) {
+            final long durationNanos = System.nanoTime() - startNanos;
+            eventCounters[eventType.ordinal()].increment();
+            dispatchTimers[eventType.ordinal()].record(durationNanos);
+        }
+        if (commitDispatchEvent) {
+            dispatchEvent.commit(eventType.tag);
+        }
+    }
+
+    /**
+     * @return the recording of a Graph API request, to be completed with one of its outcome methods
+     */
+    RequestRecording startRequest(HttpMethod httpMethod, String requestUrl) {
+        if (!enabled && !flightRecorder.isEnabled()) {
+            return RequestRecording.INACTIVE;
+        }
+        return new RequestRecording(this, httpMethod, Endpoint.of(requestUrl), flightRecorder.beginGraphApiRequest());
+    }
+
+    private void recordResponse(Endpoint endpoint, long durationNanos, int statusCode) {
+        if (enabled) {
+            requestTimers[endpoint.ordinal()].record(durationNanos);
+            if (statusCode != 0) {
+                final String status = Integer.toString(statusCode);
+                responseCounters.computeIfAbsent(endpoint.tag + ' ' + status,
+                        k -> metrics.counter("messenger4j.http.responses", "endpoint", endpoint.tag, "status", status))
+                        .increment();
+            }
+        }
+    }
+
+    private void recordApiError(Endpoint endpoint, MessengerApiException exception) {
+        if (enabled) {
+            final String code = exception.code().map(String::valueOf).orElse("none");
+            errorCounters.computeIfAbsent(endpoint.tag + ' ' + code,
+                    k -> metrics.counter("messenger4j.api.errors", "endpoint", endpoint.tag, "code", code))
+                    .increment();
+        }
+    }
+
+    /**
+     * Tracks a single Graph API request. The response is recorded once it arrives, the outcome once the response
+     * is processed; only the first outcome counts.
+     *
+     * @since 1.1.0
+     */
+    static final class RequestRecording {
+
+        private static final RequestRecording INACTIVE = new RequestRecording(null, null, null, null);
+
+        private final MessengerInstrumentation instrumentation;
+        private final HttpMethod httpMethod;
+        private final Endpoint endpoint;
+        private final GraphApiRequest requestEvent;
+        private final long startNanos;
+        private long latencyNanos;
+        private int statusCode;
+        private String fbTraceId;
+        private boolean responded;
+        private boolean completed;
+
+        private RequestRecording(MessengerInstrumentation instrumentation, HttpMethod httpMethod, Endpoint endpoint,
+                                 GraphApiRequest requestEvent) {
+            this.instrumentation = instrumentation;
+            this.httpMethod = httpMethod;
+            this.endpoint = endpoint;
+            this.requestEvent = requestEvent;
+            this.startNanos = instrumentation == null ? 0 : System.nanoTime();
+        }
+
+        void responded(HttpResponse httpResponse) {
+            if (instrumentation == null || responded) {
+                return;
+            }
+            responded = true;
+            latencyNanos = System.nanoTime() - startNanos;
+            statusCode = httpResponse.statusCode();
+            fbTraceId = httpResponse.header(FB_TRACE_ID_HEADER_NAME).orElse(null);
+            requestEvent.end();
+            instrumentation.recordResponse(endpoint, latencyNanos, statusCode);
+        }
+
+        void succeeded() {
+            complete(Result.SUCCESS, 0);
+        }
+
+        void invalidResponse() {
+            complete(Result.INVALID_RESPONSE, 0);
+        }
+
+        void failed(MessengerApiException apiException) {
+            if (instrumentation == null || completed) {
+                return;
+            }
+            instrumentation.recordApiError(endpoint, apiException);
+            if (apiException.fbTraceId().isPresent()) {
+                fbTraceId = apiException.fbTraceId().get();
+            }
+            complete(Result.API_ERROR, apiException.code().orElse(0));
+        }
+
+        void failed(IOException ioException) {
+            if (instrumentation == null || completed) {
+                return;
+            }
+            if (!responded) {
+                responded = true;
+                latencyNanos = System.nanoTime() - startNanos;
+                requestEvent.end();
+                instrumentation.recordResponse(endpoint, latencyNanos, 0);
+            }
+            complete(Result.IO_ERROR, 0);
+        }
+
+        private void complete(Result result, int errorCode) {
+            if (instrumentation == null || completed) {
+                return;
+            }
+            completed = true;
+            final String outcome = result.name().toLowerCase(Locale.ENGLISH);
+            requestEvent.commit(endpoint.tag, httpMethod.name(), statusCode, errorCode, fbTraceId, outcome);
+            if (instrumentation.enabled) {
+                instrumentation.metrics.requestCompleted(new GraphApiRequestOutcome(endpoint.tag, httpMethod,
+                        result, statusCode == 0 ? empty() : of(statusCode), errorCode == 0 ? empty() : of(errorCode),
+                        Optional.ofNullable(fbTraceId), Duration.ofNanos(latencyNanos), Instant.now()));
+            }
+        }
+    }
+
+    private enum EventType {
+        ACCOUNT_LINKING,
+        MESSAGE_DELIVERED,
+        MESSAGE_ECHO,
+        ATTACHMENT_MESSAGE,
+        QUICK_REPLY_MESSAGE,
+        TEXT_MESSAGE,
+        MESSAGE_READ,
+        OPT_IN,
+        POSTBACK,
+        REFERRAL,
+        INSTANT_GAME,
+        OTHER;
+
+        private final String tag = name().toLowerCase(Locale.ENGLISH);
+
+        static EventType of(Event event) {
+            if (event.isTextMessageEvent()) {
+                return TEXT_MESSAGE;
+            }
+            if (event.isMessageDeliveredEvent()) {
+                return MESSAGE_DELIVERED;
+            }
+            if (event.isMessageReadEvent()) {
+                return MESSAGE_READ;
+            }
+            if (event.isAttachmentMessageEvent()) {
+                return ATTACHMENT_MESSAGE;
+            }
+            if (event.isQuickReplyMessageEvent()) {
+                return QUICK_REPLY_MESSAGE;
+            }
+            if (event.isPostbackEvent()) {
+                return POSTBACK;
+            }
+            if (event.isMessageEchoEvent()) {
+                return MESSAGE_ECHO;
+            }
+            if (event.isOptInEvent()) {
+                return OPT_IN;
+            }
+            if (event.isReferralEvent()) {
+                return REFERRAL;
+            }
+            if (event.isAccountLinkingEvent()) {
+                return ACCOUNT_LINKING;
+            }
+            if (event.isInstantGameEvent()) {
+                return INSTANT_GAME;
+            }
+            return OTHER;
+        }
+    }
+
+    private enum Endpoint {
+        MESSAGES("me/messages?"),
+        MESSAGE_ATTACHMENTS("me/message_attachments?"),
+        MESSENGER_PROFILE("me/messenger_profile?"),
+        USER_PROFILES("?ids="),
+        USER_PROFILE("");
+
+        private final String path;
+        private final String tag = name().toLowerCase(Locale.ENGLISH);
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+
+        private static final Endpoint[] ENDPOINTS = values();
+
+        static Endpoint of(String requestUrl) {
+            for (Endpoint endpoint : ENDPOINTS) {
+                if (requestUrl.startsWith(endpoint.path, GRAPH_API_URL_PREFIX.length())) {
+                    return endpoint;
+                }
+            }
+            return USER_PROFILE;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.messenger4j;
+
+import static java.util.Optional.empty;
+
+import com.github.messenger4j.attachmentupload.AttachmentIdCache;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerMetrics;
+import com.github.messenger4j.webhook.IdentifierInterner;
+import com.github.messenger4j.webhook.WebhookRecorder;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The optional collaborators of a {@link Messenger}, all absent by default. Each {@code with} method returns a copy
+ * with the given option set, so an instance can be reused as a template for several pages.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class MessengerOptions {
+
+    private static final MessengerOptions DEFAULTS = new MessengerOptions(empty(), empty(), empty(), empty(), empty());
+
+    private final Optional<MessengerHttpClient> httpClient;
+    private final Optional<AttachmentIdCache> attachmentIdCache;
+    private final Optional<MessengerMetrics> metrics;
+    private final Optional<IdentifierInterner> identifierInterner;
+    private final Optional<WebhookRecorder> webhookRecorder;
+
+    public static MessengerOptions create() {
+        return DEFAULTS;
+    }
+
+    private MessengerOptions(Optional<MessengerHttpClient> httpClient, Optional<AttachmentIdCache> attachmentIdCache,
+                             Optional<MessengerMetrics> metrics, Optional<IdentifierInterner> identifierInterner,
+                             Optional<WebhookRecorder> webhookRecorder) {
+        this.httpClient = httpClient;
+        this.attachmentIdCache = attachmentIdCache;
+        this.metrics = metrics;
+        this.identifierInterner = identifierInterner;
+        this.webhookRecorder = webhookRecorder;
+    }
+
+    /**
+     * @param httpClient replaces the default OkHttp based client
+     */
+    public MessengerOptions withHttpClient(@NonNull MessengerHttpClient httpClient) {
+        return new MessengerOptions(Optional.of(httpClient), attachmentIdCache, metrics, identifierInterner,
+                webhookRecorder);
+    }
+
+    /**
+     * @param attachmentIdCache reuses the attachment IDs of previously uploaded URL rich media
+     */
+    public MessengerOptions withAttachmentIdCache(@NonNull AttachmentIdCache attachmentIdCache) {
+        return new MessengerOptions(httpClient, Optional.of(attachmentIdCache), metrics, identifierInterner,
+                webhookRecorder);
+    }
+
+    /**
+     * @param metrics receives the measurements described in {@link MessengerMetrics}
+     */
+    public MessengerOptions withMetrics(@NonNull MessengerMetrics metrics) {
+        return new MessengerOptions(httpClient, attachmentIdCache, Optional.of(metrics), identifierInterner,
+                webhookRecorder);
+    }
+
+    /**
+     * @param identifierInterner deduplicates the non-numeric sender and recipient IDs of received events
+     */
+    public MessengerOptions withIdentifierInterner(@NonNull IdentifierInterner identifierInterner) {
+        return new MessengerOptions(httpClient, attachmentIdCache, metrics, Optional.of(identifierInterner),
+                webhookRecorder);
+    }
+
+    /**
+     * @param webhookRecorder records every received webhook request before it is verified
+     */
+    public MessengerOptions withWebhookRecorder(@NonNull WebhookRecorder webhookRecorder) {
+        return new MessengerOptions(httpClient, attachmentIdCache, metrics, identifierInterner,
+                Optional.of(webhookRecorder));
+    }
+
+    public Optional<MessengerHttpClient> httpClient() {
+        return httpClient;
+    }
+
+    public Optional<AttachmentIdCache> attachmentIdCache() {
+        return attachmentIdCache;
+    }
+
+    public Optional<MessengerMetrics> metrics() {
+        return metrics;
+    }
+
+    public Optional<IdentifierInterner> identifierInterner() {
+        return identifierInterner;
+    }
+
+    public Optional<WebhookRecorder> webhookRecorder() {
+        return webhookRecorder;
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.messenger4j;
+
+import static java.util.Optional.empty;
+
+import com.github.messenger4j.attachmentupload.AttachmentIdCache;
+import com.github.messenger4j.exception.MessengerVerificationException;
+import com.github.messenger4j.internal.gson.GsonFactory;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerMetrics;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IdentifierInterner;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages the {@link Messenger} instances of many Facebook pages belonging to the same Facebook App.
+ * <p>
+ * All registered pages share one HTTP client, one {@code Gson} and one JSON parser, so the per-page overhead is
+ * limited to the page access token and a few references. Incoming webhook requests are verified once and routed
+ * to the event handler of the page identified by {@code entry.id}.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class MessengerRegistry {
+
+    private final String appSecret;
+    private final String verifyToken;
+    private final MessengerHttpClient httpClient;
+    private final MessengerInstrumentation instrumentation;
+    private final Optional<IdentifierInterner> identifierInterner;
+    private final Gson gson;
+    private final JsonParser jsonParser;
+    private final ConcurrentMap<String, CompletableFuture<Object>> pendingQueries;
+    private final ConcurrentMap<String, RegisteredPage> pages;
+
+    public static MessengerRegistry create(@NonNull String appSecret, @NonNull String verifyToken) {
+        return create(appSecret, verifyToken, empty(), empty(), empty());
+    }
+
+    /**
+     * @param metrics receives the measurements of all registered pages, see {@link MessengerMetrics}
+     * @param identifierInterner deduplicates the page and user IDs of the events received for all registered pages
+     */
+    public static MessengerRegistry create(@NonNull String appSecret, @NonNull String verifyToken,
+                                           @NonNull Optional<MessengerHttpClient> customHttpClient,
+                                           @NonNull Optional<MessengerMetrics> metrics,
+                                           @NonNull Optional<IdentifierInterner> identifierInterner) {
+        return new MessengerRegistry(appSecret, verifyToken, customHttpClient, metrics, identifierInterner);
+    }
+
+    private MessengerRegistry(String appSecret, String verifyToken, Optional<MessengerHttpClient> httpClient,
+                              Optional<MessengerMetrics> metrics, Optional<IdentifierInterner> identifierInterner) {
+        this.appSecret = appSecret;
+        this.verifyToken = verifyToken;
+        this.httpClient = httpClient.orElseGet(DefaultMessengerHttpClient::new);
+        this.instrumentation = MessengerInstrumentation.create(metrics);
+        this.identifierInterner = identifierInterner;
+        this.gson = GsonFactory.createGson();
+        this.jsonParser = new JsonParser();
+        this.pendingQueries = new ConcurrentHashMap<>();
+        this.pages = new ConcurrentHashMap<>();
+    }
+
+    public Messenger register(@NonNull String pageId, @NonNull String pageAccessToken,
+                              @NonNull Consumer<Event> eventHandler) {
+        return register(pageId, pageAccessToken, eventHandler, empty());
+    }
+
+    /**
+     * Registers a page, replacing a previous registration with the same page ID.
+     *
+     * @return the {@link Messenger} of the page, sharing the infrastructure of this registry
+     */
+    public Messenger register(@NonNull String pageId, @NonNull String pageAccessToken,
+                              @NonNull Consumer<Event> eventHandler,
+                              @NonNull Optional<AttachmentIdCache> attachmentIdCache) {
+        final Messenger messenger = new Messenger(pageAccessToken, appSecret, verifyToken, httpClient,
+                attachmentIdCache, instrumentation, identifierInterner, empty(), gson, jsonParser, pendingQueries);
+        pages.put(pageId, new RegisteredPage(messenger, eventHandler));
+        return messenger;
+    }
+
+    public void unregister(@NonNull String pageId) {
+        pages.remove(pageId);
+    }
+
+    public Optional<Messenger> messenger(@NonNull String pageId) {
+        final RegisteredPage page = pages.get(pageId);
+        return page == null ? empty() : Optional.of(page.messenger);
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    /**
+     * Verifies the signature once for the whole request and hands each {@code entry} to the event handler of the
+     * page it belongs to. Entries of unregistered pages are skipped.
+     */
+    public void onReceiveEvents(@NonNull String requestPayload, @NonNull Optional<String> signature)
+            throws MessengerVerificationException {
+
+        final JsonArray entries = Messenger.parseEntries(requestPayload, signature, appSecret, jsonParser,
+                instrumentation);
+        dispatchEntries(entries);
+    }
+
+    private void dispatchEntries(JsonArray entries) {
+        for (JsonElement entryJsonElement : entries) {
+            final JsonObject entry = entryJsonElement.getAsJsonObject();
+            final String pageId = Messenger.ENTRY_ID.requireString(entry);
+            final RegisteredPage page = pages.get(pageId);
+            if (page == null) {
+                log.warn("Received entry for unregistered page '{}', hence it is skipped", pageId);
+                continue;
+            }
+            Messenger.dispatchEntry(entry, page.eventHandler, instrumentation, identifierInterner);
+        }
+    }
+
+    /**
+     * Verifies the signature of a raw request body, so that it can be dispatched later on by
+     * {@link #onReceiveVerifiedEvents(String)}. Used by {@link WebhookServer}.
+     */
+    void verifySignature(byte[] requestPayload, String signature) throws MessengerVerificationException {
+        Messenger.verifySignature(requestPayload, signature, appSecret, instrumentation);
+    }
+
+    void onReceiveVerifiedEvents(String requestPayload) {
+        final JsonArray entries = Messenger.parseVerifiedEntries(requestPayload, jsonParser, instrumentation,
+                instrumentation.beginWebhookReceive(), 0);
+        dispatchEntries(entries);
+    }
+
+    public void verifyWebhook(@NonNull String mode, @NonNull String verifyToken) throws MessengerVerificationException {
+        Messenger.verifyWebhook(mode, verifyToken, this.verifyToken);
+    }
+
+    private static final class RegisteredPage {
+
+        private final Messenger messenger;
+        private final Consumer<Event> eventHandler;
+
+        private RegisteredPage(Messenger messenger, Consumer<Event> eventHandler) {
+            this.messenger = messenger;
+            this.eventHandler = eventHandler;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.messenger4j;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.exception.MessengerIOException;
+import com.github.messenger4j.internal.RateLimiter;
+import com.github.messenger4j.internal.gson.GsonFactory;
+import com.github.messenger4j.messengerprofile.MessengerSettings;
+import com.github.messenger4j.messengerprofile.PageRolloutResult;
+import com.github.messenger4j.messengerprofile.RolloutProgressListener;
+import com.github.messenger4j.messengerprofile.SettingsHashStore;
+import com.github.messenger4j.messengerprofile.SettingsRolloutResult;
+import com.github.messenger4j.messengerprofile.SetupResponse;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rolls out {@link MessengerSettings} to many pages concurrently.
+ * <p>
+ * At most {@code concurrency} pages are updated at the same time and requests are spaced out to respect the given
+ * rate limit. Failed updates are retried with exponential backoff if the failure is transient (I/O errors and the
+ * Graph API's rate limiting and temporary error codes). Every successfully updated page is recorded in the optional
+ * checkpoint file, so that an interrupted rollout can be resumed by running it again with the same file: pages that
+ * already received the same settings are skipped. The checkpoint file is written like a {@link SettingsHashStore}, but
+ * under keys of its own: a rollout only updates the given properties and does not delete the others, so a page it
+ * updated must not be skipped by {@code Messenger#syncSettings}. It is saved at most once per second while the
+ * rollout runs and once more at its end.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class SettingsRollout {
+
+    private static final Set<Integer> TRANSIENT_ERROR_CODES = new HashSet<>(Arrays.asList(1, 2, 4, 17, 32, 341, 613));
+    private static final long CHECKPOINT_INTERVAL_NANOS = 1_000_000_000L;
+    private static final String CHECKPOINT_KEY_PREFIX = "rollout:";
+
+    private final int concurrency;
+    private final RateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final MessengerHttpClient httpClient;
+    private final Gson gson;
+    private final JsonParser jsonParser;
+    private final ConcurrentMap<String, CompletableFuture<Object>> pendingQueries;
+
+    public static SettingsRollout create(int concurrency, double requestsPerSecond, int maxAttempts,
+                                         @NonNull Duration retryBackoff) {
+        return create(concurrency, requestsPerSecond, maxAttempts, retryBackoff, empty());
+    }
+
+    public static SettingsRollout create(int concurrency, double requestsPerSecond, int maxAttempts,
+                                         @NonNull Duration retryBackoff,
+                                         @NonNull Optional<MessengerHttpClient> customHttpClient) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        if (retryBackoff.isNegative()) {
+            throw new IllegalArgumentException("retryBackoff must not be negative");
+        }
+        return new SettingsRollout(concurrency, new RateLimiter(requestsPerSecond), maxAttempts, retryBackoff,
+                customHttpClient.orElseGet(DefaultMessengerHttpClient::new));
+    }
+
+    private SettingsRollout(int concurrency, RateLimiter rateLimiter, int maxAttempts, Duration retryBackoff,
+                            MessengerHttpClient httpClient) {
+        this.concurrency = concurrency;
+        this.rateLimiter = rateLimiter;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.httpClient = httpClient;
+        this.gson = GsonFactory.createGson();
+        this.jsonParser = new JsonParser();
+        this.pendingQueries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Updates the settings of every page and blocks until all pages are done.
+     *
+     * @param settingsByPageAccessToken the settings to roll out, by page access token
+     * @param checkpointFile            the file to resume from and to record successfully updated pages in
+     * @param progressListener          notified about every finished page
+     */
+    public SettingsRolloutResult run(@NonNull Map<String, MessengerSettings> settingsByPageAccessToken,
+                                     @NonNull Optional<Path> checkpointFile,
+                                     @NonNull Optional<RolloutProgressListener> progressListener)
+            throws IOException, InterruptedException {
+
+        final Optional<Checkpoint> checkpoint = checkpointFile.isPresent()
+                ? of(new Checkpoint(checkpointFile.get())) : empty();
+        final Progress progress = new Progress(settingsByPageAccessToken.size(), progressListener);
+
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<String, MessengerSettings> entry : settingsByPageAccessToken.entrySet()) {
+            final String pageAccessToken = entry.getKey();
+            final MessengerSettings messengerSettings = entry.getValue();
+            final String pageKey = CHECKPOINT_KEY_PREFIX + SettingsHashStore.contentHash(pageAccessToken);
+            final String settingsHash = SettingsHashStore.contentHash(
+                    this.gson.toJsonTree(messengerSettings).toString());
+            if (checkpoint.map(c -> c.contains(pageKey, settingsHash)).orElse(false)) {
+                progress.completed(new PageRolloutResult(pageAccessToken, true, 0, empty(), empty()));
+                continue;
+            }
+            tasks.add(() -> {
+                final PageRolloutResult pageResult = rollout(pageAccessToken, messengerSettings);
+                if (pageResult.isSuccessful()) {
+                    checkpoint.ifPresent(c -> c.completed(pageKey, settingsHash));
+                }
+                progress.completed(pageResult);
+                return null;
+            });
+        }
+
+        if (!tasks.isEmpty()) {
+            final ExecutorService executorService = Executors.newFixedThreadPool(
+                    Math.min(concurrency, tasks.size()), new RolloutThreadFactory());
+            try {
+                executorService.invokeAll(tasks);
+            } finally {
+                executorService.shutdownNow();
+                if (checkpoint.isPresent()) {
+                    checkpoint.get().save();
+                }
+            }
+        }
+        return new SettingsRolloutResult(progress.pageResults());
+    }
+
+    private PageRolloutResult rollout(String pageAccessToken, MessengerSettings messengerSettings) {
+        final Messenger messenger = new Messenger(pageAccessToken, "", "", httpClient, empty(),
+                MessengerInstrumentation.NOOP, empty(), empty(), gson, jsonParser, pendingQueries);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+                final SetupResponse setupResponse = messenger.updateSettings(messengerSettings);
+                return new PageRolloutResult(pageAccessToken, false, attempt, of(setupResponse), empty());
+            } catch (MessengerApiException | MessengerIOException e) {
+                if (attempt >= maxAttempts || !isTransient(e) || !backOff(attempt)) {
+                    return new PageRolloutResult(pageAccessToken, false, attempt, empty(), of(e));
+                }
+                log.debug("Rolling out settings failed in attempt {}, hence it is retried", attempt, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new PageRolloutResult(pageAccessToken, false, attempt, empty(), of(e));
+            } catch (RuntimeException e) {
+                return new PageRolloutResult(pageAccessToken, false, attempt, empty(), of(e));
+            }
+        }
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis << Math.min(attempt - 1, 16));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isTransient(Exception e) {
+        if (e instanceof MessengerIOException) {
+            return true;
+        }
+        return ((MessengerApiException) e).code().map(TRANSIENT_ERROR_CODES::contains).orElse(false);
+    }
+
+    private static final class Progress {
+
+        private final int totalCount;
+        private final Optional<RolloutProgressListener> progressListener;
+        private final List<PageRolloutResult> pageResults;
+
+        private Progress(int totalCount, Optional<RolloutProgressListener> progressListener) {
+            this.totalCount = totalCount;
+            this.progressListener = progressListener;
+            this.pageResults = new ArrayList<>(totalCount);
+        }
+
+        private synchronized void completed(PageRolloutResult pageResult) {
+            pageResults.add(pageResult);
+            if (progressListener.isPresent()) {
+                try {
+                    progressListener.get().onPageCompleted(pageResult, pageResults.size(), totalCount);
+                } catch (RuntimeException e) {
+                    log.warn("Progress listener failed", e);
+                }
+            }
+        }
+
+        private synchronized List<PageRolloutResult> pageResults() {
+            return new ArrayList<>(pageResults);
+        }
+    }
+
+    private static final class Checkpoint {
+
+        private final Path file;
+        private final SettingsHashStore settingsHashStore;
+        private long lastSavedNanos;
+
+        private Checkpoint(Path file) throws IOException {
+            this.file = file;
+            this.settingsHashStore = SettingsHashStore.load(file);
+            this.lastSavedNanos = System.nanoTime();
+        }
+
+        private boolean contains(String pageKey, String settingsHash) {
+            return settingsHashStore.settingsHash(pageKey).map(settingsHash::equals).orElse(false);
+        }
+
+        private synchronized void completed(String pageKey, String settingsHash) {
+            settingsHashStore.put(pageKey, settingsHash);
+            if (System.nanoTime() - lastSavedNanos >= CHECKPOINT_INTERVAL_NANOS) {
+                save();
+            }
+        }
+
+        private synchronized void save() {
+            try {
+                settingsHashStore.save(file);
+            } catch (IOException e) {
+                log.warn("Writing the checkpoint failed, hence pages may be rolled out again on resume", e);
+            }
+            lastSavedNanos = System.nanoTime();
+        }
+    }
+
+    private static final class RolloutThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "settings-rollout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
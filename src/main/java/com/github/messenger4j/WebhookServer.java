@@ -0,0 +1,413 @@
+package com.github.messenger4j;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.github.messenger4j.exception.MessengerVerificationException;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IngestionQueue;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A ready-made webhook endpoint based on the JDK's built-in {@code HttpServer}.
+ * <p>
+ * {@code GET} requests are answered with the verification handshake. The body of a {@code POST} request is read as
+ * bytes and its {@code X-Hub-Signature} is verified, then the payload is enqueued and acknowledged with {@code 200}
+ * right away. Parsing and dispatching happen on a pool of worker threads, so slow event handlers do not delay the
+ * acknowledgement. If the {@link IngestionQueue} rejects the payload, the request is answered with {@code 503} and
+ * Facebook redelivers it later.
+ * <p>
+ * Request bodies are read in chunks up to a maximum size before their signature can be verified, a larger body is
+ * answered with {@code 413} and an invalid {@code Content-Length} with {@code 400}.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class WebhookServer implements AutoCloseable {
+
+    private static final String HUB_MODE = "hub.mode";
+    private static final String HUB_VERIFY_TOKEN = "hub.verify_token";
+    private static final String HUB_CHALLENGE = "hub.challenge";
+    private static final String SIGNATURE_HEADER = "X-Hub-Signature";
+    private static final int NO_RESPONSE_BODY = -1;
+    private static final int DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+    private static final int READ_CHUNK_SIZE = 8192;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final HttpServer httpServer;
+    private final ExecutorService requestExecutor;
+    private final Thread[] workers;
+    private final IngestionQueue queue;
+    private final Endpoint endpoint;
+    private final int maxBodySize;
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Starts a server receiving the events of a single page and accepting request bodies of up to 1 MiB.
+     *
+     * @see #start(InetSocketAddress, String, Messenger, Consumer, int, IngestionQueue, int)
+     */
+    public static WebhookServer start(@NonNull InetSocketAddress address, @NonNull String path,
+                                      @NonNull Messenger messenger, @NonNull Consumer<Event> eventHandler,
+                                      int workerThreads, @NonNull IngestionQueue queue) throws IOException {
+        return start(address, path, messenger, eventHandler, workerThreads, queue, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * Starts a server receiving the events of a single page.
+     *
+     * @param address        the address to bind to, port {@code 0} picks a free port
+     * @param path           the context path of the webhook, e.g. {@code /webhook}
+     * @param workerThreads  the number of threads parsing and dispatching the payloads
+     * @param queue          holds the acknowledged payloads until a worker is available, closed with the server
+     * @param maxBodySize    the maximum size of a request body in bytes, larger requests are answered with
+     *                       {@code 413}
+     */
+    public static WebhookServer start(@NonNull InetSocketAddress address, @NonNull String path,
+                                      @NonNull Messenger messenger, @NonNull Consumer<Event> eventHandler,
+                                      int workerThreads, @NonNull IngestionQueue queue, int maxBodySize)
+            throws IOException {
+        return start(address, path, new Endpoint() {
+            @Override
+            public void verifyWebhook(String mode, String verifyToken) throws MessengerVerificationException {
+                messenger.verifyWebhook(mode, verifyToken);
+            }
+
+            @Override
+            public void verifySignature(byte[] payload, String signature) throws MessengerVerificationException {
+                messenger.verifySignature(payload, signature);
+            }
+
+            @Override
+            public void dispatch(String payload) {
+                messenger.onReceiveVerifiedEvents(payload, eventHandler);
+            }
+        }, workerThreads, queue, maxBodySize);
+    }
+
+    /**
+     * Starts a server receiving the events of all pages of the given registry and accepting request bodies of up to
+     * 1 MiB.
+     *
+     * @see #start(InetSocketAddress, String, Messenger, Consumer, int, IngestionQueue, int)
+     */
+    public static WebhookServer start(@NonNull InetSocketAddress address, @NonNull String path,
+                                      @NonNull MessengerRegistry registry, int workerThreads,
+                                      @NonNull IngestionQueue queue) throws IOException {
+        return start(address, path, registry, workerThreads, queue, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * Starts a server receiving the events of all pages of the given registry.
+     *
+     * @see #start(InetSocketAddress, String, Messenger, Consumer, int, IngestionQueue, int)
+     */
+    public static WebhookServer start(@NonNull InetSocketAddress address, @NonNull String path,
+                                      @NonNull MessengerRegistry registry, int workerThreads,
+                                      @NonNull IngestionQueue queue, int maxBodySize) throws IOException {
+        return start(address, path, new Endpoint() {
+            @Override
+            public void verifyWebhook(String mode, String verifyToken) throws MessengerVerificationException {
+                registry.verifyWebhook(mode, verifyToken);
+            }
+
+            @Override
+            public void verifySignature(byte[] payload, String signature) throws MessengerVerificationException {
+                registry.verifySignature(payload, signature);
+            }
+
+            @Override
+            public void dispatch(String payload) {
+                registry.onReceiveVerifiedEvents(payload);
+            }
+        }, workerThreads, queue, maxBodySize);
+    }
+
+    private static WebhookServer start(InetSocketAddress address, String path, Endpoint endpoint,
+                                       int workerThreads, IngestionQueue queue, int maxBodySize)
+            throws IOException {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("workerThreads must be positive");
+        }
+        if (maxBodySize <= 0) {
+            throw new IllegalArgumentException("maxBodySize must be positive");
+        }
+        final WebhookServer webhookServer = new WebhookServer(HttpServer.create(address, 0), path, endpoint,
+                workerThreads, queue, maxBodySize);
+        webhookServer.httpServer.start();
+        return webhookServer;
+    }
+
+    private WebhookServer(HttpServer httpServer, String path, Endpoint endpoint, int workerThreads,
+                          IngestionQueue queue, int maxBodySize) {
+        this.httpServer = httpServer;
+        this.requestExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new WebhookThreadFactory("messenger4j-webhook-http-"));
+        this.queue = queue;
+        this.endpoint = endpoint;
+        this.maxBodySize = maxBodySize;
+
+        httpServer.setExecutor(requestExecutor);
+        httpServer.createContext(path, this::handle);
+
+        final ThreadFactory workerThreadFactory = new WebhookThreadFactory("messenger4j-webhook-worker-");
+        this.workers = new Thread[workerThreads];
+        for (int i = 0; i < workerThreads; i++) {
+            workers[i] = workerThreadFactory.newThread(this::work);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * @return the address the server is bound to
+     */
+    public InetSocketAddress address() {
+        return httpServer.getAddress();
+    }
+
+    /**
+     * @return the number of acknowledged payloads waiting for a worker, see {@link IngestionQueue} for details
+     */
+    public long queueDepth() {
+        return queue.depth();
+    }
+
+    /**
+     * @return the number of payloads acknowledged with {@code 200}
+     */
+    public long acceptedCount() {
+        return acceptedCount.sum();
+    }
+
+    /**
+     * @return the number of requests answered with {@code 403} because of a missing or invalid signature
+     */
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return the number of requests answered with {@code 503} because the queue rejected the payload
+     */
+    public long overflowCount() {
+        return overflowCount.sum();
+    }
+
+    /**
+     * @return the number of acknowledged payloads that could not be parsed or whose event handler failed
+     */
+    public long failedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * Stops accepting requests, dispatches the payloads that are still queued, stops the workers and closes the
+     * queue.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        httpServer.stop(0);
+        requestExecutor.shutdown();
+        requestExecutor.awaitTermination(1, SECONDS);
+        closed = true;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        queue.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            switch (exchange.getRequestMethod()) {
+                case "GET":
+                    handleVerification(exchange);
+                    break;
+                case "POST":
+                    handleEvents(exchange);
+                    break;
+                default:
+                    exchange.sendResponseHeaders(405, NO_RESPONSE_BODY);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleVerification(HttpExchange exchange) throws IOException {
+        final Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        final String mode = parameters.get(HUB_MODE);
+        final String verifyToken = parameters.get(HUB_VERIFY_TOKEN);
+        final String challenge = parameters.get(HUB_CHALLENGE);
+        if (mode == null || verifyToken == null || challenge == null) {
+            exchange.sendResponseHeaders(400, NO_RESPONSE_BODY);
+            return;
+        }
+        try {
+            endpoint.verifyWebhook(mode, verifyToken);
+        } catch (MessengerVerificationException e) {
+            log.warn("Webhook verification request rejected: {}", e.getMessage());
+            exchange.sendResponseHeaders(403, NO_RESPONSE_BODY);
+            return;
+        }
+        final byte[] responseBody = challenge.getBytes(UTF_8);
+        exchange.sendResponseHeaders(200, responseBody.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(responseBody);
+        }
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        final String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        long declaredLength = -1;
+        if (contentLength != null) {
+            try {
+                declaredLength = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                exchange.sendResponseHeaders(400, NO_RESPONSE_BODY);
+                return;
+            }
+            if (declaredLength < 0) {
+                exchange.sendResponseHeaders(400, NO_RESPONSE_BODY);
+                return;
+            }
+            if (declaredLength > maxBodySize) {
+                exchange.sendResponseHeaders(413, NO_RESPONSE_BODY);
+                return;
+            }
+        }
+        final byte[] payload = readRequestBody(exchange, declaredLength);
+        if (payload == null) {
+            exchange.sendResponseHeaders(413, NO_RESPONSE_BODY);
+            return;
+        }
+        final String signature = exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER);
+        if (signature == null) {
+            rejectedCount.increment();
+            exchange.sendResponseHeaders(403, NO_RESPONSE_BODY);
+            return;
+        }
+        try {
+            endpoint.verifySignature(payload, signature);
+        } catch (MessengerVerificationException e) {
+            rejectedCount.increment();
+            exchange.sendResponseHeaders(403, NO_RESPONSE_BODY);
+            return;
+        }
+        if (!queue.offer(payload)) {
+            overflowCount.increment();
+            exchange.sendResponseHeaders(503, NO_RESPONSE_BODY);
+            return;
+        }
+        acceptedCount.increment();
+        exchange.sendResponseHeaders(200, NO_RESPONSE_BODY);
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                final byte[] payload = queue.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                if (payload == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    endpoint.dispatch(new String(payload, UTF_8));
+                } catch (RuntimeException e) {
+                    failedCount.increment();
+                    log.error("Failed to dispatch webhook payload", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param declaredLength the {@code Content-Length}, or {@code -1} if the body is chunked
+     * @return the body, or {@code null} if it is larger than {@code maxBodySize}
+     */
+    private byte[] readRequestBody(HttpExchange exchange, long declaredLength) throws IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream(
+                    declaredLength < 0 ? READ_CHUNK_SIZE : (int) Math.min(declaredLength, 16 * READ_CHUNK_SIZE));
+            final byte[] buffer = new byte[READ_CHUNK_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                if (body.size() + read > maxBodySize) {
+                    return null;
+                }
+                body.write(buffer, 0, read);
+            }
+            if (declaredLength >= 0 && body.size() != declaredLength) {
+                throw new IOException("Request body is shorter than its Content-Length");
+            }
+            return body.toByteArray();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, separator), UTF_8.name()),
+                        URLDecoder.decode(parameter.substring(separator + 1), UTF_8.name()));
+            }
+        }
+        return parameters;
+    }
+
+    private interface Endpoint {
+
+        void verifyWebhook(String mode, String verifyToken) throws MessengerVerificationException;
+
+        void verifySignature(byte[] payload, String signature) throws MessengerVerificationException;
+
+        void dispatch(String payload);
+    }
+
+    private static final class WebhookThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        WebhookThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.messenger4j.attachmentupload;
+
+import static com.github.messenger4j.internal.KeyValueFiles.SEPARATOR;
+
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.exception.MessengerIOException;
+import com.github.messenger4j.internal.KeyValueFiles;
+import com.github.messenger4j.send.message.richmedia.RichMediaAsset;
+import com.github.messenger4j.send.message.richmedia.UrlRichMediaAsset;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import lombok.NonNull;
+
+/**
+ * Maps media sources (URLs or content hashes) to the {@code attachment_id} Facebook assigned to them, so that
+ * the same asset is not fetched by Facebook over and over again.
+ * <p>
+ * Attachment IDs are scoped to the page that uploaded them, hence one cache must be used per page.
+ *
+ * @since 1.1.0
+ */
+public final class AttachmentIdCache {
+
+    private final Map<String, String> attachmentIds;
+    private final Map<String, CompletableFuture<Optional<String>>> pendingUploads;
+
+    public static AttachmentIdCache create() {
+        return new AttachmentIdCache();
+    }
+
+    /**
+     * Creates a cache pre-populated with the entries previously written by {@link #save(Path)}.
+     * A non-existing file results in an empty cache.
+     */
+    public static AttachmentIdCache load(@NonNull Path file) throws IOException {
+        final AttachmentIdCache attachmentIdCache = new AttachmentIdCache();
+        attachmentIdCache.attachmentIds.putAll(KeyValueFiles.load(file));
+        return attachmentIdCache;
+    }
+
+    public static String urlKey(@NonNull UrlRichMediaAsset richMediaAsset) {
+        return richMediaAsset.type().name() + SEPARATOR + richMediaAsset.url().toExternalForm();
+    }
+
+    public static String contentHashKey(@NonNull RichMediaAsset.Type type, @NonNull byte[] content) {
+        return type.name() + SEPARATOR + "sha256:" + KeyValueFiles.sha256Hex(content);
+    }
+
+    private AttachmentIdCache() {
+        this.attachmentIds = new ConcurrentHashMap<>();
+        this.pendingUploads = new ConcurrentHashMap<>();
+    }
+
+    public Optional<String> attachmentId(@NonNull String key) {
+        return Optional.ofNullable(attachmentIds.get(key));
+    }
+
+    /**
+     * Returns the cached attachment ID for the given key or obtains it with the given {@code upload}.
+     * <p>
+     * Concurrent calls for the same key are collapsed: only one caller executes its upload, all others wait for
+     * its outcome. If that upload fails, its exception is thrown to all of them, so that a failing upload is not
+     * repeated by every waiting caller. A waiting caller that is interrupted fails with a
+     * {@link MessengerIOException}.
+     */
+    public Optional<String> attachmentId(@NonNull String key, @NonNull Upload upload)
+            throws MessengerApiException, MessengerIOException {
+
+        final String cachedAttachmentId = attachmentIds.get(key);
+        if (cachedAttachmentId != null) {
+            return Optional.of(cachedAttachmentId);
+        }
+
+        final CompletableFuture<Optional<String>> ownUpload = new CompletableFuture<>();
+        final CompletableFuture<Optional<String>> pendingUpload = pendingUploads.putIfAbsent(key, ownUpload);
+        if (pendingUpload != null) {
+            return await(pendingUpload);
+        }
+
+        try {
+            final Optional<String> attachmentId = upload.execute();
+            attachmentId.ifPresent(id -> put(key, id));
+            ownUpload.complete(attachmentId);
+            return attachmentId;
+        } catch (MessengerApiException | MessengerIOException | RuntimeException e) {
+            ownUpload.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingUploads.remove(key, ownUpload);
+            ownUpload.complete(Optional.empty());
+        }
+    }
+
+    public void put(@NonNull String key, @NonNull String attachmentId) {
+        attachmentIds.put(key, attachmentId);
+    }
+
+    public void remove(@NonNull String key) {
+        attachmentIds.remove(key);
+    }
+
+    public int size() {
+        return attachmentIds.size();
+    }
+
+    /**
+     * Writes all entries to the given file. The file is replaced atomically, so a concurrent {@link #load(Path)}
+     * never observes a partially written cache.
+     */
+    public void save(@NonNull Path file) throws IOException {
+        KeyValueFiles.save(file, attachmentIds);
+    }
+
+    private Optional<String> await(CompletableFuture<Optional<String>> pendingUpload)
+            throws MessengerApiException, MessengerIOException {
+
+        try {
+            return pendingUpload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessengerIOException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof MessengerApiException) {
+                throw (MessengerApiException) cause;
+            }
+            if (cause instanceof MessengerIOException) {
+                throw (MessengerIOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new MessengerIOException(cause);
+        }
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    @FunctionalInterface
+    public interface Upload {
+
+        Optional<String> execute() throws MessengerApiException, MessengerIOException;
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.messenger4j.attachmentupload;
+
+import static java.util.Optional.of;
+
+import com.github.messenger4j.send.message.Message;
+import com.github.messenger4j.send.message.RichMediaMessage;
+import com.github.messenger4j.send.message.richmedia.UrlRichMediaAsset;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class AttachmentUploadPayload {
+
+    private final Message message;
+
+    public static AttachmentUploadPayload create(@NonNull UrlRichMediaAsset richMediaAsset) {
+        final UrlRichMediaAsset reusableAsset = UrlRichMediaAsset.create(richMediaAsset.type(), richMediaAsset.url(), of(true));
+        return new AttachmentUploadPayload(RichMediaMessage.create(reusableAsset));
+    }
+
+    private AttachmentUploadPayload(Message message) {
+        this.message = message;
+    }
+
+    public Message message() {
+        return message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.messenger4j.attachmentupload;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class AttachmentUploadResponse {
+
+    private final String attachmentId;
+
+    public AttachmentUploadResponse(@NonNull String attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    public String attachmentId() {
+        return attachmentId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.messenger4j.attachmentupload;
+
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ATTACHMENT_ID;
+import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+
+import com.google.gson.JsonObject;
+
+/**
+ * @since 1.1.0
+ */
+public final class AttachmentUploadResponseFactory {
+
+    private AttachmentUploadResponseFactory() {
+    }
+
+    public static AttachmentUploadResponse create(JsonObject jsonObject) {
+        final String attachmentId = getPropertyAsString(jsonObject, PROP_ATTACHMENT_ID)
+                .orElseThrow(IllegalArgumentException::new);
+        return new AttachmentUploadResponse(attachmentId);
+    }
+}
@@ -5,9 +5,9 @@ import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ERROR
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_FB_TRACE_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TYPE;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInt;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.google.gson.JsonObject;
 import java.util.Optional;
 
@@ -17,15 +17,19 @@ import java.util.Optional;
  */
 public final class MessengerApiExceptionFactory {
 
+    private static final PropertyPath ERROR_MESSAGE = path(PROP_ERROR, PROP_MESSAGE);
+    private static final PropertyPath ERROR_TYPE = path(PROP_ERROR, PROP_TYPE);
+    private static final PropertyPath ERROR_CODE = path(PROP_ERROR, PROP_CODE);
+    private static final PropertyPath ERROR_FB_TRACE_ID = path(PROP_ERROR, PROP_FB_TRACE_ID);
+
     private MessengerApiExceptionFactory() {
     }
 
     public static MessengerApiException create(JsonObject jsonObject) {
-        final String message = getPropertyAsString(jsonObject, PROP_ERROR, PROP_MESSAGE)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> type = getPropertyAsString(jsonObject, PROP_ERROR, PROP_TYPE);
-        final Optional<Integer> code = getPropertyAsInt(jsonObject, PROP_ERROR, PROP_CODE);
-        final Optional<String> fbTraceId = getPropertyAsString(jsonObject, PROP_ERROR, PROP_FB_TRACE_ID);
+        final String message = ERROR_MESSAGE.requireString(jsonObject);
+        final Optional<String> type = ERROR_TYPE.getAsOptionalString(jsonObject);
+        final Optional<Integer> code = ERROR_CODE.getAsOptionalInt(jsonObject);
+        final Optional<String> fbTraceId = ERROR_FB_TRACE_ID.getAsOptionalString(jsonObject);
         return new MessengerApiException(message, type, code, fbTraceId);
     }
 }
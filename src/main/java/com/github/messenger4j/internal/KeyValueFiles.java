@@ -0,0 +1,91 @@
+package com.github.messenger4j.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the small key-value files of the persistent caches: one tab-separated entry per line, with
+ * the value after the last tab, so that keys may contain tabs themselves.
+ *
+ * @since 1.1.0
+ */
+public final class KeyValueFiles {
+
+    public static final char SEPARATOR = '\t';
+
+    private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
+
+    private KeyValueFiles() {
+    }
+
+    /**
+     * @return the entries previously written by {@link #save(Path, Map)}, or an empty map if the file does not exist
+     */
+    public static Map<String, String> load(Path file) throws IOException {
+        final Map<String, String> entries = new HashMap<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separatorIndex = line.lastIndexOf(SEPARATOR);
+                if (separatorIndex > 0 && separatorIndex < line.length() - 1) {
+                    entries.put(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the given entries to the given file. The file is replaced atomically, so a concurrent
+     * {@link #load(Path)} never observes a partially written file.
+     */
+    public static void save(Path file, Map<String, String> entries) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * @return the hex encoded SHA-256 hash of the given content
+     */
+    public static String sha256Hex(byte[] content) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            final char[] hexChars = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                final int v = hash[i] & 0xFF;
+                hexChars[i * 2] = HEX_ARRAY[v >>> 4];
+                hexChars[i * 2 + 1] = HEX_ARRAY[v & 0x0F];
+            }
+            return new String(hexChars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
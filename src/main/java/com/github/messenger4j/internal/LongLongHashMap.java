@@ -0,0 +1,111 @@
+package com.github.messenger4j.internal;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from {@code long} to {@code long} without boxing. {@link Long#MIN_VALUE} is reserved
+ * and can not be used as key. Not thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class LongLongHashMap {
+
+    private static final long FREE_KEY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int resizeThreshold;
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public long get(long key, long defaultValue) {
+        final int index = indexOf(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public void put(long key, long value) {
+        if (key == FREE_KEY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE can not be used as key");
+        }
+        final int index = indexOf(key);
+        if (keys[index] == key) {
+            values[index] = value;
+            return;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Invokes the given consumer for every entry, in no particular order.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        final int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != FREE_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                final int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE_KEY);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        final long minimumCapacity = Math.max(16, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (minimumCapacity > 1 << 30) {
+            throw new IllegalArgumentException("expectedSize is too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) minimumCapacity - 1) << 1;
+    }
+
+    private static int mix(long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long key, long value);
+    }
+}
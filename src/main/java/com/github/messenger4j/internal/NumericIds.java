@@ -0,0 +1,35 @@
+package com.github.messenger4j.internal;
+
+/**
+ * @since 1.1.0
+ */
+public final class NumericIds {
+
+    public static final long NOT_NUMERIC = -1;
+
+    private NumericIds() {
+    }
+
+    /**
+     * @return the value of the given ID if it is the canonical decimal representation of a non-negative
+     * {@code long}, otherwise {@link #NOT_NUMERIC}, so that {@link Long#toString(long)} restores the ID exactly
+     */
+    public static long parse(String id) {
+        if (id == null) {
+            return NOT_NUMERIC;
+        }
+        final int length = id.length();
+        if (length == 0 || length > 18 || (length > 1 && id.charAt(0) == '0')) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.messenger4j.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out permits evenly so that at most the given number of permits per second is handed out, across all
+ * threads. Permits are not accumulated while idle, hence there are no bursts.
+ *
+ * @since 1.1.0
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextPermitNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nextPermitNanos = System.nanoTime();
+    }
+
+    /**
+     * Blocks until the next permit is available.
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos;
+        synchronized (this) {
+            final long nowNanos = System.nanoTime();
+            final long permitNanos = Math.max(nowNanos, nextPermitNanos);
+            nextPermitNanos = permitNanos + intervalNanos;
+            waitNanos = permitNanos - nowNanos;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -123,6 +123,7 @@ public final class GsonUtil {
         PROP_CODE("code"),
         PROP_FB_TRACE_ID("fbtrace_id"),
         PROP_RESULT("result"),
+        PROP_DATA("data"),
         PROP_FIRST_NAME("first_name"),
         PROP_LAST_NAME("last_name"),
         PROP_PROFILE_PIC("profile_pic"),
@@ -152,7 +153,7 @@ public final class GsonUtil {
             this.value = value;
         }
 
-        String value() {
+        public String value() {
             return value;
         }
     }
@@ -0,0 +1,132 @@
+package com.github.messenger4j.internal.gson;
+
+import com.github.messenger4j.internal.gson.GsonUtil.Constants;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Optional;
+
+/**
+ * A precompiled path to a (nested) property, to be held in a constant.
+ * <p>
+ * Unlike the {@link GsonUtil} accessors, lookups neither allocate a varargs array nor an {@code Optional}: absent
+ * properties are reported as {@code null} or as the given default value, and primitives are returned unboxed. The
+ * {@code require*} variants throw an {@link IllegalArgumentException} if the property is absent.
+ *
+ * @since 1.1.0
+ */
+public final class PropertyPath {
+
+    private final String[] names;
+
+    private PropertyPath(String[] names) {
+        this.names = names;
+    }
+
+    public static PropertyPath path(Constants... propertyPath) {
+        if (propertyPath.length == 0) {
+            throw new IllegalArgumentException("propertyPath must not be empty");
+        }
+        final String[] names = new String[propertyPath.length];
+        for (int i = 0; i < propertyPath.length; i++) {
+            names[i] = propertyPath[i].value();
+        }
+        return new PropertyPath(names);
+    }
+
+    /**
+     * @return the property, or {@code null} if it is absent or JSON {@code null}
+     */
+    public JsonElement get(JsonObject jsonObject) {
+        JsonObject internalValue = jsonObject;
+        final int last = names.length - 1;
+        for (int i = 0; i < last; i++) {
+            final JsonElement property = internalValue.get(names[i]);
+            if (!(property instanceof JsonObject)) {
+                return null;
+            }
+            internalValue = (JsonObject) property;
+        }
+        final JsonElement property = internalValue.get(names[last]);
+        return property == null || property.isJsonNull() ? null : property;
+    }
+
+    public boolean isPresent(JsonObject jsonObject) {
+        return get(jsonObject) != null;
+    }
+
+    public String getAsString(JsonObject jsonObject) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? null : property.getAsString();
+    }
+
+    public Optional<String> getAsOptionalString(JsonObject jsonObject) {
+        return Optional.ofNullable(getAsString(jsonObject));
+    }
+
+    public String requireString(JsonObject jsonObject) {
+        return require(jsonObject).getAsString();
+    }
+
+    public int getAsInt(JsonObject jsonObject, int defaultValue) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? defaultValue : property.getAsInt();
+    }
+
+    public Optional<Integer> getAsOptionalInt(JsonObject jsonObject) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? Optional.empty() : Optional.of(property.getAsInt());
+    }
+
+    public long getAsLong(JsonObject jsonObject, long defaultValue) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? defaultValue : property.getAsLong();
+    }
+
+    public long requireLong(JsonObject jsonObject) {
+        return require(jsonObject).getAsLong();
+    }
+
+    public float requireFloat(JsonObject jsonObject) {
+        return require(jsonObject).getAsFloat();
+    }
+
+    public double requireDouble(JsonObject jsonObject) {
+        return require(jsonObject).getAsDouble();
+    }
+
+    public boolean requireBoolean(JsonObject jsonObject) {
+        return require(jsonObject).getAsBoolean();
+    }
+
+    public JsonObject getAsJsonObject(JsonObject jsonObject) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? null : property.getAsJsonObject();
+    }
+
+    public JsonObject requireJsonObject(JsonObject jsonObject) {
+        return require(jsonObject).getAsJsonObject();
+    }
+
+    public JsonArray getAsJsonArray(JsonObject jsonObject) {
+        final JsonElement property = get(jsonObject);
+        return property == null ? null : property.getAsJsonArray();
+    }
+
+    public JsonArray requireJsonArray(JsonObject jsonObject) {
+        return require(jsonObject).getAsJsonArray();
+    }
+
+    private JsonElement require(JsonObject jsonObject) {
+        final JsonElement property = get(jsonObject);
+        if (property == null) {
+            throw new IllegalArgumentException("property '" + String.join(".", names) + "' is missing");
+        }
+        return property;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(".", names);
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.messenger4j.internal.jfr;
+
+/**
+ * Emits the custom Java Flight Recorder events of messenger4j. Obtained from {@link FlightRecorderSupport}, which
+ * falls back to an implementation doing nothing if the runtime has no JFR.
+ * <p>
+ * Every {@code begin} method returns a started event if the event type is enabled in a running recording, and a
+ * shared no-op otherwise, so the cost of disabled events is a single check.
+ *
+ * @since 1.1.0
+ */
+public interface FlightRecorderEvents {
+
+    /**
+     * @return {@code true} if any messenger4j event is enabled in a running recording
+     */
+    boolean isEnabled();
+
+    WebhookReceive beginWebhookReceive();
+
+    EventDispatch beginEventDispatch();
+
+    GraphApiRequest beginGraphApiRequest();
+
+    /**
+     * @since 1.1.0
+     */
+    interface WebhookReceive {
+
+        boolean shouldCommit();
+
+        void commit(int payloadSize, int eventCount, long signatureNanos, long parsingNanos);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    interface EventDispatch {
+
+        boolean shouldCommit();
+
+        void commit(String eventType);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    interface GraphApiRequest {
+
+        /**
+         * Marks the end of the request, before the response is processed.
+         */
+        void end();
+
+        void commit(String endpoint, String method, int statusCode, int errorCode, String fbTraceId, String outcome);
+    }
+}
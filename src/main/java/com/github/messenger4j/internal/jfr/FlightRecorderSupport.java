@@ -0,0 +1,40 @@
+package com.github.messenger4j.internal.jfr;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Provides the {@link FlightRecorderEvents} of the running JVM.
+ * <p>
+ * The JFR implementation is loaded reflectively, so that messenger4j links and runs on Java 8 runtimes without the
+ * {@code jdk.jfr} API (it is available since 8u262 and in Java 11+). On those runtimes no events are emitted.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class FlightRecorderSupport {
+
+    private static final String JFR_EVENTS_CLASS_NAME = "com.github.messenger4j.internal.jfr.JfrFlightRecorderEvents";
+    private static final FlightRecorderEvents EVENTS = load();
+
+    private FlightRecorderSupport() {
+    }
+
+    public static FlightRecorderEvents events() {
+        return EVENTS;
+    }
+
+    private static FlightRecorderEvents load() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, FlightRecorderSupport.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("Java Flight Recorder is not available, hence no JFR events are emitted");
+            return NoopFlightRecorderEvents.INSTANCE;
+        }
+        try {
+            return (FlightRecorderEvents) Class.forName(JFR_EVENTS_CLASS_NAME).newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.debug("Registering the JFR events failed, hence no JFR events are emitted", e);
+            return NoopFlightRecorderEvents.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.messenger4j.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The JFR backed {@link FlightRecorderEvents}. Only loaded by {@link FlightRecorderSupport} if the runtime provides
+ * the {@code jdk.jfr} API.
+ *
+ * @since 1.1.0
+ */
+final class JfrFlightRecorderEvents implements FlightRecorderEvents {
+
+    private final EventType webhookReceiveType = EventType.getEventType(WebhookReceiveEvent.class);
+    private final EventType eventDispatchType = EventType.getEventType(EventDispatchEvent.class);
+    private final EventType graphApiRequestType = EventType.getEventType(GraphApiRequestEvent.class);
+
+    JfrFlightRecorderEvents() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return webhookReceiveType.isEnabled() || eventDispatchType.isEnabled() || graphApiRequestType.isEnabled();
+    }
+
+    @Override
+    public WebhookReceive beginWebhookReceive() {
+        if (!webhookReceiveType.isEnabled()) {
+            return NoopFlightRecorderEvents.INSTANCE;
+        }
+        final WebhookReceiveEvent event = new WebhookReceiveEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public EventDispatch beginEventDispatch() {
+        if (!eventDispatchType.isEnabled()) {
+            return NoopFlightRecorderEvents.INSTANCE;
+        }
+        final EventDispatchEvent event = new EventDispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public GraphApiRequest beginGraphApiRequest() {
+        if (!graphApiRequestType.isEnabled()) {
+            return NoopFlightRecorderEvents.INSTANCE;
+        }
+        final GraphApiRequestEvent event = new GraphApiRequestEvent();
+        event.begin();
+        return event;
+    }
+
+    @Name("messenger4j.WebhookReceive")
+    @Label("Webhook Receive")
+    @Description("Signature verification and parsing of a webhook request")
+    @Category("messenger4j")
+    @StackTrace(false)
+    static final class WebhookReceiveEvent extends Event implements WebhookReceive {
+
+        @Label("Payload Size")
+        @DataAmount
+        int payloadSize;
+
+        @Label("Event Count")
+        int eventCount;
+
+        @Label("Signature Verification Time")
+        @Timespan
+        long signatureTime;
+
+        @Label("Parse Time")
+        @Timespan
+        long parseTime;
+
+        @Override
+        public void commit(int payloadSize, int eventCount, long signatureNanos, long parsingNanos) {
+            this.payloadSize = payloadSize;
+            this.eventCount = eventCount;
+            this.signatureTime = signatureNanos;
+            this.parseTime = parsingNanos;
+            commit();
+        }
+    }
+
+    @Name("messenger4j.EventDispatch")
+    @Label("Event Dispatch")
+    @Description("Handling of a webhook event by the event handler")
+    @Category("messenger4j")
+    @StackTrace(false)
+    static final class EventDispatchEvent extends Event implements EventDispatch {
+
+        @Label("Event Type")
+        String eventType;
+
+        @Override
+        public void commit(String eventType) {
+            this.eventType = eventType;
+            commit();
+        }
+    }
+
+    @Name("messenger4j.GraphApiRequest")
+    @Label("Graph API Request")
+    @Description("A request to the Graph API, like a send or a user profile query")
+    @Category("messenger4j")
+    @StackTrace(false)
+    static final class GraphApiRequestEvent extends Event implements GraphApiRequest {
+
+        @Label("Endpoint")
+        String endpoint;
+
+        @Label("Method")
+        String method;
+
+        @Label("Status Code")
+        int statusCode;
+
+        @Label("Graph API Error Code")
+        int errorCode;
+
+        @Label("Facebook Trace ID")
+        String fbTraceId;
+
+        @Label("Outcome")
+        String outcome;
+
+        @Override
+        public void commit(String endpoint, String method, int statusCode, int errorCode, String fbTraceId,
+                           String outcome) {
+            this.endpoint = endpoint;
+            this.method = method;
+            this.statusCode = statusCode;
+            this.errorCode = errorCode;
+            this.fbTraceId = fbTraceId;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
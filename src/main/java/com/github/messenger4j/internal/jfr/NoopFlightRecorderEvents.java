@@ -0,0 +1,55 @@
+package com.github.messenger4j.internal.jfr;
+
+/**
+ * @since 1.1.0
+ */
+final class NoopFlightRecorderEvents implements FlightRecorderEvents, FlightRecorderEvents.WebhookReceive,
+        FlightRecorderEvents.EventDispatch, FlightRecorderEvents.GraphApiRequest {
+
+    static final NoopFlightRecorderEvents INSTANCE = new NoopFlightRecorderEvents();
+
+    private NoopFlightRecorderEvents() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public WebhookReceive beginWebhookReceive() {
+        return this;
+    }
+
+    @Override
+    public EventDispatch beginEventDispatch() {
+        return this;
+    }
+
+    @Override
+    public GraphApiRequest beginGraphApiRequest() {
+        return this;
+    }
+
+    @Override
+    public boolean shouldCommit() {
+        return false;
+    }
+
+    @Override
+    public void commit(int payloadSize, int eventCount, long signatureNanos, long parsingNanos) {
+    }
+
+    @Override
+    public void commit(String eventType) {
+    }
+
+    @Override
+    public void end() {
+    }
+
+    @Override
+    public void commit(String endpoint, String method, int statusCode, int errorCode, String fbTraceId,
+                       String outcome) {
+    }
+}
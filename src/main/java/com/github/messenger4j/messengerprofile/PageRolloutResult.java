@@ -0,0 +1,61 @@
+package com.github.messenger4j.messengerprofile;
+
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of rolling out {@link MessengerSettings} to a single page.
+ * <p>
+ * Exactly one of {@link #setupResponse()} and {@link #failure()} is present, unless the page was
+ * {@link #isSkipped() skipped}.
+ *
+ * @since 1.1.0
+ */
+@ToString(exclude = "pageAccessToken")
+@EqualsAndHashCode
+public final class PageRolloutResult {
+
+    private final String pageAccessToken;
+    private final boolean skipped;
+    private final int attempts;
+    private final Optional<SetupResponse> setupResponse;
+    private final Optional<Exception> failure;
+
+    public PageRolloutResult(@NonNull String pageAccessToken, boolean skipped, int attempts,
+                             @NonNull Optional<SetupResponse> setupResponse, @NonNull Optional<Exception> failure) {
+        this.pageAccessToken = pageAccessToken;
+        this.skipped = skipped;
+        this.attempts = attempts;
+        this.setupResponse = setupResponse;
+        this.failure = failure;
+    }
+
+    public String pageAccessToken() {
+        return pageAccessToken;
+    }
+
+    /**
+     * @return {@code true} if the checkpoint showed that the same settings were already rolled out to this page
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+
+    public Optional<SetupResponse> setupResponse() {
+        return setupResponse;
+    }
+
+    public Optional<Exception> failure() {
+        return failure;
+    }
+
+    public boolean isSuccessful() {
+        return !failure.isPresent();
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.messenger4j.messengerprofile;
+
+/**
+ * Receives the result of every page as soon as its rollout is finished. Invocations are serialized, hence
+ * implementations need not be thread-safe.
+ *
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface RolloutProgressListener {
+
+    void onPageCompleted(PageRolloutResult pageResult, int completedCount, int totalCount);
+}
@@ -0,0 +1,73 @@
+package com.github.messenger4j.messengerprofile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.github.messenger4j.internal.KeyValueFiles;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * Remembers a content hash of the {@link MessengerSettings} last synchronized per page, so that
+ * {@code Messenger#syncSettings} can skip pages whose desired settings did not change.
+ * <p>
+ * Pages are identified by a hash of their page access token, hence the raw tokens are never written to disk.
+ *
+ * @since 1.1.0
+ */
+public final class SettingsHashStore {
+
+    private final Map<String, String> settingsHashes;
+
+    public static SettingsHashStore create() {
+        return new SettingsHashStore();
+    }
+
+    /**
+     * Creates a store pre-populated with the entries previously written by {@link #save(Path)}.
+     * A non-existing file results in an empty store.
+     */
+    public static SettingsHashStore load(@NonNull Path file) throws IOException {
+        final SettingsHashStore settingsHashStore = new SettingsHashStore();
+        settingsHashStore.settingsHashes.putAll(KeyValueFiles.load(file));
+        return settingsHashStore;
+    }
+
+    /**
+     * @return the hex encoded SHA-256 hash of the given content
+     */
+    public static String contentHash(@NonNull String content) {
+        return KeyValueFiles.sha256Hex(content.getBytes(UTF_8));
+    }
+
+    private SettingsHashStore() {
+        this.settingsHashes = new ConcurrentHashMap<>();
+    }
+
+    public Optional<String> settingsHash(@NonNull String pageKey) {
+        return Optional.ofNullable(settingsHashes.get(pageKey));
+    }
+
+    public void put(@NonNull String pageKey, @NonNull String settingsHash) {
+        settingsHashes.put(pageKey, settingsHash);
+    }
+
+    public void remove(@NonNull String pageKey) {
+        settingsHashes.remove(pageKey);
+    }
+
+    public int size() {
+        return settingsHashes.size();
+    }
+
+    /**
+     * Writes all entries to the given file. The file is replaced atomically, so a concurrent {@link #load(Path)}
+     * never observes a partially written store.
+     */
+    public void save(@NonNull Path file) throws IOException {
+        KeyValueFiles.save(file, settingsHashes);
+    }
+}
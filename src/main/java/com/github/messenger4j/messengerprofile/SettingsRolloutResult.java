@@ -0,0 +1,39 @@
+package com.github.messenger4j.messengerprofile;
+
+import com.github.messenger4j.internal.Lists;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of rolling out {@link MessengerSettings} to many pages, with one {@link PageRolloutResult} per page.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class SettingsRolloutResult {
+
+    private final List<PageRolloutResult> pageResults;
+
+    public SettingsRolloutResult(@NonNull List<PageRolloutResult> pageResults) {
+        this.pageResults = Lists.immutableList(pageResults);
+    }
+
+    public List<PageRolloutResult> pageResults() {
+        return pageResults;
+    }
+
+    public long successCount() {
+        return pageResults.stream().filter(result -> result.isSuccessful() && !result.isSkipped()).count();
+    }
+
+    public long skippedCount() {
+        return pageResults.stream().filter(PageRolloutResult::isSkipped).count();
+    }
+
+    public long failureCount() {
+        return pageResults.stream().filter(result -> !result.isSuccessful()).count();
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.messenger4j.messengerprofile;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of synchronizing the desired {@link MessengerSettings} of a page.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class SettingsSyncResponse {
+
+    private final boolean skipped;
+    private final Set<MessengerSettingProperty> updatedProperties;
+    private final Set<MessengerSettingProperty> deletedProperties;
+
+    public SettingsSyncResponse(boolean skipped, @NonNull Set<MessengerSettingProperty> updatedProperties,
+                                @NonNull Set<MessengerSettingProperty> deletedProperties) {
+        this.skipped = skipped;
+        this.updatedProperties = unmodifiableSet(copyOf(updatedProperties));
+        this.deletedProperties = unmodifiableSet(copyOf(deletedProperties));
+    }
+
+    /**
+     * @return {@code true} if the desired settings did not change since the last synchronization, hence no request
+     * was sent at all
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public Set<MessengerSettingProperty> updatedProperties() {
+        return updatedProperties;
+    }
+
+    public Set<MessengerSettingProperty> deletedProperties() {
+        return deletedProperties;
+    }
+
+    private static Set<MessengerSettingProperty> copyOf(Set<MessengerSettingProperty> properties) {
+        return properties.isEmpty() ? EnumSet.noneOf(MessengerSettingProperty.class) : EnumSet.copyOf(properties);
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.messenger4j.metrics;
+
+import com.github.messenger4j.spi.GraphApiRequestOutcome;
+import com.github.messenger4j.spi.GraphApiRequestOutcome.Result;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+
+/**
+ * Keeps the Graph API request outcomes of a rolling time window: latency histograms per endpoint and
+ * {@link Result}, and the slowest requests with their {@code fbtrace_id}, so that slow or failing requests can be
+ * reported to the Facebook support with evidence.
+ * <p>
+ * The window is divided into ten slices that are discarded as a whole, so the covered time varies between nine
+ * tenths of the window and the full window.
+ *
+ * @since 1.1.0
+ */
+public final class GraphApiRequestLog {
+
+    private static final int SLICE_COUNT = 10;
+    private static final Comparator<GraphApiRequestOutcome> BY_LATENCY =
+            Comparator.comparing(GraphApiRequestOutcome::latency);
+
+    private final long sliceMillis;
+    private final int slowestRequestCount;
+    private final Clock clock;
+    private final AtomicReferenceArray<Slice> slices;
+
+    public static GraphApiRequestLog create(@NonNull Duration window, int slowestRequestCount) {
+        return create(window, slowestRequestCount, Clock.systemUTC());
+    }
+
+    public static GraphApiRequestLog create(@NonNull Duration window, int slowestRequestCount,
+                                            @NonNull Clock clock) {
+        if (window.toMillis() < SLICE_COUNT) {
+            throw new IllegalArgumentException("window must be at least " + SLICE_COUNT + " ms");
+        }
+        if (slowestRequestCount < 0) {
+            throw new IllegalArgumentException("slowestRequestCount must not be negative");
+        }
+        return new GraphApiRequestLog(window, slowestRequestCount, clock);
+    }
+
+    private GraphApiRequestLog(Duration window, int slowestRequestCount, Clock clock) {
+        this.sliceMillis = window.toMillis() / SLICE_COUNT;
+        this.slowestRequestCount = slowestRequestCount;
+        this.clock = clock;
+        this.slices = new AtomicReferenceArray<>(SLICE_COUNT);
+    }
+
+    public void record(@NonNull GraphApiRequestOutcome outcome) {
+        final Slice slice = currentSlice();
+        slice.latencies.computeIfAbsent(new LatencyKey(outcome.endpoint(), outcome.result()),
+                key -> new LogLinearHistogram()).record(outcome.latency().toNanos());
+        slice.offer(outcome, slowestRequestCount);
+    }
+
+    /**
+     * @return the endpoints with requests in the current window
+     */
+    public SortedSet<String> endpoints() {
+        final SortedSet<String> endpoints = new TreeSet<>();
+        for (Slice slice : liveSlices()) {
+            slice.latencies.keySet().forEach(key -> endpoints.add(key.endpoint));
+        }
+        return endpoints;
+    }
+
+    /**
+     * @return the latencies in nanoseconds of the requests in the current window with the given endpoint and result
+     */
+    public HistogramSnapshot latency(@NonNull String endpoint, @NonNull Result result) {
+        final LatencyKey key = new LatencyKey(endpoint, result);
+        final List<LogLinearHistogram> histograms = new ArrayList<>();
+        for (Slice slice : liveSlices()) {
+            final LogLinearHistogram histogram = slice.latencies.get(key);
+            if (histogram != null) {
+                histograms.add(histogram);
+            }
+        }
+        return LogLinearHistogram.merge(histograms);
+    }
+
+    /**
+     * @return the slowest requests in the current window, slowest first
+     */
+    public List<GraphApiRequestOutcome> slowestRequests() {
+        final List<GraphApiRequestOutcome> requests = new ArrayList<>();
+        for (Slice slice : liveSlices()) {
+            synchronized (slice) {
+                requests.addAll(slice.slowestRequests);
+            }
+        }
+        requests.sort(BY_LATENCY.reversed());
+        return requests.size() > slowestRequestCount
+                ? new ArrayList<>(requests.subList(0, slowestRequestCount)) : requests;
+    }
+
+    /**
+     * Renders the latency percentiles (in milliseconds) per endpoint and result, followed by the slowest requests.
+     */
+    public String report() {
+        final StringBuilder report = new StringBuilder(String.format("%-20s %-10s %8s %10s %10s %10s %10s%n",
+                "Endpoint", "Result", "Count", "p50", "p99", "p99.9", "Max"));
+        for (String endpoint : endpoints()) {
+            for (Result result : Result.values()) {
+                final HistogramSnapshot latency = latency(endpoint, result);
+                if (latency.count() > 0) {
+                    report.append(String.format("%-20s %-10s %8d %10.2f %10.2f %10.2f %10.2f%n", endpoint, result,
+                            latency.count(), millis(latency.valueAtPercentile(50)),
+                            millis(latency.valueAtPercentile(99)), millis(latency.valueAtPercentile(99.9)),
+                            millis(latency.max())));
+                }
+            }
+        }
+        final List<GraphApiRequestOutcome> slowestRequests = slowestRequests();
+        if (!slowestRequests.isEmpty()) {
+            report.append(String.format("%nSlowest requests:%n"));
+            for (GraphApiRequestOutcome request : slowestRequests) {
+                report.append(String.format("%s %-20s %-6s %-10s status=%-4s code=%-5s fbtrace_id=%-14s %10.2f ms%n",
+                        request.completedAt(), request.endpoint(), request.httpMethod(), request.result(),
+                        request.statusCode().map(String::valueOf).orElse("-"),
+                        request.errorCode().map(String::valueOf).orElse("-"), request.fbTraceId().orElse("-"),
+                        millis(request.latency().toNanos())));
+            }
+        }
+        return report.toString();
+    }
+
+    private Slice currentSlice() {
+        final long sliceNumber = clock.millis() / sliceMillis;
+        final int index = (int) (sliceNumber % SLICE_COUNT);
+        while (true) {
+            final Slice slice = slices.get(index);
+            if (slice != null && slice.number >= sliceNumber) {
+                return slice;
+            }
+            final Slice newSlice = new Slice(sliceNumber);
+            if (slices.compareAndSet(index, slice, newSlice)) {
+                return newSlice;
+            }
+        }
+    }
+
+    private List<Slice> liveSlices() {
+        final long currentSliceNumber = clock.millis() / sliceMillis;
+        final List<Slice> liveSlices = new ArrayList<>(SLICE_COUNT);
+        for (int i = 0; i < SLICE_COUNT; i++) {
+            final Slice slice = slices.get(i);
+            if (slice != null && slice.number > currentSliceNumber - SLICE_COUNT) {
+                liveSlices.add(slice);
+            }
+        }
+        return liveSlices;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Slice {
+
+        private final long number;
+        private final ConcurrentMap<LatencyKey, LogLinearHistogram> latencies = new ConcurrentHashMap<>();
+        private final PriorityQueue<GraphApiRequestOutcome> slowestRequests = new PriorityQueue<>(BY_LATENCY);
+
+        private Slice(long number) {
+            this.number = number;
+        }
+
+        private synchronized void offer(GraphApiRequestOutcome outcome, int limit) {
+            if (slowestRequests.size() < limit) {
+                slowestRequests.add(outcome);
+            } else if (limit > 0 && BY_LATENCY.compare(outcome, slowestRequests.peek()) > 0) {
+                slowestRequests.poll();
+                slowestRequests.add(outcome);
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class LatencyKey {
+
+        private final String endpoint;
+        private final Result result;
+
+        private LatencyKey(String endpoint, Result result) {
+            this.endpoint = endpoint;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.messenger4j.metrics;
+
+import lombok.ToString;
+
+/**
+ * A point-in-time view of a timer or histogram recorded by {@link InMemoryMessengerMetrics}. Timer values are in
+ * nanoseconds.
+ *
+ * @since 1.1.0
+ */
+@ToString(exclude = {"upperBounds", "cumulativeCounts"})
+public final class HistogramSnapshot {
+
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+    private final long[] upperBounds;
+    private final long[] cumulativeCounts;
+
+    HistogramSnapshot(long count, long sum, long min, long max, long[] upperBounds, long[] cumulativeCounts) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.upperBounds = upperBounds;
+        this.cumulativeCounts = cumulativeCounts;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public long min() {
+        return min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the highest value that is equivalent (within the precision of the histogram) to the value at the
+     * given percentile, or {@code 0} if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        for (int i = 0; i < cumulativeCounts.length; i++) {
+            if (cumulativeCounts[i] >= rank) {
+                return Math.max(min, Math.min(upperBounds[i], max));
+            }
+        }
+        return max;
+    }
+}
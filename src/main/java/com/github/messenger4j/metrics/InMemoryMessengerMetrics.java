@@ -0,0 +1,158 @@
+package com.github.messenger4j.metrics;
+
+import static java.util.Optional.empty;
+
+import com.github.messenger4j.spi.GraphApiRequestOutcome;
+import com.github.messenger4j.spi.MessengerMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * {@link MessengerMetrics} that keep every measurement in memory, to be read programmatically or scraped as text.
+ * Timers and histograms are backed by a log-linear histogram with a relative precision of about 3%. The outcomes of
+ * the Graph API requests are kept in a {@link GraphApiRequestLog}.
+ *
+ * @since 1.1.0
+ */
+public final class InMemoryMessengerMetrics implements MessengerMetrics {
+
+    private static final double[] SCRAPED_PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentMap<String, InMemoryCounter> counters;
+    private final ConcurrentMap<String, InMemoryHistogram> histograms;
+    private final GraphApiRequestLog requestLog;
+
+    /**
+     * Creates metrics keeping the outcomes of the Graph API requests of the last five minutes and the ten slowest
+     * of these requests.
+     */
+    public static InMemoryMessengerMetrics create() {
+        return create(GraphApiRequestLog.create(Duration.ofMinutes(5), 10));
+    }
+
+    public static InMemoryMessengerMetrics create(@NonNull GraphApiRequestLog requestLog) {
+        return new InMemoryMessengerMetrics(requestLog);
+    }
+
+    private InMemoryMessengerMetrics(GraphApiRequestLog requestLog) {
+        this.counters = new ConcurrentSkipListMap<>();
+        this.histograms = new ConcurrentSkipListMap<>();
+        this.requestLog = requestLog;
+    }
+
+    @Override
+    public Counter counter(@NonNull String name, @NonNull String... tags) {
+        return counters.computeIfAbsent(key(name, tags), k -> new InMemoryCounter());
+    }
+
+    @Override
+    public Timer timer(@NonNull String name, @NonNull String... tags) {
+        return histograms.computeIfAbsent(key(name, tags), k -> new InMemoryHistogram());
+    }
+
+    @Override
+    public Histogram histogram(@NonNull String name, @NonNull String... tags) {
+        return histograms.computeIfAbsent(key(name, tags), k -> new InMemoryHistogram());
+    }
+
+    @Override
+    public void requestCompleted(@NonNull GraphApiRequestOutcome outcome) {
+        requestLog.record(outcome);
+    }
+
+    public GraphApiRequestLog requestLog() {
+        return requestLog;
+    }
+
+    /**
+     * @return the value of the counter, or {@code 0} if it was never registered
+     */
+    public long count(@NonNull String name, @NonNull String... tags) {
+        final InMemoryCounter counter = counters.get(key(name, tags));
+        return counter == null ? 0 : counter.value.sum();
+    }
+
+    public Optional<HistogramSnapshot> snapshot(@NonNull String name, @NonNull String... tags) {
+        final InMemoryHistogram histogram = histograms.get(key(name, tags));
+        return histogram == null ? empty() : Optional.of(histogram.histogram.snapshot());
+    }
+
+    /**
+     * Renders all metrics as text, one metric per line and sorted by name, e.g.
+     * <pre>
+     * messenger4j.webhook.events{type="text_message"} count=42
+     * messenger4j.http.requests{endpoint="messages"} count=42 sum=... min=... max=... p50=... p90=... p99=... p99.9=...
+     * </pre>
+     */
+    public String scrape() {
+        final StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, InMemoryCounter> counter : counters.entrySet()) {
+            text.append(counter.getKey()).append(" count=").append(counter.getValue().value.sum()).append('\n');
+        }
+        for (Map.Entry<String, InMemoryHistogram> histogram : histograms.entrySet()) {
+            final HistogramSnapshot snapshot = histogram.getValue().histogram.snapshot();
+            text.append(histogram.getKey())
+                    .append(" count=").append(snapshot.count())
+                    .append(" sum=").append(snapshot.sum())
+                    .append(" min=").append(snapshot.min())
+                    .append(" max=").append(snapshot.max());
+            for (double percentile : SCRAPED_PERCENTILES) {
+                text.append(" p").append(formatPercentile(percentile)).append('=')
+                        .append(snapshot.valueAtPercentile(percentile));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String key(String name, String[] tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("tags must be given as key/value pairs");
+        }
+        if (tags.length == 0) {
+            return name;
+        }
+        final StringBuilder key = new StringBuilder(name).append('{');
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(tags[i]).append("=\"").append(tags[i + 1]).append('"');
+        }
+        return key.append('}').toString();
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static final class InMemoryCounter implements Counter {
+
+        private final LongAdder value = new LongAdder();
+
+        @Override
+        public void increment() {
+            value.increment();
+        }
+
+        @Override
+        public void increment(long amount) {
+            value.add(amount);
+        }
+    }
+
+    private static final class InMemoryHistogram implements Timer, Histogram {
+
+        private final LogLinearHistogram histogram = new LogLinearHistogram();
+
+        @Override
+        public void record(long value) {
+            histogram.record(value);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.messenger4j.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values in the spirit of HdrHistogram.
+ * <p>
+ * Values below {@code 32} are counted exactly. Every higher power-of-two range is split into 32 linear sub-buckets,
+ * so a recorded value is reported with a relative error of at most {@code 1/32} (about 3%) while the whole
+ * {@code long} range fits into a fixed array of 1888 counters. Negative values are recorded as {@code 0}.
+ *
+ * @since 1.1.0
+ */
+final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    void record(long value) {
+        final long effectiveValue = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(effectiveValue));
+        sum.add(effectiveValue);
+        if (effectiveValue < min.get()) {
+            min.accumulateAndGet(effectiveValue, Math::min);
+        }
+        if (effectiveValue > max.get()) {
+            max.accumulateAndGet(effectiveValue, Math::max);
+        }
+    }
+
+    HistogramSnapshot snapshot() {
+        return merge(Collections.singletonList(this));
+    }
+
+    /**
+     * @return a snapshot of the values recorded by all given histograms
+     */
+    static HistogramSnapshot merge(Collection<LogLinearHistogram> histograms) {
+        final long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (LogLinearHistogram histogram : histograms) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                final long bucketCount = histogram.counts.get(i);
+                bucketCounts[i] += bucketCount;
+                count += bucketCount;
+            }
+            sum += histogram.sum.sum();
+            min = Math.min(min, histogram.min.get());
+            max = Math.max(max, histogram.max.get());
+        }
+        if (count == 0) {
+            return new HistogramSnapshot(0, 0, 0, 0, new long[0], new long[0]);
+        }
+
+        int nonEmptyBuckets = 0;
+        for (long bucketCount : bucketCounts) {
+            if (bucketCount > 0) {
+                nonEmptyBuckets++;
+            }
+        }
+        final long[] upperBounds = new long[nonEmptyBuckets];
+        final long[] cumulativeCounts = new long[nonEmptyBuckets];
+        long cumulativeCount = 0;
+        for (int i = 0, j = 0; i < BUCKET_COUNT; i++) {
+            if (bucketCounts[i] > 0) {
+                cumulativeCount += bucketCounts[i];
+                upperBounds[j] = highestEquivalentValue(i);
+                cumulativeCounts[j] = cumulativeCount;
+                j++;
+            }
+        }
+        return new HistogramSnapshot(count, sum, min, max, upperBounds, cumulativeCounts);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestEquivalentValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        final int exponent = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        final long subBucket = (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final long lowestValue = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowestValue + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -3,8 +3,9 @@ package com.github.messenger4j.send;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ATTACHMENT_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGE_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT_ID;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.google.gson.JsonObject;
 import java.util.Optional;
 
@@ -14,13 +15,17 @@ import java.util.Optional;
  */
 public final class MessageResponseFactory {
 
+    private static final PropertyPath RECIPIENT_ID = path(PROP_RECIPIENT_ID);
+    private static final PropertyPath MESSAGE_ID = path(PROP_MESSAGE_ID);
+    private static final PropertyPath ATTACHMENT_ID = path(PROP_ATTACHMENT_ID);
+
     private MessageResponseFactory() {
     }
 
     public static MessageResponse create(JsonObject jsonObject) {
-        final Optional<String> recipientId = getPropertyAsString(jsonObject, PROP_RECIPIENT_ID);
-        final Optional<String> messageId = getPropertyAsString(jsonObject, PROP_MESSAGE_ID);
-        final Optional<String> attachmentId = getPropertyAsString(jsonObject, PROP_ATTACHMENT_ID);
+        final Optional<String> recipientId = RECIPIENT_ID.getAsOptionalString(jsonObject);
+        final Optional<String> messageId = MESSAGE_ID.getAsOptionalString(jsonObject);
+        final Optional<String> attachmentId = ATTACHMENT_ID.getAsOptionalString(jsonObject);
         return new MessageResponse(recipientId, messageId, attachmentId);
     }
 }
@@ -0,0 +1,103 @@
+package com.github.messenger4j.spi;
+
+import com.github.messenger4j.spi.MessengerHttpClient.HttpMethod;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of a single Graph API request, as passed to {@link MessengerMetrics#requestCompleted}.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class GraphApiRequestOutcome {
+
+    private final String endpoint;
+    private final HttpMethod httpMethod;
+    private final Result result;
+    private final Optional<Integer> statusCode;
+    private final Optional<Integer> errorCode;
+    private final Optional<String> fbTraceId;
+    private final Duration latency;
+    private final Instant completedAt;
+
+    public GraphApiRequestOutcome(@NonNull String endpoint, @NonNull HttpMethod httpMethod, @NonNull Result result,
+                                  @NonNull Optional<Integer> statusCode, @NonNull Optional<Integer> errorCode,
+                                  @NonNull Optional<String> fbTraceId, @NonNull Duration latency,
+                                  @NonNull Instant completedAt) {
+        this.endpoint = endpoint;
+        this.httpMethod = httpMethod;
+        this.result = result;
+        this.statusCode = statusCode;
+        this.errorCode = errorCode;
+        this.fbTraceId = fbTraceId;
+        this.latency = latency;
+        this.completedAt = completedAt;
+    }
+
+    /**
+     * @return the endpoint, like {@code messages}, {@code messenger_profile} or {@code user_profile}
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public HttpMethod httpMethod() {
+        return httpMethod;
+    }
+
+    public Result result() {
+        return result;
+    }
+
+    /**
+     * @return the HTTP status code, absent for I/O errors
+     */
+    public Optional<Integer> statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the Graph API error code of an API error
+     */
+    public Optional<Integer> errorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return the trace ID from the {@code x-fb-trace-id} response header or the {@code fbtrace_id} of an API error,
+     * to be given to the Facebook support
+     */
+    public Optional<String> fbTraceId() {
+        return fbTraceId;
+    }
+
+    /**
+     * @return the time until the response (or the I/O error) was received
+     */
+    public Duration latency() {
+        return latency;
+    }
+
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    public enum Result {
+        SUCCESS,
+        API_ERROR,
+        IO_ERROR,
+        /**
+         * A successful status code, but a response body that could not be parsed.
+         */
+        INVALID_RESPONSE
+    }
+}
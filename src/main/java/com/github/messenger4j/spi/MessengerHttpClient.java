@@ -1,6 +1,9 @@
 package com.github.messenger4j.spi;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * @author Max Grabenhorst
@@ -27,10 +30,21 @@ public interface MessengerHttpClient {
 
         private final int statusCode;
         private final String body;
+        private final Map<String, String> headers;
 
         public HttpResponse(int statusCode, String body) {
+            this(statusCode, body, Collections.emptyMap());
+        }
+
+        /**
+         * @param headers the response headers, not copied; only the {@code x-fb-trace-id} header is used by
+         *                messenger4j, hence passing just that one is sufficient
+         * @since 1.1.0
+         */
+        public HttpResponse(int statusCode, String body, Map<String, String> headers) {
             this.statusCode = statusCode;
             this.body = body;
+            this.headers = Collections.unmodifiableMap(headers);
         }
 
         public int statusCode() {
@@ -40,5 +54,29 @@ public interface MessengerHttpClient {
         public String body() {
             return body;
         }
+
+        /**
+         * @since 1.1.0
+         */
+        public Map<String, String> headers() {
+            return headers;
+        }
+
+        /**
+         * @param name the case-insensitive name of the header
+         * @since 1.1.0
+         */
+        public Optional<String> header(String name) {
+            final String value = headers.get(name);
+            if (value != null) {
+                return Optional.of(value);
+            }
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return Optional.of(header.getValue());
+                }
+            }
+            return Optional.empty();
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.github.messenger4j.spi;
+
+/**
+ * Receives the measurements taken by messenger4j.
+ * <p>
+ * Instruments are looked up once and then reused, so implementations are free to do the (comparatively) expensive
+ * registration work in {@link #counter(String, String...)}, {@link #timer(String, String...)} and
+ * {@link #histogram(String, String...)}. Tags are given as alternating key/value pairs. The instruments must be
+ * thread-safe.
+ * <p>
+ * The following metrics are recorded:
+ * <ul>
+ * <li>{@code messenger4j.webhook.signature} (timer): verification of the {@code X-Hub-Signature}</li>
+ * <li>{@code messenger4j.webhook.parsing} (timer): parsing of the webhook request payload</li>
+ * <li>{@code messenger4j.webhook.payload.size} (histogram): length of the webhook request payload in chars</li>
+ * <li>{@code messenger4j.webhook.events} (counter, tag {@code type}): received events</li>
+ * <li>{@code messenger4j.webhook.dispatch} (timer, tag {@code type}): time spent in the event handler</li>
+ * <li>{@code messenger4j.http.requests} (timer, tag {@code endpoint}): latency of Graph API requests</li>
+ * <li>{@code messenger4j.http.responses} (counter, tags {@code endpoint} and {@code status}): response status
+ * codes</li>
+ * <li>{@code messenger4j.api.errors} (counter, tags {@code endpoint} and {@code code}): Graph API error codes</li>
+ * </ul>
+ *
+ * @since 1.1.0
+ */
+public interface MessengerMetrics {
+
+    Counter counter(String name, String... tags);
+
+    Timer timer(String name, String... tags);
+
+    Histogram histogram(String name, String... tags);
+
+    /**
+     * Receives the outcome of every Graph API request, e.g. to correlate slow or failing requests with the
+     * {@code x-fb-trace-id}. Does nothing by default.
+     */
+    default void requestCompleted(GraphApiRequestOutcome outcome) {
+    }
+
+    /**
+     * @return metrics that discard every measurement
+     */
+    static MessengerMetrics noop() {
+        return NoopMessengerMetrics.INSTANCE;
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    interface Counter {
+
+        void increment();
+
+        void increment(long amount);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    interface Timer {
+
+        void record(long durationNanos);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    interface Histogram {
+
+        void record(long value);
+    }
+}
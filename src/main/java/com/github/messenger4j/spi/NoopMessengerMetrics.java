@@ -0,0 +1,40 @@
+package com.github.messenger4j.spi;
+
+/**
+ * @since 1.1.0
+ */
+final class NoopMessengerMetrics implements MessengerMetrics, MessengerMetrics.Counter, MessengerMetrics.Timer,
+        MessengerMetrics.Histogram {
+
+    static final NoopMessengerMetrics INSTANCE = new NoopMessengerMetrics();
+
+    private NoopMessengerMetrics() {
+    }
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return this;
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        return this;
+    }
+
+    @Override
+    public Histogram histogram(String name, String... tags) {
+        return this;
+    }
+
+    @Override
+    public void increment() {
+    }
+
+    @Override
+    public void increment(long amount) {
+    }
+
+    @Override
+    public void record(long value) {
+    }
+}
@@ -0,0 +1,367 @@
+package com.github.messenger4j.userprofile;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.internal.LongLongHashMap;
+import com.github.messenger4j.webhook.event.common.Referral;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * A persistent store of {@link UserProfile}s, used to keep a {@link UserProfileCache} warm across restarts.
+ * <p>
+ * Profiles are appended to a single file in a compact binary layout. On {@link #open(Path)} the file is memory-mapped
+ * and scanned once to build an in-memory index from PSID to record offset; the records themselves are only decoded
+ * on lookup. A later record for the same PSID supersedes the earlier one, use {@link #compact()} to drop the
+ * superseded records. A partially written record at the end of the file (e.g. after a crash) is discarded.
+ * <p>
+ * Only numeric user IDs (PSIDs) are stored; lookups of other IDs are always empty and storing them is a no-op.
+ * The file cannot grow beyond 2 GiB: a {@link #put} that would cross this limit compacts the file first and fails
+ * with an {@code IOException} if that does not free enough space.
+ *
+ * @since 1.1.0
+ */
+public final class MappedUserProfileStore implements Closeable {
+
+    private static final int MAGIC = 0x4D345550;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+    private static final int MIN_RECORD_LENGTH = 8 + 8 + 4 * 2 + 4 + 3;
+    private static final long NOT_FOUND = -1;
+    private static final long INVALID_PSID = -1;
+    private static final int FLAG_REFERRAL = 1;
+    private static final int FLAG_REFERRAL_REF = 2;
+    private static final int FLAG_REFERRAL_AD_ID = 4;
+    private static final UserProfile.Gender[] GENDERS = UserProfile.Gender.values();
+
+    private final Path file;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private ByteBuffer mappedRecords;
+    private long mappedSize;
+    private long fileSize;
+    private int recordCount;
+    private LongLongHashMap index;
+
+    public static MappedUserProfileStore open(@NonNull Path file) throws IOException {
+        final MappedUserProfileStore store = new MappedUserProfileStore(file);
+        store.load();
+        return store;
+    }
+
+    private MappedUserProfileStore(Path file) {
+        this.file = file;
+    }
+
+    public Optional<StoredUserProfile> get(@NonNull String userId) throws IOException {
+        final long psid = parsePsid(userId);
+        if (psid == INVALID_PSID) {
+            return empty();
+        }
+        final ByteBuffer record;
+        lock.readLock().lock();
+        try {
+            final long offset = index.get(psid, NOT_FOUND);
+            if (offset == NOT_FOUND) {
+                return empty();
+            }
+            record = readRecord(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return of(decode(record));
+    }
+
+    /**
+     * @throws IOException if writing failed or the file would exceed 2 GiB even after compaction
+     */
+    public void put(@NonNull String userId, @NonNull UserProfile userProfile, @NonNull Instant fetchedAt)
+            throws IOException {
+        final long psid = parsePsid(userId);
+        if (psid == INVALID_PSID) {
+            return;
+        }
+        final ByteBuffer record = encode(psid, userProfile, fetchedAt);
+        lock.writeLock().lock();
+        try {
+            if (fileSize + record.capacity() > MAX_FILE_SIZE) {
+                compact();
+                if (fileSize + record.capacity() > MAX_FILE_SIZE) {
+                    throw new IOException("User profile store '" + file + "' would exceed the maximum size of 2 GiB");
+                }
+            }
+            final long offset = fileSize;
+            writeFully(channel, record, offset);
+            fileSize += record.capacity();
+            recordCount++;
+            index.put(psid, offset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file so that it only contains the latest record of every PSID. If replacing the file fails, the
+     * store keeps using the previous file.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (recordCount == index.size()) {
+                return;
+            }
+            final Path directory = file.toAbsolutePath().getParent();
+            final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel tempChannel = FileChannel.open(tempFile, WRITE, TRUNCATE_EXISTING)) {
+                    writeFully(tempChannel, header(), 0);
+                    final long[] position = {HEADER_SIZE};
+                    final IOException[] failure = new IOException[1];
+                    index.forEach((psid, offset) -> {
+                        if (failure[0] != null) {
+                            return;
+                        }
+                        try {
+                            final ByteBuffer record = readRecord(offset);
+                            final ByteBuffer lengthPrefixedRecord = ByteBuffer.allocate(4 + record.remaining());
+                            lengthPrefixedRecord.putInt(record.remaining()).put(record).flip();
+                            writeFully(tempChannel, lengthPrefixedRecord, position[0]);
+                            position[0] += lengthPrefixedRecord.capacity();
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    });
+                    if (failure[0] != null) {
+                        throw failure[0];
+                    }
+                }
+                channel.close();
+                try {
+                    Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+                } finally {
+                    load();
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        channel = FileChannel.open(file, CREATE, READ, WRITE);
+        long size = channel.size();
+        if (size == 0) {
+            writeFully(channel, header(), 0);
+            size = HEADER_SIZE;
+        }
+        if (size > MAX_FILE_SIZE) {
+            channel.close();
+            throw new IOException("User profile store '" + file + "' exceeds the maximum size of 2 GiB");
+        }
+
+        final MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_SIZE || mappedBuffer.getInt(0) != MAGIC || mappedBuffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("'" + file + "' is not a user profile store of version " + VERSION);
+        }
+
+        final LongLongHashMap recordIndex = new LongLongHashMap((int) (size / 128));
+        int records = 0;
+        int position = HEADER_SIZE;
+        while (position + 4 <= size) {
+            final int recordLength = mappedBuffer.getInt(position);
+            if (recordLength < MIN_RECORD_LENGTH || position + 4L + recordLength > size) {
+                break;
+            }
+            recordIndex.put(mappedBuffer.getLong(position + 4), position);
+            records++;
+            position += 4 + recordLength;
+        }
+        if (position < size) {
+            channel.truncate(position);
+        }
+
+        this.mappedRecords = mappedBuffer;
+        this.mappedSize = position;
+        this.fileSize = position;
+        this.recordCount = records;
+        this.index = recordIndex;
+    }
+
+    private ByteBuffer readRecord(long offset) throws IOException {
+        if (offset < mappedSize) {
+            final ByteBuffer record = mappedRecords.duplicate();
+            final int recordLength = record.getInt((int) offset);
+            record.position((int) offset + 4);
+            record.limit((int) offset + 4 + recordLength);
+            return record.slice();
+        }
+        final ByteBuffer recordLength = ByteBuffer.allocate(4);
+        readFully(recordLength, offset);
+        final ByteBuffer record = ByteBuffer.allocate(recordLength.getInt(0));
+        readFully(record, offset + 4);
+        record.flip();
+        return record;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of user profile store '" + file + "'");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer, offset + buffer.position());
+        }
+    }
+
+    private static ByteBuffer header() {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        return header;
+    }
+
+    private static ByteBuffer encode(long psid, UserProfile userProfile, Instant fetchedAt) {
+        final byte[] firstName = userProfile.firstName().getBytes(UTF_8);
+        final byte[] lastName = userProfile.lastName().getBytes(UTF_8);
+        final byte[] profilePicture = userProfile.profilePicture().getBytes(UTF_8);
+        final byte[] locale = userProfile.locale().getBytes(UTF_8);
+        final Optional<Referral> referral = userProfile.lastAdReferral();
+        final byte[] source = referral.map(r -> r.source().getBytes(UTF_8)).orElse(null);
+        final byte[] type = referral.map(r -> r.type().getBytes(UTF_8)).orElse(null);
+        final byte[] ref = referral.flatMap(Referral::refPayload).map(r -> r.getBytes(UTF_8)).orElse(null);
+        final byte[] adId = referral.flatMap(Referral::adId).map(a -> a.getBytes(UTF_8)).orElse(null);
+
+        final int recordLength = 8 + 8 + encodedLength(firstName) + encodedLength(lastName)
+                + encodedLength(profilePicture) + encodedLength(locale) + 4 + 1 + 1 + 1
+                + encodedLength(source) + encodedLength(type) + encodedLength(ref) + encodedLength(adId);
+        final ByteBuffer record = ByteBuffer.allocate(4 + recordLength);
+        record.putInt(recordLength);
+        record.putLong(psid);
+        record.putLong(fetchedAt.toEpochMilli());
+        putString(record, firstName);
+        putString(record, lastName);
+        putString(record, profilePicture);
+        putString(record, locale);
+        record.putFloat(userProfile.timezoneOffset());
+        record.put((byte) userProfile.gender().ordinal());
+        record.put((byte) (userProfile.isPaymentEnabled() ? 1 : 0));
+        record.put((byte) ((source != null ? FLAG_REFERRAL : 0) | (ref != null ? FLAG_REFERRAL_REF : 0)
+                | (adId != null ? FLAG_REFERRAL_AD_ID : 0)));
+        putString(record, source);
+        putString(record, type);
+        putString(record, ref);
+        putString(record, adId);
+        record.flip();
+        return record;
+    }
+
+    private static StoredUserProfile decode(ByteBuffer record) {
+        record.getLong();
+        final Instant fetchedAt = Instant.ofEpochMilli(record.getLong());
+        final String firstName = getString(record);
+        final String lastName = getString(record);
+        final String profilePicture = getString(record);
+        final String locale = getString(record);
+        final float timezoneOffset = record.getFloat();
+        final UserProfile.Gender gender = GENDERS[record.get()];
+        final boolean isPaymentEnabled = record.get() != 0;
+        final int referralFlags = record.get();
+
+        Optional<Referral> lastAdReferral = empty();
+        if ((referralFlags & FLAG_REFERRAL) != 0) {
+            final String source = getString(record);
+            final String type = getString(record);
+            final Optional<String> ref = (referralFlags & FLAG_REFERRAL_REF) != 0 ? of(getString(record)) : empty();
+            final Optional<String> adId = (referralFlags & FLAG_REFERRAL_AD_ID) != 0 ? of(getString(record)) : empty();
+            lastAdReferral = of(new Referral(source, type, ref, adId));
+        }
+
+        final UserProfile userProfile = new UserProfile(firstName, lastName, profilePicture, locale, timezoneOffset,
+                gender, isPaymentEnabled, lastAdReferral);
+        return new StoredUserProfile(userProfile, fetchedAt);
+    }
+
+    private static int encodedLength(byte[] value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value exceeds the maximum length of 65535 bytes");
+        }
+        return 2 + value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            buffer.putShort((short) value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final byte[] value = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(value);
+        return new String(value, UTF_8);
+    }
+
+    private static long parsePsid(String userId) {
+        final int length = userId.length();
+        if (length == 0 || length > 18 || (userId.charAt(0) == '0' && length > 1)) {
+            return INVALID_PSID;
+        }
+        long psid = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = userId.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID_PSID;
+            }
+            psid = psid * 10 + (c - '0');
+        }
+        return psid;
+    }
+}
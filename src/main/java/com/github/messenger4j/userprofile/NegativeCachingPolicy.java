@@ -0,0 +1,51 @@
+package com.github.messenger4j.userprofile;
+
+import static java.util.Collections.unmodifiableSet;
+
+import com.github.messenger4j.exception.MessengerApiException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Defines which failed user profile lookups a {@link UserProfileCache} remembers and for how long.
+ * <p>
+ * A lookup failing with a {@link MessengerApiException} whose Graph API error code is one of the given codes (e.g.
+ * because the user blocked the page or the profile is not available) is considered permanent.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class NegativeCachingPolicy {
+
+    private final Duration timeToLive;
+    private final Set<Integer> errorCodes;
+
+    public static NegativeCachingPolicy create(@NonNull Duration timeToLive, @NonNull Set<Integer> errorCodes) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        return new NegativeCachingPolicy(timeToLive, errorCodes);
+    }
+
+    private NegativeCachingPolicy(Duration timeToLive, Set<Integer> errorCodes) {
+        this.timeToLive = timeToLive;
+        this.errorCodes = unmodifiableSet(new HashSet<>(errorCodes));
+    }
+
+    public Duration timeToLive() {
+        return timeToLive;
+    }
+
+    public Set<Integer> errorCodes() {
+        return errorCodes;
+    }
+
+    boolean isPermanent(MessengerApiException e) {
+        return e.code().map(errorCodes::contains).orElse(false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.messenger4j.userprofile;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import com.github.messenger4j.webhook.event.common.Referral;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Decodes a {@link PartialUserProfile} straight from the response stream, without building an intermediate
+ * JSON tree.
+ *
+ * @since 1.1.0
+ */
+public final class PartialUserProfileFactory {
+
+    private PartialUserProfileFactory() {
+    }
+
+    public static PartialUserProfile create(JsonReader jsonReader) throws IOException {
+        Optional<String> firstName = empty();
+        Optional<String> lastName = empty();
+        Optional<String> profilePicture = empty();
+        Optional<String> locale = empty();
+        Optional<Float> timezoneOffset = empty();
+        Optional<UserProfile.Gender> gender = empty();
+        Optional<Boolean> isPaymentEnabled = empty();
+        Optional<Referral> lastAdReferral = empty();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "first_name":
+                    firstName = of(jsonReader.nextString());
+                    break;
+                case "last_name":
+                    lastName = of(jsonReader.nextString());
+                    break;
+                case "profile_pic":
+                    profilePicture = of(jsonReader.nextString());
+                    break;
+                case "locale":
+                    locale = of(jsonReader.nextString());
+                    break;
+                case "timezone":
+                    timezoneOffset = of((float) jsonReader.nextDouble());
+                    break;
+                case "gender":
+                    gender = of(UserProfile.Gender.valueOf(jsonReader.nextString().toUpperCase()));
+                    break;
+                case "is_payment_enabled":
+                    isPaymentEnabled = of(jsonReader.nextBoolean());
+                    break;
+                case "last_ad_referral":
+                    lastAdReferral = of(createReferral(jsonReader));
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return new PartialUserProfile(firstName, lastName, profilePicture, locale, timezoneOffset, gender,
+                isPaymentEnabled, lastAdReferral);
+    }
+
+    private static Referral createReferral(JsonReader jsonReader) throws IOException {
+        String source = null;
+        String type = null;
+        Optional<String> adId = empty();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "source":
+                    source = jsonReader.nextString();
+                    break;
+                case "type":
+                    type = jsonReader.nextString();
+                    break;
+                case "ad_id":
+                    adId = of(jsonReader.nextString());
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (source == null || type == null) {
+            throw new IllegalArgumentException();
+        }
+        return new Referral(source, type, empty(), adId);
+    }
+}
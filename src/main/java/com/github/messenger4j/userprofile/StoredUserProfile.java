@@ -0,0 +1,32 @@
+package com.github.messenger4j.userprofile;
+
+import java.time.Instant;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * A {@link UserProfile} together with the time it was fetched from Facebook.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class StoredUserProfile {
+
+    private final UserProfile userProfile;
+    private final Instant fetchedAt;
+
+    public StoredUserProfile(@NonNull UserProfile userProfile, @NonNull Instant fetchedAt) {
+        this.userProfile = userProfile;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public UserProfile userProfile() {
+        return userProfile;
+    }
+
+    public Instant fetchedAt() {
+        return fetchedAt;
+    }
+}
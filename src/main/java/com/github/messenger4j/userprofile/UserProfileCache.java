@@ -0,0 +1,335 @@
+package com.github.messenger4j.userprofile;
+
+import static java.util.Optional.empty;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.exception.MessengerIOException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A size-bounded cache around {@link Messenger#queryUserProfile(String)}.
+ * <p>
+ * Entries expire after the configured time-to-live. Entries that are read within the refresh-ahead window before
+ * their expiration are refreshed asynchronously on the given executor, so frequently requested profiles are never
+ * fetched on the calling thread. When the maximum size is exceeded, the least recently read of a sample of
+ * {@value #EVICTION_SAMPLE_SIZE} entries is evicted, which approximates evicting the least recently read entry without
+ * any locking on reads.
+ * <p>
+ * If a {@link MappedUserProfileStore} is given, every fetched profile is written through to it and misses are served
+ * from it as long as the stored profile is younger than the time-to-live, so the cache starts warm after a restart.
+ * <p>
+ * If a {@link NegativeCachingPolicy} is given, lookups failing with a permanent error are remembered for the
+ * configured time-to-live. Until then, further lookups of the same user fail immediately by rethrowing the original
+ * {@link MessengerApiException} instead of calling the Graph API again, so its stack trace points to the first lookup.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class UserProfileCache {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final Messenger messenger;
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final long refreshAheadMillis;
+    private final Executor refreshExecutor;
+    private final Optional<MappedUserProfileStore> store;
+    private final Optional<NegativeCachingPolicy> negativeCachingPolicy;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final ConcurrentMap<String, Failure> failures;
+    private final Object evictionLock = new Object();
+    private Iterator<Entry> evictionCursor;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+    private final LongAdder negativeHitCount = new LongAdder();
+
+    public static UserProfileCache create(@NonNull Messenger messenger, int maximumSize, @NonNull Duration timeToLive,
+                                          @NonNull Duration refreshAhead, @NonNull Executor refreshExecutor) {
+        return create(messenger, maximumSize, timeToLive, refreshAhead, refreshExecutor, Clock.systemUTC());
+    }
+
+    public static UserProfileCache create(@NonNull Messenger messenger, int maximumSize, @NonNull Duration timeToLive,
+                                          @NonNull Duration refreshAhead, @NonNull Executor refreshExecutor,
+                                          @NonNull Clock clock) {
+        return create(messenger, maximumSize, timeToLive, refreshAhead, refreshExecutor, empty(), empty(), clock);
+    }
+
+    public static UserProfileCache create(@NonNull Messenger messenger, int maximumSize, @NonNull Duration timeToLive,
+                                          @NonNull Duration refreshAhead, @NonNull Executor refreshExecutor,
+                                          @NonNull Optional<MappedUserProfileStore> store,
+                                          @NonNull Optional<NegativeCachingPolicy> negativeCachingPolicy,
+                                          @NonNull Clock clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        if (refreshAhead.isNegative() || refreshAhead.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("refreshAhead must not be negative and must be less than timeToLive");
+        }
+        return new UserProfileCache(messenger, maximumSize, timeToLive, refreshAhead, refreshExecutor, store,
+                negativeCachingPolicy, clock);
+    }
+
+    private UserProfileCache(Messenger messenger, int maximumSize, Duration timeToLive, Duration refreshAhead,
+                             Executor refreshExecutor, Optional<MappedUserProfileStore> store,
+                             Optional<NegativeCachingPolicy> negativeCachingPolicy, Clock clock) {
+        this.messenger = messenger;
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.refreshAheadMillis = refreshAhead.toMillis();
+        this.refreshExecutor = refreshExecutor;
+        this.store = store;
+        this.negativeCachingPolicy = negativeCachingPolicy;
+        this.clock = clock;
+        this.entries = new ConcurrentHashMap<>();
+        this.failures = new ConcurrentHashMap<>();
+    }
+
+    public UserProfile get(@NonNull String userId) throws MessengerApiException, MessengerIOException {
+        final Entry entry = entries.get(userId);
+        if (entry != null) {
+            entry.lastReadNanos = System.nanoTime();
+            final Fetched fetched = entry.fetched;
+            final long age = clock.millis() - fetched.fetchedAtMillis;
+            if (age < timeToLiveMillis) {
+                hitCount.increment();
+                if (age >= timeToLiveMillis - refreshAheadMillis) {
+                    refreshAsync(entry);
+                }
+                return fetched.userProfile;
+            }
+            expirationCount.increment();
+        } else {
+            final Optional<StoredUserProfile> storedUserProfile = loadStored(userId);
+            if (storedUserProfile.isPresent()) {
+                final long fetchedAtMillis = storedUserProfile.get().fetchedAt().toEpochMilli();
+                if (clock.millis() - fetchedAtMillis < timeToLiveMillis) {
+                    hitCount.increment();
+                    final UserProfile userProfile = storedUserProfile.get().userProfile();
+                    insert(userId, new Fetched(userProfile, fetchedAtMillis));
+                    return userProfile;
+                }
+            }
+        }
+
+        final Failure failure = failures.get(userId);
+        if (failure != null) {
+            if (clock.millis() < failure.expiresAtMillis) {
+                negativeHitCount.increment();
+                throw failure.exception;
+            }
+            failures.remove(userId, failure);
+        }
+
+        missCount.increment();
+        final UserProfile userProfile;
+        try {
+            userProfile = messenger.queryUserProfile(userId);
+        } catch (MessengerApiException e) {
+            rememberFailure(userId, e);
+            throw e;
+        }
+        final long fetchedAtMillis = clock.millis();
+        store(userId, userProfile, fetchedAtMillis);
+        if (entry != null) {
+            entry.fetched = new Fetched(userProfile, fetchedAtMillis);
+        } else {
+            insert(userId, new Fetched(userProfile, fetchedAtMillis));
+        }
+        return userProfile;
+    }
+
+    public void invalidate(@NonNull String userId) {
+        entries.remove(userId);
+        failures.remove(userId);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        failures.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public UserProfileCacheStats stats() {
+        return new UserProfileCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expirationCount.sum(),
+                refreshCount.sum(), refreshFailureCount.sum(), negativeHitCount.sum());
+    }
+
+    private void insert(String userId, Fetched fetched) {
+        final Entry existingEntry = entries.putIfAbsent(userId, new Entry(userId, fetched));
+        if (existingEntry != null) {
+            existingEntry.fetched = fetched;
+            return;
+        }
+        if (entries.size() > maximumSize) {
+            synchronized (evictionLock) {
+                while (entries.size() > maximumSize) {
+                    evictLeastRecentlyRead();
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently read entry of the next sample of entries. The sample is taken by a cursor that moves
+     * on with every eviction, unless the cache is small enough to examine all entries.
+     */
+    private void evictLeastRecentlyRead() {
+        final boolean sampleAll = entries.size() <= EVICTION_SAMPLE_SIZE;
+        if (sampleAll) {
+            evictionCursor = entries.values().iterator();
+        }
+        Entry victim = null;
+        for (int sampled = 0; sampleAll || sampled < EVICTION_SAMPLE_SIZE; sampled++) {
+            if (evictionCursor == null || !evictionCursor.hasNext()) {
+                if (sampleAll) {
+                    break;
+                }
+                evictionCursor = entries.values().iterator();
+                if (!evictionCursor.hasNext()) {
+                    break;
+                }
+            }
+            final Entry candidate = evictionCursor.next();
+            if (victim == null || candidate.lastReadNanos - victim.lastReadNanos < 0) {
+                victim = candidate;
+            }
+        }
+        if (sampleAll) {
+            evictionCursor = null;
+        }
+        if (victim != null && entries.remove(victim.userId, victim)) {
+            evictionCount.increment();
+        }
+    }
+
+    private void rememberFailure(String userId, MessengerApiException e) {
+        if (!negativeCachingPolicy.isPresent() || !negativeCachingPolicy.get().isPermanent(e)) {
+            return;
+        }
+        final long nowMillis = clock.millis();
+        if (failures.size() >= maximumSize) {
+            failures.values().removeIf(failure -> failure.expiresAtMillis <= nowMillis);
+            if (failures.size() >= maximumSize) {
+                return;
+            }
+        }
+        final long expiresAtMillis = nowMillis + negativeCachingPolicy.get().timeToLive().toMillis();
+        failures.put(userId, new Failure(e, expiresAtMillis));
+    }
+
+    private Optional<StoredUserProfile> loadStored(String userId) {
+        if (!store.isPresent()) {
+            return empty();
+        }
+        try {
+            return store.get().get(userId);
+        } catch (IOException e) {
+            log.warn("Reading the user profile '{}' from the store failed", userId, e);
+            return empty();
+        }
+    }
+
+    private void store(String userId, UserProfile userProfile, long fetchedAtMillis) {
+        if (!store.isPresent()) {
+            return;
+        }
+        try {
+            store.get().put(userId, userProfile, Instant.ofEpochMilli(fetchedAtMillis));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Writing the user profile '{}' to the store failed", userId, e);
+        }
+    }
+
+    private void refreshAsync(Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    final UserProfile userProfile = messenger.queryUserProfile(entry.userId);
+                    final long fetchedAtMillis = clock.millis();
+                    entry.fetched = new Fetched(userProfile, fetchedAtMillis);
+                    store(entry.userId, userProfile, fetchedAtMillis);
+                    refreshCount.increment();
+                } catch (MessengerApiException | MessengerIOException | RuntimeException e) {
+                    refreshFailureCount.increment();
+                    log.debug("Refreshing the user profile '{}' failed", entry.userId, e);
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            refreshFailureCount.increment();
+        }
+    }
+
+    private static final class Failure {
+
+        private final MessengerApiException exception;
+        private final long expiresAtMillis;
+
+        private Failure(MessengerApiException exception, long expiresAtMillis) {
+            this.exception = exception;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class Entry {
+
+        private final String userId;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Fetched fetched;
+        private volatile long lastReadNanos;
+
+        private Entry(String userId, Fetched fetched) {
+            this.userId = userId;
+            this.fetched = fetched;
+            this.lastReadNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * A user profile together with the time it was fetched, replaced as a whole so that readers never see a profile
+     * with the fetch time of another.
+     */
+    private static final class Fetched {
+
+        private final UserProfile userProfile;
+        private final long fetchedAtMillis;
+
+        private Fetched(UserProfile userProfile, long fetchedAtMillis) {
+            this.userProfile = userProfile;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+}
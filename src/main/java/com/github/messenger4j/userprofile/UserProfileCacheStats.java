@@ -0,0 +1,69 @@
+package com.github.messenger4j.userprofile;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A point-in-time snapshot of the counters of a {@link UserProfileCache}.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class UserProfileCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long refreshCount;
+    private final long refreshFailureCount;
+    private final long negativeHitCount;
+
+    public UserProfileCacheStats(long hitCount, long missCount, long evictionCount, long expirationCount,
+                                 long refreshCount, long refreshFailureCount, long negativeHitCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.refreshCount = refreshCount;
+        this.refreshFailureCount = refreshFailureCount;
+        this.negativeHitCount = negativeHitCount;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long expirationCount() {
+        return expirationCount;
+    }
+
+    public long refreshCount() {
+        return refreshCount;
+    }
+
+    public long refreshFailureCount() {
+        return refreshFailureCount;
+    }
+
+    /**
+     * @return the number of lookups that failed immediately because of a remembered permanent failure
+     */
+    public long negativeHitCount() {
+        return negativeHitCount;
+    }
+
+    public double hitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
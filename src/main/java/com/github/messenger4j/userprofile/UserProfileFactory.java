@@ -11,13 +11,11 @@ import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PROFI
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SOURCE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMEZONE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TYPE;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsBoolean;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsFloat;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonObject;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.common.Referral;
 import com.google.gson.JsonObject;
 import java.util.Optional;
@@ -28,38 +26,40 @@ import java.util.Optional;
  */
 public final class UserProfileFactory {
 
+    private static final PropertyPath FIRST_NAME = path(PROP_FIRST_NAME);
+    private static final PropertyPath LAST_NAME = path(PROP_LAST_NAME);
+    private static final PropertyPath PROFILE_PIC = path(PROP_PROFILE_PIC);
+    private static final PropertyPath LOCALE = path(PROP_LOCALE);
+    private static final PropertyPath TIMEZONE = path(PROP_TIMEZONE);
+    private static final PropertyPath GENDER = path(PROP_GENDER);
+    private static final PropertyPath IS_PAYMENT_ENABLED = path(PROP_IS_PAYMENT_ENABLED);
+    private static final PropertyPath LAST_AD_REFERRAL = path(PROP_LAST_AD_REFERRAL);
+    private static final PropertyPath SOURCE = path(PROP_SOURCE);
+    private static final PropertyPath TYPE = path(PROP_TYPE);
+    private static final PropertyPath AD_ID = path(PROP_AD_ID);
+
     private UserProfileFactory() {
     }
 
     public static UserProfile create(JsonObject jsonObject) {
-        final String firstName = getPropertyAsString(jsonObject, PROP_FIRST_NAME)
-                .orElseThrow(IllegalArgumentException::new);
-        final String lastName = getPropertyAsString(jsonObject, PROP_LAST_NAME)
-                .orElseThrow(IllegalArgumentException::new);
-        final String profilePic = getPropertyAsString(jsonObject, PROP_PROFILE_PIC)
-                .orElseThrow(IllegalArgumentException::new);
-        final String locale = getPropertyAsString(jsonObject, PROP_LOCALE)
-                .orElseThrow(IllegalArgumentException::new);
-        final Float timezoneOffset = getPropertyAsFloat(jsonObject, PROP_TIMEZONE)
-                .orElseThrow(IllegalArgumentException::new);
-        final UserProfile.Gender gender = getPropertyAsString(jsonObject, PROP_GENDER)
-                .map(String::toUpperCase)
-                .map(UserProfile.Gender::valueOf)
-                .orElseThrow(IllegalArgumentException::new);
-        final boolean isPaymentEnabled = getPropertyAsBoolean(jsonObject, PROP_IS_PAYMENT_ENABLED)
-                .orElseThrow(IllegalArgumentException::new);
+        final String firstName = FIRST_NAME.requireString(jsonObject);
+        final String lastName = LAST_NAME.requireString(jsonObject);
+        final String profilePic = PROFILE_PIC.requireString(jsonObject);
+        final String locale = LOCALE.requireString(jsonObject);
+        final float timezoneOffset = TIMEZONE.requireFloat(jsonObject);
+        final UserProfile.Gender gender = UserProfile.Gender.valueOf(GENDER.requireString(jsonObject).toUpperCase());
+        final boolean isPaymentEnabled = IS_PAYMENT_ENABLED.requireBoolean(jsonObject);
 
-        final Optional<Referral> lastAdReferral = getPropertyAsJsonObject(jsonObject, PROP_LAST_AD_REFERRAL)
-                .map(referralJsonObject -> {
-                    final String source = getPropertyAsString(referralJsonObject, PROP_SOURCE)
-                            .orElseThrow(IllegalArgumentException::new);
-                    final String type = getPropertyAsString(referralJsonObject, PROP_TYPE)
-                            .orElseThrow(IllegalArgumentException::new);
-                    final String adId = getPropertyAsString(referralJsonObject, PROP_AD_ID)
-                            .orElseThrow(IllegalArgumentException::new);
-                    return of(new Referral(source, type, empty(), of(adId)));
-                })
-                .orElse(empty());
+        final JsonObject referralJsonObject = LAST_AD_REFERRAL.getAsJsonObject(jsonObject);
+        final Optional<Referral> lastAdReferral;
+        if (referralJsonObject != null) {
+            final String source = SOURCE.requireString(referralJsonObject);
+            final String type = TYPE.requireString(referralJsonObject);
+            final String adId = AD_ID.requireString(referralJsonObject);
+            lastAdReferral = of(new Referral(source, type, empty(), of(adId)));
+        } else {
+            lastAdReferral = empty();
+        }
 
         return new UserProfile(firstName, lastName, profilePic, locale, timezoneOffset, gender,
                 isPaymentEnabled, lastAdReferral);
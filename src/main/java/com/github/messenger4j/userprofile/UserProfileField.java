@@ -0,0 +1,25 @@
+package com.github.messenger4j.userprofile;
+
+/**
+ * @since 1.1.0
+ */
+public enum UserProfileField {
+    FIRST_NAME("first_name"),
+    LAST_NAME("last_name"),
+    PROFILE_PIC("profile_pic"),
+    LOCALE("locale"),
+    TIMEZONE("timezone"),
+    GENDER("gender"),
+    IS_PAYMENT_ENABLED("is_payment_enabled"),
+    LAST_AD_REFERRAL("last_ad_referral");
+
+    private final String fieldName;
+
+    UserProfileField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.messenger4j.userprofile;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of a bulk user profile query: the successfully fetched profiles and, for all other user IDs,
+ * the exception that prevented fetching them.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class UserProfilesResponse {
+
+    private final Map<String, UserProfile> userProfiles;
+    private final Map<String, Exception> errors;
+
+    public UserProfilesResponse(@NonNull Map<String, UserProfile> userProfiles, @NonNull Map<String, Exception> errors) {
+        this.userProfiles = Collections.unmodifiableMap(new HashMap<>(userProfiles));
+        this.errors = Collections.unmodifiableMap(new HashMap<>(errors));
+    }
+
+    public Map<String, UserProfile> userProfiles() {
+        return userProfiles;
+    }
+
+    public Map<String, Exception> errors() {
+        return errors;
+    }
+}
@@ -35,14 +35,35 @@ public final class Event {
         return baseEvent.senderId();
     }
 
+    /**
+     * @since 1.1.0
+     */
+    public long senderIdAsLong() {
+        return baseEvent.senderIdAsLong();
+    }
+
     public String recipientId() {
         return baseEvent.recipientId();
     }
 
+    /**
+     * @since 1.1.0
+     */
+    public long recipientIdAsLong() {
+        return baseEvent.recipientIdAsLong();
+    }
+
     public Instant timestamp() {
         return baseEvent.timestamp();
     }
 
+    /**
+     * @since 1.1.0
+     */
+    public long timestampEpochMilli() {
+        return baseEvent.timestampEpochMilli();
+    }
+
     public boolean isAccountLinkingEvent() {
         return baseEvent instanceof AccountLinkingEvent;
     }
@@ -0,0 +1,302 @@
+package com.github.messenger4j.webhook;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes received events as a backpressured Reactive Streams {@link Publisher} to any number of subscribers, as an
+ * alternative to a push-only event handler. Pass the publisher as event handler, e.g. to
+ * {@code Messenger#onReceiveEvents}, and subscribe to it with any Reactive Streams implementation.
+ * <p>
+ * Each subscriber gets its own buffer of {@code bufferSize} events and receives no more events than it requested.
+ * If a buffer is full, the {@link OverflowStrategy} decides: {@link OverflowStrategy#BLOCK} makes the thread
+ * publishing the event wait until the subscriber requests more, hence a slow subscriber throttles the intake instead
+ * of growing an unbounded queue. The publisher is hot: a subscriber receives the events published after its
+ * {@code onSubscribe} returned.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class EventPublisher implements Publisher<Event>, Consumer<Event> {
+
+    private static final long BLOCK_CHECK_MILLIS = 100;
+
+    private final int bufferSize;
+    private final OverflowStrategy overflowStrategy;
+    private final CopyOnWriteArrayList<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private volatile boolean completed;
+
+    public static EventPublisher create(int bufferSize, @NonNull OverflowStrategy overflowStrategy) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        return new EventPublisher(bufferSize, overflowStrategy);
+    }
+
+    private EventPublisher(int bufferSize, OverflowStrategy overflowStrategy) {
+        this.bufferSize = bufferSize;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Event> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber must not be null");
+        }
+        final EventSubscription subscription = new EventSubscription(subscriber);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (RuntimeException e) {
+            log.error("Subscriber threw an exception in onSubscribe, hence it is cancelled", e);
+            subscription.cancel();
+            return;
+        }
+        subscriptions.add(subscription);
+        if (subscription.cancelled) {
+            subscriptions.remove(subscription);
+        } else if (completed) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Hands the event to every current subscriber, blocking if {@link OverflowStrategy#BLOCK} is used and a
+     * subscriber's buffer is full.
+     */
+    @Override
+    public void accept(@NonNull Event event) {
+        for (EventSubscription subscription : subscriptions) {
+            subscription.publish(event);
+        }
+    }
+
+    /**
+     * Signals {@code onComplete} to every subscriber once it received its buffered events.
+     */
+    public void complete() {
+        completed = true;
+        for (EventSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return the number of events dropped by {@link OverflowStrategy#DROP_LATEST} and
+     * {@link OverflowStrategy#DROP_OLDEST}, summed over all subscribers
+     */
+    public long droppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * What happens to an event if the buffer of a subscriber is full.
+     *
+     * @since 1.1.0
+     */
+    public enum OverflowStrategy {
+        /**
+         * The publishing thread waits until the subscriber requests more events or cancels.
+         */
+        BLOCK,
+        /**
+         * The new event is dropped for this subscriber.
+         */
+        DROP_LATEST,
+        /**
+         * The oldest buffered event is dropped for this subscriber to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The subscription is cancelled and the subscriber receives {@code onError}.
+         */
+        FAIL
+    }
+
+    private final class EventSubscription implements Subscription {
+
+        private final Subscriber<? super Event> subscriber;
+        private final ArrayBlockingQueue<Event> buffer;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Object demandSignal = new Object();
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        EventSubscription(Subscriber<? super Event> subscriber) {
+            this.subscriber = subscriber;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                fail(new IllegalArgumentException("non-positive subscription request: " + n));
+                return;
+            }
+            long current;
+            long updated;
+            do {
+                current = requested.get();
+                updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, updated));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            signalDemand();
+            drain();
+        }
+
+        void publish(Event event) {
+            if (cancelled || done) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                switch (overflowStrategy) {
+                    case BLOCK:
+                        drain();
+                        if (!awaitSpace(event)) {
+                            return;
+                        }
+                        break;
+                    case DROP_LATEST:
+                        droppedCount.increment();
+                        break;
+                    case DROP_OLDEST:
+                        while (!buffer.offer(event)) {
+                            if (buffer.poll() != null) {
+                                droppedCount.increment();
+                            }
+                        }
+                        break;
+                    case FAIL:
+                        fail(new IllegalStateException("buffer of " + bufferSize + " events overflowed because "
+                                + "the subscriber requested too few events"));
+                        return;
+                    default:
+                        throw new IllegalStateException("unsupported overflow strategy " + overflowStrategy);
+                }
+            }
+            drain();
+        }
+
+        private boolean awaitSpace(Event event) {
+            try {
+                synchronized (demandSignal) {
+                    while (!buffer.offer(event)) {
+                        if (cancelled || done) {
+                            return false;
+                        }
+                        demandSignal.wait(BLOCK_CHECK_MILLIS);
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void complete() {
+            done = true;
+            signalDemand();
+            drain();
+        }
+
+        private void fail(Throwable throwable) {
+            error = throwable;
+            done = true;
+            subscriptions.remove(this);
+            signalDemand();
+            drain();
+        }
+
+        private void signalDemand() {
+            synchronized (demandSignal) {
+                demandSignal.notifyAll();
+            }
+        }
+
+        /**
+         * Delivers the buffered events as far as requested, on whichever thread gets here first, so that the
+         * signals to the subscriber are never concurrent.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                final long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled && error == null) {
+                    final Event event = buffer.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+                        log.error("Subscriber threw an exception in onNext, hence it is cancelled", e);
+                        cancel();
+                    }
+                    emitted++;
+                }
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                if (error != null) {
+                    cancelled = true;
+                    buffer.clear();
+                    signalTerminal(() -> subscriber.onError(error));
+                    return;
+                }
+                if (done && buffer.isEmpty()) {
+                    cancelled = true;
+                    subscriptions.remove(this);
+                    signalTerminal(subscriber::onComplete);
+                    return;
+                }
+                if (emitted != 0) {
+                    if (demand != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitted);
+                    }
+                    signalDemand();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void signalTerminal(Runnable signal) {
+            try {
+                signal.run();
+            } catch (RuntimeException e) {
+                log.error("Subscriber threw an exception in onError or onComplete", e);
+            }
+        }
+    }
+}
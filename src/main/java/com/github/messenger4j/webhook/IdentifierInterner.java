@@ -0,0 +1,69 @@
+package com.github.messenger4j.webhook;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A bounded, lock-free table deduplicating the page and user IDs of received events, so that the events of the same
+ * conversation share one {@code String} instance per ID instead of one copy per event.
+ * <p>
+ * The table is direct-mapped: each ID has exactly one slot, chosen by its hash code. A colliding ID simply replaces
+ * the previous occupant, hence the table never grows beyond its capacity and frequently seen IDs stay resident.
+ * Concurrent callers may occasionally miss a canonical instance, which only costs the duplicate it would have saved.
+ * <p>
+ * Numeric IDs, which PSIDs and page IDs usually are, are held as {@code long} by the events and are never interned.
+ * Hence the table only pays off for streams with many repeated non-numeric sender or recipient IDs.
+ *
+ * @since 1.1.0
+ */
+public final class IdentifierInterner {
+
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of retained IDs, rounded up to the next power of two
+     */
+    public static IdentifierInterner create(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        return new IdentifierInterner(capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private IdentifierInterner(int capacity) {
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return the canonical instance equal to the given ID, which is the given ID itself if none is retained yet
+     */
+    public String intern(@NonNull String identifier) {
+        final int hash = identifier.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & mask;
+        final String canonical = table.get(index);
+        if (identifier.equals(canonical)) {
+            hitCount.increment();
+            return canonical;
+        }
+        table.lazySet(index, identifier);
+        missCount.increment();
+        return identifier;
+    }
+
+    public int capacity() {
+        return table.length();
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+}
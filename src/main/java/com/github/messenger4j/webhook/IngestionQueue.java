@@ -0,0 +1,613 @@
+package com.github.messenger4j.webhook;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded FIFO queue of raw webhook payloads between their receipt and the dispatch of their events.
+ * <p>
+ * Up to {@code memoryCapacity} payloads are held on the heap. If that is exhausted, payloads are spilled to
+ * append-only segment files in the spill directory instead, and once anything is spilled all further payloads follow
+ * it to disk until the spill is drained again, so that the order of arrival is kept. Fully drained segments are
+ * deleted. A queue without spill directory or whose spill reached {@code maxSpillBytes} rejects further payloads.
+ * <p>
+ * Segments left behind by a previous queue on the same directory (e.g. after a crash) are drained first. A partially
+ * written record at the end of a segment is discarded. On {@link #close()} the payloads still held on the heap are
+ * spilled as well, ahead of the already spilled ones, so that no acknowledged payload is lost on a restart, and the
+ * read offset of a partially drained segment is saved next to it, so that its drained payloads are not dispatched
+ * again. After a crash, the payloads drained since the last {@code close()} are dispatched again.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class IngestionQueue implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String READ_OFFSET_SUFFIX = ".offset";
+    private static final int RECORD_HEADER_SIZE = 4;
+    private static final long MIN_SEGMENT_SIZE = 64 * 1024;
+    private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DRAIN_RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int memoryCapacity;
+    private final Path spillDirectory;
+    private final long maxSpillBytes;
+    private final long segmentSize;
+    private final ArrayDeque<byte[]> memory;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ByteBuffer writeHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    private final ByteBuffer readHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+
+    private long nextSegmentNumber;
+    private FileChannel writeChannel;
+    private FileChannel readChannel;
+    private long spilledCount;
+    private long spilledBytes;
+    private long totalSpilledBytes;
+    private long drainedCount;
+    private long drainedBytes;
+    private long drainWindowStartNanos = System.nanoTime();
+    private long drainWindowCount;
+    private double drainRate;
+    private boolean closed;
+
+    /**
+     * @return a queue holding at most {@code memoryCapacity} payloads on the heap and rejecting any further payload
+     */
+    public static IngestionQueue create(int memoryCapacity) {
+        checkMemoryCapacity(memoryCapacity);
+        return new IngestionQueue(memoryCapacity, null, 0);
+    }
+
+    /**
+     * @param memoryCapacity the number of payloads held on the heap before spilling to disk
+     * @param spillDirectory the directory of the segment files, created if necessary
+     * @param maxSpillBytes  the maximum size of all segments, beyond which payloads are rejected
+     */
+    public static IngestionQueue open(int memoryCapacity, @NonNull Path spillDirectory, long maxSpillBytes)
+            throws IOException {
+        checkMemoryCapacity(memoryCapacity);
+        if (maxSpillBytes <= 0) {
+            throw new IllegalArgumentException("maxSpillBytes must be positive");
+        }
+        final IngestionQueue queue = new IngestionQueue(memoryCapacity, spillDirectory, maxSpillBytes);
+        queue.recover();
+        return queue;
+    }
+
+    private static void checkMemoryCapacity(int memoryCapacity) {
+        if (memoryCapacity <= 0) {
+            throw new IllegalArgumentException("memoryCapacity must be positive");
+        }
+    }
+
+    private IngestionQueue(int memoryCapacity, Path spillDirectory, long maxSpillBytes) {
+        this.memoryCapacity = memoryCapacity;
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maxSpillBytes / 16));
+        this.memory = new ArrayDeque<>(Math.min(memoryCapacity, 1024));
+    }
+
+    /**
+     * Enqueues the payload without blocking.
+     *
+     * @return {@code false} if the payload was rejected because the queue is full or closed, or spilling failed
+     */
+    public boolean offer(@NonNull byte[] payload) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (spilledCount == 0 && memory.size() < memoryCapacity) {
+                memory.addLast(payload);
+                notEmpty.signal();
+                return true;
+            }
+            if (spillDirectory == null || spilledBytes + RECORD_HEADER_SIZE + payload.length > maxSpillBytes) {
+                return false;
+            }
+            try {
+                spill(payload);
+            } catch (IOException e) {
+                log.error("Failed to spill webhook payload to '{}'", spillDirectory, e);
+                return false;
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dequeues the oldest payload, waiting up to the given time if the queue is empty.
+     * <p>
+     * Payloads of a segment that cannot be read are dropped and logged.
+     *
+     * @return the payload, or {@code null} if the waiting time elapsed or the queue is closed
+     */
+    public byte[] poll(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                while (memory.isEmpty() && spilledCount == 0 || closed) {
+                    if (closed || remainingNanos <= 0) {
+                        return null;
+                    }
+                    remainingNanos = notEmpty.awaitNanos(remainingNanos);
+                }
+                final byte[] payload = memory.pollFirst();
+                if (payload != null) {
+                    return payload;
+                }
+                final byte[] drainedPayload = drain();
+                if (drainedPayload != null) {
+                    return drainedPayload;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of queued payloads, on the heap and spilled
+     */
+    public long depth() {
+        lock.lock();
+        try {
+            return memory.size() + spilledCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of spilled payloads waiting to be drained
+     */
+    public long spilledCount() {
+        lock.lock();
+        try {
+            return spilledCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the size of the spilled payloads waiting to be drained, including their record headers
+     */
+    public long spilledBytes() {
+        lock.lock();
+        try {
+            return spilledBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the size of all payloads spilled so far, including their record headers
+     */
+    public long totalSpilledBytes() {
+        lock.lock();
+        try {
+            return totalSpilledBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of payloads drained from disk so far
+     */
+    public long drainedCount() {
+        lock.lock();
+        try {
+            return drainedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the size of the payloads drained from disk so far, including their record headers
+     */
+    public long drainedBytes() {
+        lock.lock();
+        try {
+            return drainedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the payloads drained from disk per second, measured over the last full second of draining
+     */
+    public double drainRate() {
+        lock.lock();
+        try {
+            final long elapsedNanos = System.nanoTime() - drainWindowStartNanos;
+            return elapsedNanos < 2 * DRAIN_RATE_WINDOW_NANOS ? drainRate : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects further payloads and closes the segment files. Payloads still held on the heap are spilled regardless
+     * of {@code maxSpillBytes} and drained by the next queue opened on the same directory, together with the already
+     * spilled ones. Without spill directory they are lost.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            if (spillDirectory != null && !memory.isEmpty()) {
+                spillMemory();
+            }
+            memory.clear();
+            notEmpty.signalAll();
+            if (!segments.isEmpty()) {
+                saveReadOffset(segments.peekFirst());
+            }
+            closeChannels();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void spill(byte[] payload) throws IOException {
+        final long recordSize = RECORD_HEADER_SIZE + payload.length;
+        Segment writeSegment = segments.peekLast();
+        if (writeChannel == null || writeSegment.size > 0 && writeSegment.size + recordSize > segmentSize) {
+            writeSegment = newSegment();
+        }
+        writeHeader.clear();
+        writeHeader.putInt(payload.length).flip();
+        final ByteBuffer[] record = {writeHeader, ByteBuffer.wrap(payload)};
+        try {
+            while (record[1].hasRemaining()) {
+                writeChannel.write(record);
+            }
+        } catch (IOException e) {
+            discardPartialRecord(writeSegment);
+            throw e;
+        }
+        writeSegment.size += recordSize;
+        writeSegment.remainingBytes += recordSize;
+        writeSegment.remainingCount++;
+        spilledCount++;
+        spilledBytes += recordSize;
+        totalSpilledBytes += recordSize;
+    }
+
+    /**
+     * Truncates the write segment back to its last complete record, or if that fails, makes the next spill start a
+     * new segment, so that no record is appended behind the partially written one.
+     */
+    private void discardPartialRecord(Segment writeSegment) {
+        try {
+            writeChannel.truncate(writeSegment.size);
+            writeChannel.position(writeSegment.size);
+        } catch (IOException e) {
+            log.warn("Failed to truncate segment '{}', hence spilling continues in a new segment",
+                    writeSegment.file, e);
+            try {
+                writeChannel.close();
+            } catch (IOException closeException) {
+                log.debug("Failed to close segment '{}'", writeSegment.file, closeException);
+            }
+            writeChannel = null;
+        }
+    }
+
+    private Segment newSegment() throws IOException {
+        if (writeChannel != null) {
+            writeChannel.close();
+            writeChannel = null;
+        }
+        final long segmentNumber = nextSegmentNumber++;
+        final Path file = segmentFile(segmentNumber);
+        writeChannel = FileChannel.open(file, CREATE_NEW, WRITE);
+        final Segment segment = new Segment(file, segmentNumber);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /**
+     * Writes the payloads held on the heap to a segment numbered before all other segments, as they arrived before
+     * any spilled payload.
+     */
+    private void spillMemory() {
+        final long segmentNumber = segments.isEmpty() ? nextSegmentNumber++ : segments.peekFirst().number - 1;
+        final Path file = segmentFile(segmentNumber);
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            for (byte[] payload : memory) {
+                writeHeader.clear();
+                writeHeader.putInt(payload.length).flip();
+                final ByteBuffer[] record = {writeHeader, ByteBuffer.wrap(payload)};
+                while (record[1].hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Failed to spill {} webhook payloads to '{}' on close", memory.size(), file, e);
+        }
+    }
+
+    /**
+     * Saves how far the given segment has been drained, replacing the file atomically, unless nothing was drained.
+     */
+    private void saveReadOffset(Segment segment) {
+        final long readOffset = segment.readOffset();
+        if (readOffset == 0) {
+            return;
+        }
+        final Path file = readOffsetFile(segment.number);
+        final Path tempFile = spillDirectory.resolve(file.getFileName() + ".tmp");
+        try {
+            Files.write(tempFile, ByteBuffer.allocate(Long.BYTES).putLong(0, readOffset).array());
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to save read offset of segment '{}', hence its {} drained payloads will be drained "
+                    + "again", segment.file, segment.remainingCount, e);
+        }
+    }
+
+    private Path segmentFile(long segmentNumber) {
+        return spillDirectory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+    }
+
+    private Path readOffsetFile(long segmentNumber) {
+        return spillDirectory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentNumber, READ_OFFSET_SUFFIX));
+    }
+
+    private byte[] drain() {
+        final Segment readSegment = segments.peekFirst();
+        try {
+            if (readChannel == null) {
+                readChannel = FileChannel.open(readSegment.file, READ);
+                readChannel.position(readSegment.readOffset());
+            }
+            readHeader.clear();
+            readFully(readChannel, readHeader);
+            final int payloadLength = readHeader.getInt(0);
+            if (payloadLength < 0 || RECORD_HEADER_SIZE + (long) payloadLength > readSegment.remainingBytes) {
+                throw new IOException("Invalid record length " + payloadLength);
+            }
+            final byte[] payload = new byte[payloadLength];
+            readFully(readChannel, ByteBuffer.wrap(payload));
+
+            final long recordSize = RECORD_HEADER_SIZE + payloadLength;
+            readSegment.remainingBytes -= recordSize;
+            readSegment.remainingCount--;
+            spilledCount--;
+            spilledBytes -= recordSize;
+            drainedCount++;
+            drainedBytes += recordSize;
+            recordDrain();
+            if (readSegment.remainingCount == 0) {
+                releaseReadSegment();
+            }
+            return payload;
+        } catch (IOException e) {
+            log.error("Failed to drain segment '{}', hence its remaining {} payloads are dropped", readSegment.file,
+                    readSegment.remainingCount, e);
+            spilledCount -= readSegment.remainingCount;
+            spilledBytes -= readSegment.remainingBytes;
+            readSegment.remainingBytes = 0;
+            readSegment.remainingCount = 0;
+            releaseReadSegment();
+            return null;
+        }
+    }
+
+    private void releaseReadSegment() {
+        final Segment readSegment = segments.pollFirst();
+        try {
+            if (readChannel != null) {
+                readChannel.close();
+            }
+            if (segments.isEmpty() && writeChannel != null) {
+                writeChannel.close();
+                writeChannel = null;
+            }
+            Files.deleteIfExists(readSegment.file);
+            Files.deleteIfExists(readOffsetFile(readSegment.number));
+        } catch (IOException e) {
+            log.warn("Failed to delete drained segment '{}'", readSegment.file, e);
+        } finally {
+            readChannel = null;
+        }
+    }
+
+    private void recordDrain() {
+        final long now = System.nanoTime();
+        drainWindowCount++;
+        final long elapsedNanos = now - drainWindowStartNanos;
+        if (elapsedNanos >= DRAIN_RATE_WINDOW_NANOS) {
+            drainRate = drainWindowCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            drainWindowStartNanos = now;
+            drainWindowCount = 0;
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(spillDirectory);
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(IngestionQueue::segmentNumber));
+        for (Path file : files) {
+            final long segmentNumber = segmentNumber(file);
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber + 1);
+
+            final Segment segment = scan(file, segmentNumber, readOffset(segmentNumber));
+            if (segment.remainingCount == 0) {
+                Files.delete(file);
+                Files.deleteIfExists(readOffsetFile(segmentNumber));
+                continue;
+            }
+            segments.addLast(segment);
+            spilledCount += segment.remainingCount;
+            spilledBytes += segment.remainingBytes;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory,
+                SEGMENT_PREFIX + "*" + READ_OFFSET_SUFFIX)) {
+            for (Path file : stream) {
+                if (!Files.exists(spillDirectory.resolve(file.getFileName().toString()
+                        .replace(READ_OFFSET_SUFFIX, SEGMENT_SUFFIX)))) {
+                    Files.delete(file);
+                }
+            }
+        }
+        if (spilledCount > 0) {
+            log.info("Recovered {} spilled webhook payloads from '{}'", spilledCount, spillDirectory);
+        }
+    }
+
+    /**
+     * @return the saved read offset of the segment, or {@code 0} if there is none or it cannot be read
+     */
+    private long readOffset(long segmentNumber) {
+        final Path file = readOffsetFile(segmentNumber);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            final byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length == Long.BYTES) {
+                return ByteBuffer.wrap(bytes).getLong();
+            }
+            log.warn("Ignoring invalid read offset file '{}'", file);
+        } catch (IOException e) {
+            log.warn("Failed to read read offset file '{}'", file, e);
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of the segment, negative for payloads spilled on close ahead of segment {@code 0}
+     */
+    private static long segmentNumber(Path file) {
+        final String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Counts the complete records of the segment, skipping those before the given read offset if it is a record
+     * boundary.
+     */
+    private static Segment scan(Path file, long segmentNumber, long readOffset) throws IOException {
+        final Segment segment = new Segment(file, segmentNumber);
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            final long fileSize = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            long position = 0;
+            long drainedCount = -1;
+            while (position + RECORD_HEADER_SIZE <= fileSize) {
+                if (position == readOffset) {
+                    drainedCount = segment.remainingCount;
+                }
+                header.clear();
+                channel.read(header, position);
+                final int payloadLength = header.getInt(0);
+                if (payloadLength < 0 || position + RECORD_HEADER_SIZE + payloadLength > fileSize) {
+                    break;
+                }
+                position += RECORD_HEADER_SIZE + payloadLength;
+                segment.remainingCount++;
+            }
+            if (position < fileSize) {
+                log.warn("Discarding partially written record at the end of segment '{}'", file);
+                channel.truncate(position);
+            }
+            if (position == readOffset) {
+                drainedCount = segment.remainingCount;
+            }
+            segment.size = position;
+            segment.remainingBytes = position;
+            if (drainedCount > 0) {
+                segment.remainingCount -= drainedCount;
+                segment.remainingBytes -= readOffset;
+            } else if (drainedCount < 0) {
+                log.warn("Ignoring read offset {} of segment '{}' as it is no record boundary", readOffset, file);
+            }
+        }
+        return segment;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of segment");
+            }
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        try {
+            if (readChannel != null) {
+                readChannel.close();
+            }
+        } finally {
+            readChannel = null;
+            if (writeChannel != null) {
+                writeChannel.close();
+                writeChannel = null;
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final long number;
+        private long size;
+        private long remainingBytes;
+        private long remainingCount;
+
+        Segment(Path file, long number) {
+            this.file = file;
+            this.number = number;
+        }
+
+        long readOffset() {
+            return size - remainingBytes;
+        }
+    }
+}
@@ -26,10 +26,19 @@ public final class SignatureUtil {
      * @return {@code true} if the verification was successful, otherwise {@code false}
      */
     public static boolean isSignatureValid(String payload, String signature, String appSecret) {
+        return isSignatureValid(payload.getBytes(), signature, appSecret);
+    }
+
+    /**
+     * Verifies the provided signature of the raw request body.
+     *
+     * @since 1.1.0
+     */
+    public static boolean isSignatureValid(byte[] payload, String signature, String appSecret) {
         try {
             final Mac mac = Mac.getInstance(HMAC_SHA1);
             mac.init(new SecretKeySpec(appSecret.getBytes(), HMAC_SHA1));
-            final byte[] rawHmac = mac.doFinal(payload.getBytes());
+            final byte[] rawHmac = mac.doFinal(payload);
 
             final String expected = signature.substring(5);
             final String actual = bytesToHexString(rawHmac);
@@ -0,0 +1,159 @@
+package com.github.messenger4j.webhook;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends the raw body, the {@code X-Hub-Signature} and the arrival time of every received webhook request to a
+ * compact log file, so that real traffic can be fed back into a {@code Messenger} by {@link WebhookReplayer}.
+ * <p>
+ * Records are buffered, call {@link #flush()} or {@link #close()} to write them out. A partially written record at
+ * the end of the file (e.g. after a crash) is discarded when the file is opened again. Failing to record a request
+ * is logged and counted, but never fails the request itself. As a failed write may leave a partial record behind,
+ * the recorder stops recording after the first failure, so that all records before it stay readable.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class WebhookRecorder implements Closeable {
+
+    static final int MAGIC = 0x4D34574C;
+    static final int VERSION = 1;
+    static final short NO_SIGNATURE = -1;
+
+    private final Path file;
+    private final DataOutputStream output;
+    private final LongAdder recordCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private volatile boolean failed;
+
+    /**
+     * Opens the file for appending, creating it if necessary.
+     */
+    public static WebhookRecorder open(@NonNull Path file) throws IOException {
+        final long validLength = Files.exists(file) ? WebhookRecordingReader.validLength(file) : 0;
+        final FileChannel channel = FileChannel.open(file, CREATE, WRITE);
+        try {
+            channel.truncate(validLength);
+            channel.position(validLength);
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel), 64 * 1024));
+            if (validLength == 0) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+            }
+            return new WebhookRecorder(file, output);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return all complete records of the file, in the order of their arrival
+     */
+    public static List<WebhookRecording> read(@NonNull Path file) throws IOException {
+        final List<WebhookRecording> recordings = new ArrayList<>();
+        try (WebhookRecordingReader reader = new WebhookRecordingReader(file)) {
+            WebhookRecording recording;
+            while ((recording = reader.next()) != null) {
+                recordings.add(recording);
+            }
+        }
+        return recordings;
+    }
+
+    private WebhookRecorder(Path file, DataOutputStream output) {
+        this.file = file;
+        this.output = output;
+    }
+
+    public void record(@NonNull String requestPayload, @NonNull Optional<String> signature) {
+        record(requestPayload.getBytes(UTF_8), signature);
+    }
+
+    public void record(@NonNull byte[] requestPayload, @NonNull Optional<String> signature) {
+        if (failed) {
+            failureCount.increment();
+            return;
+        }
+        final byte[] record = encode(System.currentTimeMillis(), requestPayload, signature);
+        try {
+            synchronized (output) {
+                if (failed) {
+                    failureCount.increment();
+                    return;
+                }
+                output.write(record);
+            }
+            recordCount.increment();
+        } catch (IOException e) {
+            failed = true;
+            failureCount.increment();
+            log.error("Failed to record webhook request to '{}', hence recording is stopped", file, e);
+        }
+    }
+
+    public long recordCount() {
+        return recordCount.sum();
+    }
+
+    /**
+     * @return the number of requests that could not be recorded, including those dropped after the first failure
+     */
+    public long failureCount() {
+        return failureCount.sum();
+    }
+
+    public void flush() throws IOException {
+        synchronized (output) {
+            try {
+                output.flush();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (output) {
+            output.close();
+        }
+    }
+
+    private static byte[] encode(long arrivalEpochMilli, byte[] requestPayload, Optional<String> signature) {
+        final byte[] signatureBytes = signature.isPresent() ? signature.get().getBytes(US_ASCII) : null;
+        final int signatureLength = signatureBytes == null ? 0 : signatureBytes.length;
+        final ByteBuffer record = ByteBuffer.allocate(8 + 2 + signatureLength + 4 + requestPayload.length);
+        record.putLong(arrivalEpochMilli);
+        if (signatureBytes == null) {
+            record.putShort(NO_SIGNATURE);
+        } else {
+            record.putShort((short) signatureBytes.length);
+            record.put(signatureBytes);
+        }
+        record.putInt(requestPayload.length);
+        record.put(requestPayload);
+        return record.array();
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.messenger4j.webhook;
+
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * A webhook request as recorded by {@link WebhookRecorder}.
+ *
+ * @since 1.1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class WebhookRecording {
+
+    private final long arrivalEpochMilli;
+    private final String payload;
+    private final Optional<String> signature;
+
+    public WebhookRecording(long arrivalEpochMilli, @NonNull String payload, @NonNull Optional<String> signature) {
+        this.arrivalEpochMilli = arrivalEpochMilli;
+        this.payload = payload;
+        this.signature = signature;
+    }
+
+    public long arrivalEpochMilli() {
+        return arrivalEpochMilli;
+    }
+
+    public String payload() {
+        return payload;
+    }
+
+    public Optional<String> signature() {
+        return signature;
+    }
+}
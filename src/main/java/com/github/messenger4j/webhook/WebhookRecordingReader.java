@@ -0,0 +1,102 @@
+package com.github.messenger4j.webhook;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Reads the records written by {@link WebhookRecorder} one at a time, so that large recordings can be replayed
+ * without holding them in memory. A partially written record at the end of the file is treated as its end.
+ *
+ * @since 1.1.0
+ */
+final class WebhookRecordingReader implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+
+    private final DataInputStream input;
+    private final long fileSize;
+    private final boolean empty;
+    private long position;
+
+    WebhookRecordingReader(Path file) throws IOException {
+        this.fileSize = Files.size(file);
+        this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+        this.empty = fileSize < HEADER_SIZE;
+        if (!empty) {
+            try {
+                if (input.readInt() != WebhookRecorder.MAGIC) {
+                    throw new IOException("'" + file + "' is not a webhook recording");
+                }
+                final int version = input.readInt();
+                if (version != WebhookRecorder.VERSION) {
+                    throw new IOException("Webhook recording version " + version + " is not supported");
+                }
+            } catch (IOException e) {
+                input.close();
+                throw e;
+            }
+            this.position = HEADER_SIZE;
+        }
+    }
+
+    /**
+     * @return the length of the file up to the end of its last complete record, {@code 0} if it has no valid header
+     */
+    static long validLength(Path file) throws IOException {
+        try (WebhookRecordingReader reader = new WebhookRecordingReader(file)) {
+            while (reader.next() != null) {
+                // scan to the last complete record
+            }
+            return reader.position;
+        }
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the file
+     */
+    WebhookRecording next() throws IOException {
+        if (empty) {
+            return null;
+        }
+        try {
+            final long arrivalEpochMilli = input.readLong();
+            final short signatureLength = input.readShort();
+            if (signatureLength < WebhookRecorder.NO_SIGNATURE) {
+                return null;
+            }
+            final Optional<String> signature;
+            if (signatureLength == WebhookRecorder.NO_SIGNATURE) {
+                signature = Optional.empty();
+            } else {
+                final byte[] signatureBytes = new byte[signatureLength];
+                input.readFully(signatureBytes);
+                signature = Optional.of(new String(signatureBytes, US_ASCII));
+            }
+            final int payloadLength = input.readInt();
+            final long recordSize = 8 + 2 + Math.max(0, signatureLength) + 4 + (long) payloadLength;
+            if (payloadLength < 0 || position + recordSize > fileSize) {
+                return null;
+            }
+            final byte[] payloadBytes = new byte[payloadLength];
+            input.readFully(payloadBytes);
+            position += recordSize;
+            return new WebhookRecording(arrivalEpochMilli, new String(payloadBytes, UTF_8), signature);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.messenger4j.webhook;
+
+import com.github.messenger4j.metrics.HistogramSnapshot;
+import java.time.Duration;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The outcome of replaying a webhook recording with {@link WebhookReplayer}. Latencies are in nanoseconds.
+ *
+ * @since 1.1.0
+ */
+@ToString
+public final class WebhookReplayResult {
+
+    private final long requestCount;
+    private final long eventCount;
+    private final long failureCount;
+    private final Duration elapsed;
+    private final HistogramSnapshot requestLatency;
+    private final HistogramSnapshot handlerLatency;
+
+    public WebhookReplayResult(long requestCount, long eventCount, long failureCount, @NonNull Duration elapsed,
+                               @NonNull HistogramSnapshot requestLatency, @NonNull HistogramSnapshot handlerLatency) {
+        this.requestCount = requestCount;
+        this.eventCount = eventCount;
+        this.failureCount = failureCount;
+        this.elapsed = elapsed;
+        this.requestLatency = requestLatency;
+        this.handlerLatency = handlerLatency;
+    }
+
+    public long requestCount() {
+        return requestCount;
+    }
+
+    public long eventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return the number of requests that failed the signature verification, could not be parsed or whose event
+     * handler threw an exception
+     */
+    public long failureCount() {
+        return failureCount;
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    public double requestsPerSecond() {
+        return perSecond(requestCount);
+    }
+
+    public double eventsPerSecond() {
+        return perSecond(eventCount);
+    }
+
+    /**
+     * @return the time from the scheduled arrival of each request until all its events were handled, hence a
+     * replay falling behind its schedule shows up as latency
+     */
+    public HistogramSnapshot requestLatency() {
+        return requestLatency;
+    }
+
+    /**
+     * @return the time spent in the event handler per event
+     */
+    public HistogramSnapshot handlerLatency() {
+        return handlerLatency;
+    }
+
+    private double perSecond(long count) {
+        final long elapsedNanos = elapsed.toNanos();
+        return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.messenger4j.webhook;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.exception.MessengerVerificationException;
+import com.github.messenger4j.metrics.InMemoryMessengerMetrics;
+import com.github.messenger4j.spi.MessengerMetrics.Timer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds the requests recorded by {@link WebhookRecorder} back into a {@link Messenger}, one after another and in the
+ * order of their arrival, and measures the throughput and latency of the event handler.
+ *
+ * @since 1.1.0
+ */
+@Slf4j
+public final class WebhookReplayer {
+
+    private static final String REQUEST_LATENCY = "replay.request";
+    private static final String HANDLER_LATENCY = "replay.handler";
+
+    private final double speed;
+    private final boolean verifySignatures;
+
+    /**
+     * @param speed            {@code 1} keeps the recorded pace, {@code 10} replays ten times faster and
+     *                         {@link Double#POSITIVE_INFINITY} replays as fast as possible
+     * @param verifySignatures whether the recorded signatures are verified, which requires the {@code Messenger} to
+     *                         use the app secret of the recording
+     */
+    public static WebhookReplayer create(double speed, boolean verifySignatures) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed must be positive");
+        }
+        return new WebhookReplayer(speed, verifySignatures);
+    }
+
+    private WebhookReplayer(double speed, boolean verifySignatures) {
+        this.speed = speed;
+        this.verifySignatures = verifySignatures;
+    }
+
+    public WebhookReplayResult replay(@NonNull Path recording, @NonNull Messenger messenger,
+                                      @NonNull Consumer<Event> eventHandler)
+            throws IOException, InterruptedException {
+
+        final InMemoryMessengerMetrics metrics = InMemoryMessengerMetrics.create();
+        final Timer requestLatency = metrics.timer(REQUEST_LATENCY);
+        final Timer handlerLatency = metrics.timer(HANDLER_LATENCY);
+        final LongAdder eventCount = new LongAdder();
+        final Consumer<Event> measuredEventHandler = event -> {
+            final long handlerStartNanos = System.nanoTime();
+            eventHandler.accept(event);
+            handlerLatency.record(System.nanoTime() - handlerStartNanos);
+            eventCount.increment();
+        };
+
+        long requestCount = 0;
+        long failureCount = 0;
+        long firstArrivalEpochMilli = 0;
+        final long startNanos = System.nanoTime();
+        try (WebhookRecordingReader reader = new WebhookRecordingReader(recording)) {
+            WebhookRecording webhookRecording;
+            while ((webhookRecording = reader.next()) != null) {
+                if (requestCount == 0) {
+                    firstArrivalEpochMilli = webhookRecording.arrivalEpochMilli();
+                }
+                final long scheduledNanos = schedule(startNanos,
+                        webhookRecording.arrivalEpochMilli() - firstArrivalEpochMilli);
+                try {
+                    messenger.onReceiveEvents(webhookRecording.payload(),
+                            verifySignatures ? webhookRecording.signature() : Optional.empty(), measuredEventHandler);
+                } catch (MessengerVerificationException | RuntimeException e) {
+                    failureCount++;
+                    log.debug("Replayed webhook request failed", e);
+                }
+                requestLatency.record(System.nanoTime() - scheduledNanos);
+                requestCount++;
+            }
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        return new WebhookReplayResult(requestCount, eventCount.sum(), failureCount, elapsed,
+                metrics.snapshot(REQUEST_LATENCY).get(), metrics.snapshot(HANDLER_LATENCY).get());
+    }
+
+    /**
+     * Waits until the scheduled arrival of a request.
+     *
+     * @return the scheduled arrival, or now when replaying as fast as possible
+     */
+    private long schedule(long startNanos, long offsetMillis) throws InterruptedException {
+        if (Double.isInfinite(speed)) {
+            return System.nanoTime();
+        }
+        final long scheduledNanos = startNanos + (long) (MILLISECONDS.toNanos(Math.max(0, offsetMillis)) / speed);
+        final long remainingNanos = scheduledNanos - System.nanoTime();
+        if (remainingNanos > 0) {
+            NANOSECONDS.sleep(remainingNanos);
+        }
+        return scheduledNanos;
+    }
+}
@@ -1,36 +1,103 @@
 package com.github.messenger4j.webhook.event;
 
+import static com.github.messenger4j.internal.NumericIds.NOT_NUMERIC;
+
+import com.github.messenger4j.internal.NumericIds;
 import java.time.Instant;
 import lombok.EqualsAndHashCode;
-import lombok.ToString;
 
 /**
+ * The IDs and the timestamp common to all events.
+ * <p>
+ * To keep buffered events small, numeric IDs (like PSIDs and page IDs) are held as {@code long} and the timestamp
+ * as epoch milliseconds. The {@code String} view of a numeric ID is created on first access and then cached, the
+ * {@code Instant} view is created on every access; use {@link #senderIdAsLong()}, {@link #recipientIdAsLong()} and
+ * {@link #timestampEpochMilli()} to avoid both.
+ * <p>
+ * Like the timestamps sent by Facebook, timestamps and watermarks are kept with millisecond precision: an
+ * {@code Instant} passed to a constructor is truncated to milliseconds, so {@link #timestamp()} and {@code equals}
+ * ignore any sub-millisecond part, and an {@code Instant} beyond the range of epoch milliseconds in a {@code long}
+ * is rejected with an {@code ArithmeticException}.
+ *
  * @author Max Grabenhorst
  * @since 1.0.0
  */
-@ToString
 @EqualsAndHashCode
 public abstract class BaseEvent {
 
-    private final String senderId;
-    private final String recipientId;
-    private final Instant timestamp;
+    private final long senderIdNumber;
+    private final String senderIdText;
+    private final long recipientIdNumber;
+    private final String recipientIdText;
+    private final long timestampEpochMilli;
+    private transient String senderIdCache;
+    private transient String recipientIdCache;
 
     BaseEvent(String senderId, String recipientId, Instant timestamp) {
-        this.senderId = senderId;
-        this.recipientId = recipientId;
-        this.timestamp = timestamp;
+        this.senderIdNumber = NumericIds.parse(senderId);
+        this.senderIdText = senderIdNumber == NOT_NUMERIC ? senderId : null;
+        this.recipientIdNumber = NumericIds.parse(recipientId);
+        this.recipientIdText = recipientIdNumber == NOT_NUMERIC ? recipientId : null;
+        this.timestampEpochMilli = timestamp.toEpochMilli();
     }
 
     public String senderId() {
+        if (senderIdNumber == NOT_NUMERIC) {
+            return senderIdText;
+        }
+        String senderId = senderIdCache;
+        if (senderId == null) {
+            senderId = Long.toString(senderIdNumber);
+            senderIdCache = senderId;
+        }
         return senderId;
     }
 
+    /**
+     * @return the sender ID as {@code long}, or {@code -1} if it is absent or not numeric
+     * @since 1.1.0
+     */
+    public long senderIdAsLong() {
+        return senderIdNumber;
+    }
+
     public String recipientId() {
+        if (recipientIdNumber == NOT_NUMERIC) {
+            return recipientIdText;
+        }
+        String recipientId = recipientIdCache;
+        if (recipientId == null) {
+            recipientId = Long.toString(recipientIdNumber);
+            recipientIdCache = recipientId;
+        }
         return recipientId;
     }
 
+    /**
+     * @return the recipient ID as {@code long}, or {@code -1} if it is not numeric
+     * @since 1.1.0
+     */
+    public long recipientIdAsLong() {
+        return recipientIdNumber;
+    }
+
+    /**
+     * @return the timestamp, truncated to milliseconds
+     */
     public Instant timestamp() {
-        return timestamp;
+        return Instant.ofEpochMilli(timestampEpochMilli);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    public long timestampEpochMilli() {
+        return timestampEpochMilli;
+    }
+
+    @Override
+    public String toString() {
+        return "BaseEvent(senderId=" + senderId() + ", recipientId=" + recipientId() + ", timestamp=" + timestamp() +
+                ")";
     }
 }
@@ -1,7 +1,8 @@
 package com.github.messenger4j.webhook.event;
 
-import com.github.messenger4j.internal.Lists;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import lombok.EqualsAndHashCode;
@@ -12,25 +13,47 @@ import lombok.ToString;
  * @author Max Grabenhorst
  * @since 1.0.0
  */
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = "messageIdsView")
 @EqualsAndHashCode(callSuper = true)
 public final class MessageDeliveredEvent extends BaseEvent {
 
-    private final Instant watermark;
-    private final Optional<List<String>> messageIds;
+    private final long watermarkEpochMilli;
+    private final String[] messageIds;
+    private transient Optional<List<String>> messageIdsView;
 
     public MessageDeliveredEvent(@NonNull String senderId, @NonNull String recipientId, @NonNull Instant timestamp,
                                  @NonNull Instant watermark, @NonNull Optional<List<String>> messageIds) {
         super(senderId, recipientId, timestamp);
-        this.watermark = watermark;
-        this.messageIds = messageIds.map(Lists::immutableList);
+        this.watermarkEpochMilli = watermark.toEpochMilli();
+        this.messageIds = messageIds.map(ids -> ids.toArray(new String[0])).orElse(null);
     }
 
+    /**
+     * @return the watermark, truncated to milliseconds like the timestamp, see {@link BaseEvent}
+     */
     public Instant watermark() {
-        return watermark;
+        return Instant.ofEpochMilli(watermarkEpochMilli);
     }
 
+    /**
+     * @since 1.1.0
+     */
+    public long watermarkEpochMilli() {
+        return watermarkEpochMilli;
+    }
+
+    /**
+     * @return an unmodifiable view of the IDs of the delivered messages, created on first access and then cached
+     */
     public Optional<List<String>> messageIds() {
-        return messageIds;
+        if (messageIds == null) {
+            return Optional.empty();
+        }
+        Optional<List<String>> view = messageIdsView;
+        if (view == null) {
+            view = Optional.of(Collections.unmodifiableList(Arrays.asList(messageIds)));
+            messageIdsView = view;
+        }
+        return view;
     }
 }
@@ -13,15 +13,25 @@ import lombok.ToString;
 @EqualsAndHashCode(callSuper = true)
 public final class MessageReadEvent extends BaseEvent {
 
-    private final Instant watermark;
+    private final long watermarkEpochMilli;
 
     public MessageReadEvent(@NonNull String senderId, @NonNull String recipientId, @NonNull Instant timestamp,
                             @NonNull Instant watermark) {
         super(senderId, recipientId, timestamp);
-        this.watermark = watermark;
+        this.watermarkEpochMilli = watermark.toEpochMilli();
     }
 
+    /**
+     * @return the watermark, truncated to milliseconds like the timestamp, see {@link BaseEvent}
+     */
     public Instant watermark() {
-        return watermark;
+        return Instant.ofEpochMilli(watermarkEpochMilli);
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    public long watermarkEpochMilli() {
+        return watermarkEpochMilli;
     }
 }
@@ -1,31 +1,85 @@
 package com.github.messenger4j.webhook.event.nlp;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import java.util.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
-import lombok.ToString;
 
 /**
+ * An entity detected by the built-in NLP, kept as the parsed JSON structure it was received as.
+ * <p>
+ * The common fields are available through {@link #value()} and {@link #confidence()} without any decoding. Custom
+ * classes are decoded from the parsed structure by {@link #as(Class)}, using one cached type adapter per class.
+ *
  * @author Joe Tindale
  * @since 1.0.0
  */
-@ToString
 @EqualsAndHashCode
 public final class NLPEntity {
 
+    private static final String PROP_VALUE = "value";
+    private static final String PROP_CONFIDENCE = "confidence";
+
     private static final Gson gson = new Gson();
+    private static final ClassValue<TypeAdapter<?>> typeAdapters = new ClassValue<TypeAdapter<?>>() {
+        @Override
+        protected TypeAdapter<?> computeValue(Class<?> type) {
+            return gson.getAdapter(type);
+        }
+    };
 
-    private final String json;
+    private final JsonElement json;
 
     public NLPEntity(@NonNull String json) {
+        this(new JsonParser().parse(json));
+    }
+
+    /**
+     * @since 1.1.0
+     */
+    public NLPEntity(@NonNull JsonElement json) {
         this.json = json;
     }
 
     public String asString() {
-        return json;
+        return json.toString();
+    }
+
+    public <T> T as(@NonNull Class<T> classOfT) {
+        @SuppressWarnings("unchecked")
+        final TypeAdapter<T> typeAdapter = (TypeAdapter<T>) typeAdapters.get(classOfT);
+        return typeAdapter.fromJsonTree(json);
+    }
+
+    /**
+     * @return the {@code value} as string, if it is a JSON primitive
+     * @since 1.1.0
+     */
+    public Optional<String> value() {
+        final JsonElement value = property(PROP_VALUE);
+        return value != null && value.isJsonPrimitive() ? Optional.of(value.getAsString()) : Optional.empty();
+    }
+
+    /**
+     * @return the {@code confidence}, or {@link Double#NaN} if it is absent or not a number
+     * @since 1.1.0
+     */
+    public double confidence() {
+        final JsonElement confidence = property(PROP_CONFIDENCE);
+        return confidence != null && confidence.isJsonPrimitive() && confidence.getAsJsonPrimitive().isNumber()
+                ? confidence.getAsDouble() : Double.NaN;
+    }
+
+    private JsonElement property(String name) {
+        return json.isJsonObject() ? ((JsonObject) json).get(name) : null;
     }
 
-    public <T> T as(Class<T> classOfT) {
-        return gson.fromJson(json, classOfT);
+    @Override
+    public String toString() {
+        return "NLPEntity(json=" + json + ")";
     }
 }
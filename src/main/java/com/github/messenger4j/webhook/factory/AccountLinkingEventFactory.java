@@ -2,15 +2,10 @@ package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ACCOUNT_LINKING;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_AUTHORIZATION_CODE;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_STATUS;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.AccountLinkingEvent;
 import com.google.gson.JsonObject;
 import java.time.Instant;
@@ -22,25 +17,23 @@ import java.util.Optional;
  */
 final class AccountLinkingEventFactory implements BaseEventFactory<AccountLinkingEvent> {
 
+    private static final PropertyPath ACCOUNT_LINKING = path(PROP_ACCOUNT_LINKING);
+    private static final PropertyPath STATUS = path(PROP_ACCOUNT_LINKING, PROP_STATUS);
+    private static final PropertyPath AUTHORIZATION_CODE = path(PROP_ACCOUNT_LINKING, PROP_AUTHORIZATION_CODE);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_ACCOUNT_LINKING);
+        return ACCOUNT_LINKING.isPresent(messagingEvent);
     }
 
     @Override
     public AccountLinkingEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final AccountLinkingEvent.Status status = getPropertyAsString(messagingEvent, PROP_ACCOUNT_LINKING, PROP_STATUS)
-                .map(String::toUpperCase)
-                .map(AccountLinkingEvent.Status::valueOf)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> authorizationCode = getPropertyAsString(messagingEvent,
-                PROP_ACCOUNT_LINKING, PROP_AUTHORIZATION_CODE);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final AccountLinkingEvent.Status status = AccountLinkingEvent.Status.valueOf(
+                STATUS.requireString(messagingEvent).toUpperCase());
+        final Optional<String> authorizationCode = AUTHORIZATION_CODE.getAsOptionalString(messagingEvent);
 
         return new AccountLinkingEvent(senderId, recipientId, timestamp, status, authorizationCode);
     }
@@ -2,26 +2,16 @@ package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ATTACHMENTS;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_COORDINATES;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_IS_ECHO;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_LAT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_LONG;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PAYLOAD;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PRIOR_MESSAGE;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TYPE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_URL;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsDouble;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonArray;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonObject;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.AttachmentMessageEvent;
 import com.github.messenger4j.webhook.event.attachment.Attachment;
 import com.github.messenger4j.webhook.event.attachment.FallbackAttachment;
@@ -45,27 +35,27 @@ import java.util.Optional;
  */
 final class AttachmentMessageEventFactory implements BaseEventFactory<AttachmentMessageEvent> {
 
+    private static final PropertyPath MESSAGE_ATTACHMENTS = path(PROP_MESSAGE, PROP_ATTACHMENTS);
+    private static final PropertyPath MESSAGE_IS_ECHO = path(PROP_MESSAGE, PROP_IS_ECHO);
+    private static final PropertyPath MESSAGE_MID = path(PROP_MESSAGE, PROP_MID);
+    private static final PropertyPath PAYLOAD_URL = path(PROP_PAYLOAD, PROP_URL);
+    private static final PropertyPath PAYLOAD_LATITUDE = path(PROP_PAYLOAD, PROP_COORDINATES, PROP_LAT);
+    private static final PropertyPath PAYLOAD_LONGITUDE = path(PROP_PAYLOAD, PROP_COORDINATES, PROP_LONG);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_MESSAGE, PROP_ATTACHMENTS) &&
-                !hasProperty(messagingEvent, PROP_MESSAGE, PROP_IS_ECHO);
+        return MESSAGE_ATTACHMENTS.isPresent(messagingEvent) && !MESSAGE_IS_ECHO.isPresent(messagingEvent);
     }
 
     @Override
     public AttachmentMessageEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final String messageId = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_MID)
-                .orElseThrow(IllegalArgumentException::new);
-        final JsonArray attachmentsJsonArray = getPropertyAsJsonArray(messagingEvent, PROP_MESSAGE, PROP_ATTACHMENTS)
-                .orElseThrow(IllegalArgumentException::new);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final String messageId = MESSAGE_MID.requireString(messagingEvent);
+        final JsonArray attachmentsJsonArray = MESSAGE_ATTACHMENTS.requireJsonArray(messagingEvent);
         final List<Attachment> attachments = getAttachmentsFromJsonArray(attachmentsJsonArray);
-        final Optional<PriorMessage> priorMessage = getPropertyAsJsonObject(messagingEvent, PROP_PRIOR_MESSAGE)
-                .map(this::getPriorMessageFromJsonObject);
+        final Optional<PriorMessage> priorMessage = getPriorMessage(messagingEvent);
 
         return new AttachmentMessageEvent(senderId, recipientId, timestamp, messageId, attachments, priorMessage);
     }
@@ -74,24 +64,18 @@ final class AttachmentMessageEventFactory implements BaseEventFactory<Attachment
         final List<Attachment> attachments = new ArrayList<>(attachmentsJsonArray.size());
         for (JsonElement attachmentJsonElement : attachmentsJsonArray) {
             final JsonObject attachmentJsonObject = attachmentJsonElement.getAsJsonObject();
-            final String type = getPropertyAsString(attachmentJsonObject, PROP_TYPE)
-                    .map(String::toUpperCase)
-                    .orElseThrow(IllegalArgumentException::new);
+            final String type = TYPE.requireString(attachmentJsonObject).toUpperCase();
             switch (type) {
                 case "IMAGE":
                 case "AUDIO":
                 case "VIDEO":
                 case "FILE":
-                    final URL url = getPropertyAsString(attachmentJsonObject, PROP_PAYLOAD, PROP_URL)
-                            .map(this::getUrlFromString)
-                            .orElseThrow(IllegalArgumentException::new);
+                    final URL url = getUrlFromString(PAYLOAD_URL.requireString(attachmentJsonObject));
                     attachments.add(new RichMediaAttachment(Type.valueOf(type), url));
                     break;
                 case "LOCATION":
-                    final Double latitude = getPropertyAsDouble(attachmentJsonObject, PROP_PAYLOAD, PROP_COORDINATES, PROP_LAT)
-                            .orElseThrow(IllegalArgumentException::new);
-                    final Double longitude = getPropertyAsDouble(attachmentJsonObject, PROP_PAYLOAD, PROP_COORDINATES, PROP_LONG)
-                            .orElseThrow(IllegalArgumentException::new);
+                    final double latitude = PAYLOAD_LATITUDE.requireDouble(attachmentJsonObject);
+                    final double longitude = PAYLOAD_LONGITUDE.requireDouble(attachmentJsonObject);
                     attachments.add(new LocationAttachment(latitude, longitude));
                     break;
                 case "FALLBACK":
@@ -1,12 +1,18 @@
 package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_AD_ID;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_IDENTIFIER;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PRIOR_MESSAGE;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_REF;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SOURCE;
+import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TYPE;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.BaseEvent;
 import com.github.messenger4j.webhook.event.common.PriorMessage;
 import com.github.messenger4j.webhook.event.common.Referral;
@@ -19,23 +25,36 @@ import java.util.Optional;
  */
 interface BaseEventFactory<E extends BaseEvent> {
 
+    PropertyPath SENDER_ID = path(PROP_SENDER, PROP_ID);
+    PropertyPath RECIPIENT_ID = path(PROP_RECIPIENT, PROP_ID);
+    PropertyPath TIMESTAMP = path(PROP_TIMESTAMP);
+    PropertyPath PRIOR_MESSAGE = path(PROP_PRIOR_MESSAGE);
+    PropertyPath SOURCE = path(PROP_SOURCE);
+    PropertyPath IDENTIFIER = path(PROP_IDENTIFIER);
+    PropertyPath TYPE = path(PROP_TYPE);
+    PropertyPath REF = path(PROP_REF);
+    PropertyPath AD_ID = path(PROP_AD_ID);
+
     boolean isResponsible(JsonObject messagingEvent);
 
     E createEventFromJson(JsonObject messagingEvent);
 
+    default Optional<PriorMessage> getPriorMessage(JsonObject messagingEvent) {
+        final JsonObject priorMessage = PRIOR_MESSAGE.getAsJsonObject(messagingEvent);
+        return priorMessage == null ? Optional.empty() : Optional.of(getPriorMessageFromJsonObject(priorMessage));
+    }
+
     default PriorMessage getPriorMessageFromJsonObject(JsonObject jsonObject) {
-        final String source = getPropertyAsString(jsonObject, PROP_SOURCE)
-                .orElseThrow(IllegalArgumentException::new);
-        final String identifier = getPropertyAsString(jsonObject, PROP_IDENTIFIER)
-                .orElseThrow(IllegalArgumentException::new);
+        final String source = SOURCE.requireString(jsonObject);
+        final String identifier = IDENTIFIER.requireString(jsonObject);
         return new PriorMessage(source, identifier);
     }
 
     default Referral createReferralFromJson(JsonObject jsonObject) {
-        final String source = getPropertyAsString(jsonObject, PROP_SOURCE).orElseThrow(IllegalArgumentException::new);
-        final String type = getPropertyAsString(jsonObject, PROP_TYPE).orElseThrow(IllegalArgumentException::new);
-        final Optional<String> refPayload = getPropertyAsString(jsonObject, PROP_REF);
-        final Optional<String> adId = getPropertyAsString(jsonObject, PROP_AD_ID);
+        final String source = SOURCE.requireString(jsonObject);
+        final String type = TYPE.requireString(jsonObject);
+        final Optional<String> refPayload = REF.getAsOptionalString(jsonObject);
+        final Optional<String> adId = AD_ID.getAsOptionalString(jsonObject);
 
         return new Referral(source, type, refPayload, adId);
     }
@@ -3,16 +3,17 @@ package com.github.messenger4j.webhook.factory;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
-import com.github.messenger4j.internal.Lists;
+import com.github.messenger4j.internal.NumericIds;
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IdentifierInterner;
 import com.github.messenger4j.webhook.event.FallbackEvent;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import java.time.Instant;
-import java.util.List;
 
 /**
  * @author Max Grabenhorst
@@ -20,7 +21,10 @@ import java.util.List;
  */
 public final class EventFactory {
 
-    private static final List<BaseEventFactory> FACTORIES = Lists.immutableList(
+    private static final PropertyPath SENDER = path(PROP_SENDER);
+    private static final PropertyPath RECIPIENT = path(PROP_RECIPIENT);
+
+    private static final BaseEventFactory<?>[] FACTORIES = {
             new TextMessageEventFactory(),
             new AttachmentMessageEventFactory(),
             new QuickReplyMessageEventFactory(),
@@ -32,22 +36,47 @@ public final class EventFactory {
             new MessageReadEventFactory(),
             new AccountLinkingEventFactory(),
             new InstantGameEventFactory()
-    );
+    };
 
     private EventFactory() {
     }
 
+    /**
+     * Replaces the non-numeric sender and recipient IDs of the given messaging event with their canonical instances
+     * before the event is created, so the created event references the shared IDs. Numeric IDs are skipped, as the
+     * event holds them as {@code long} anyway.
+     */
+    public static Event createEvent(JsonObject messagingEvent, IdentifierInterner identifierInterner) {
+        internId(SENDER.getAsJsonObject(messagingEvent), identifierInterner);
+        internId(RECIPIENT.getAsJsonObject(messagingEvent), identifierInterner);
+        return createEvent(messagingEvent);
+    }
+
     public static Event createEvent(JsonObject messagingEvent) {
-        for (BaseEventFactory factory : FACTORIES) {
+        for (BaseEventFactory<?> factory : FACTORIES) {
             if (factory.isResponsible(messagingEvent)) {
                 return new Event(factory.createEventFromJson(messagingEvent));
             }
         }
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP).orElse(Instant.now());
+        final String senderId = BaseEventFactory.SENDER_ID.requireString(messagingEvent);
+        final String recipientId = BaseEventFactory.RECIPIENT_ID.requireString(messagingEvent);
+        final long timestampMillis = BaseEventFactory.TIMESTAMP.getAsLong(messagingEvent, Long.MIN_VALUE);
+        final Instant timestamp = timestampMillis == Long.MIN_VALUE ? Instant.now()
+                : Instant.ofEpochMilli(timestampMillis);
         return new Event(new FallbackEvent(senderId, recipientId, timestamp));
     }
+
+    private static void internId(JsonObject participant, IdentifierInterner identifierInterner) {
+        if (participant == null) {
+            return;
+        }
+        final JsonElement id = participant.get(PROP_ID.value());
+        if (id == null || !id.isJsonPrimitive()) {
+            return;
+        }
+        final String idText = id.getAsString();
+        if (NumericIds.parse(idText) == NumericIds.NOT_NUMERIC) {
+            participant.add(PROP_ID.value(), new JsonPrimitive(identifierInterner.intern(idText)));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.messenger4j.webhook.factory;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.InstantGameEvent;
 import com.google.gson.JsonObject;
 
@@ -7,36 +8,39 @@ import java.time.Instant;
 import java.util.Optional;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.*;
-import static com.github.messenger4j.internal.gson.GsonUtil.*;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
 /**
  * @author Marco Song
  * @since 1.0.0
  */
 public class InstantGameEventFactory implements BaseEventFactory<InstantGameEvent> {
+
+    private static final PropertyPath GAME_PLAY = path(PROP_GAME_PLAY);
+    private static final PropertyPath GAME_ID = path(PROP_GAME_PLAY, PROP_GAME_ID);
+    private static final PropertyPath PLAYER_ID = path(PROP_GAME_PLAY, PROP_PLAYER_ID);
+    private static final PropertyPath CONTEXT_TYPE = path(PROP_GAME_PLAY, PROP_CONTEXT_TYPE);
+    private static final PropertyPath CONTEXT_ID = path(PROP_GAME_PLAY, PROP_CONTEXT_ID);
+    private static final PropertyPath SCORE = path(PROP_GAME_PLAY, PROP_SCORE);
+    private static final PropertyPath PAYLOAD = path(PROP_GAME_PLAY, PROP_PAYLOAD);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_GAME_PLAY);
+        return GAME_PLAY.isPresent(messagingEvent);
 
     }
 
     @Override
     public InstantGameEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final String gameId = getPropertyAsString(messagingEvent, PROP_GAME_PLAY, PROP_GAME_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String playerId = getPropertyAsString(messagingEvent, PROP_GAME_PLAY, PROP_PLAYER_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String contextType = getPropertyAsString(messagingEvent, PROP_GAME_PLAY, PROP_CONTEXT_TYPE)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> contextId = getPropertyAsString(messagingEvent, PROP_GAME_PLAY, PROP_CONTEXT_ID);
-        final Optional<Integer> score = getPropertyAsInt(messagingEvent, PROP_GAME_PLAY, PROP_SCORE);
-        final Optional<String> payload = getPropertyAsString(messagingEvent, PROP_GAME_PLAY, PROP_PAYLOAD);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final String gameId = GAME_ID.requireString(messagingEvent);
+        final String playerId = PLAYER_ID.requireString(messagingEvent);
+        final String contextType = CONTEXT_TYPE.requireString(messagingEvent);
+        final Optional<String> contextId = CONTEXT_ID.getAsOptionalString(messagingEvent);
+        final Optional<Integer> score = SCORE.getAsOptionalInt(messagingEvent);
+        final Optional<String> payload = PAYLOAD.getAsOptionalString(messagingEvent);
 
         return new InstantGameEvent(senderId,recipientId,timestamp,gameId,playerId,contextType,contextId,score,payload);
     }
@@ -1,17 +1,11 @@
 package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_DELIVERY;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MIDS;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_WATERMARK;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonArray;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.MessageDeliveredEvent;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -27,22 +21,26 @@ import java.util.Optional;
  */
 final class MessageDeliveredEventFactory implements BaseEventFactory<MessageDeliveredEvent> {
 
+    private static final PropertyPath DELIVERY = path(PROP_DELIVERY);
+    private static final PropertyPath DELIVERY_WATERMARK = path(PROP_DELIVERY, PROP_WATERMARK);
+    private static final PropertyPath DELIVERY_MIDS = path(PROP_DELIVERY, PROP_MIDS);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_DELIVERY);
+        return DELIVERY.isPresent(messagingEvent);
     }
 
     @Override
     public MessageDeliveredEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP).orElse(Instant.now());
-        final Instant watermark = getPropertyAsInstant(messagingEvent, PROP_DELIVERY, PROP_WATERMARK)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<List<String>> messageIds = getPropertyAsJsonArray(messagingEvent, PROP_DELIVERY, PROP_MIDS)
-                .map(this::getMessageIdsFromJsonArray);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final long timestampMillis = TIMESTAMP.getAsLong(messagingEvent, Long.MIN_VALUE);
+        final Instant timestamp = timestampMillis == Long.MIN_VALUE ? Instant.now()
+                : Instant.ofEpochMilli(timestampMillis);
+        final Instant watermark = Instant.ofEpochMilli(DELIVERY_WATERMARK.requireLong(messagingEvent));
+        final JsonArray messageIdsJsonArray = DELIVERY_MIDS.getAsJsonArray(messagingEvent);
+        final Optional<List<String>> messageIds = messageIdsJsonArray == null ? Optional.empty()
+                : Optional.of(getMessageIdsFromJsonArray(messageIdsJsonArray));
 
         return new MessageDeliveredEvent(senderId, recipientId, timestamp, watermark, messageIds);
     }
@@ -1,18 +1,13 @@
 package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_APP_ID;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_IS_ECHO;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_METADATA;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MID;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.MessageEchoEvent;
 import com.google.gson.JsonObject;
 import java.time.Instant;
@@ -24,24 +19,24 @@ import java.util.Optional;
  */
 final class MessageEchoEventFactory implements BaseEventFactory<MessageEchoEvent> {
 
+    private static final PropertyPath MESSAGE_IS_ECHO = path(PROP_MESSAGE, PROP_IS_ECHO);
+    private static final PropertyPath MESSAGE_MID = path(PROP_MESSAGE, PROP_MID);
+    private static final PropertyPath MESSAGE_APP_ID = path(PROP_MESSAGE, PROP_APP_ID);
+    private static final PropertyPath MESSAGE_METADATA = path(PROP_MESSAGE, PROP_METADATA);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_MESSAGE, PROP_IS_ECHO);
+        return MESSAGE_IS_ECHO.isPresent(messagingEvent);
     }
 
     @Override
     public MessageEchoEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final String messageId = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_MID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String appId = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_APP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> metadata = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_METADATA);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final String messageId = MESSAGE_MID.requireString(messagingEvent);
+        final String appId = MESSAGE_APP_ID.requireString(messagingEvent);
+        final Optional<String> metadata = MESSAGE_METADATA.getAsOptionalString(messagingEvent);
 
         return new MessageEchoEvent(senderId, recipientId, timestamp, messageId, appId, metadata);
     }
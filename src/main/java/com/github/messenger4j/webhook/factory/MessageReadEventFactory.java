@@ -1,15 +1,10 @@
 package com.github.messenger4j.webhook.factory;
 
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_READ;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_WATERMARK;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.MessageReadEvent;
 import com.google.gson.JsonObject;
 import java.time.Instant;
@@ -20,21 +15,20 @@ import java.time.Instant;
  */
 final class MessageReadEventFactory implements BaseEventFactory<MessageReadEvent> {
 
+    private static final PropertyPath READ = path(PROP_READ);
+    private static final PropertyPath READ_WATERMARK = path(PROP_READ, PROP_WATERMARK);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_READ);
+        return READ.isPresent(messagingEvent);
     }
 
     @Override
     public MessageReadEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant watermark = getPropertyAsInstant(messagingEvent, PROP_READ, PROP_WATERMARK)
-                .orElseThrow(IllegalArgumentException::new);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final Instant watermark = Instant.ofEpochMilli(READ_WATERMARK.requireLong(messagingEvent));
 
         return new MessageReadEvent(senderId, recipientId, timestamp, watermark);
     }
@@ -1,16 +1,11 @@
 package com.github.messenger4j.webhook.factory;
 
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_OPTIN;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_REF;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_USER_REF;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.OptInEvent;
 import com.google.gson.JsonObject;
 import java.time.Instant;
@@ -22,20 +17,22 @@ import java.util.Optional;
  */
 final class OptInEventFactory implements BaseEventFactory<OptInEvent> {
 
+    private static final PropertyPath OPTIN = path(PROP_OPTIN);
+    private static final PropertyPath OPTIN_REF = path(PROP_OPTIN, PROP_REF);
+    private static final PropertyPath OPTIN_USER_REF = path(PROP_OPTIN, PROP_USER_REF);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_OPTIN);
+        return OPTIN.isPresent(messagingEvent);
     }
 
     @Override
     public OptInEvent createEventFromJson(JsonObject messagingEvent) {
-        final Optional<String> senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> refPayload = getPropertyAsString(messagingEvent, PROP_OPTIN, PROP_REF);
-        final Optional<String> userRefPayload = getPropertyAsString(messagingEvent, PROP_OPTIN, PROP_USER_REF);
+        final Optional<String> senderId = SENDER_ID.getAsOptionalString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final Optional<String> refPayload = OPTIN_REF.getAsOptionalString(messagingEvent);
+        final Optional<String> userRefPayload = OPTIN_USER_REF.getAsOptionalString(messagingEvent);
 
         return new OptInEvent(senderId, recipientId, timestamp, refPayload, userRefPayload);
     }
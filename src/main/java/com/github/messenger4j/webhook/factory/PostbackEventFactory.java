@@ -1,19 +1,12 @@
 package com.github.messenger4j.webhook.factory;
 
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PAYLOAD;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_POSTBACK;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PRIOR_MESSAGE;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_REFERRAL;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TITLE;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonObject;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.PostbackEvent;
 import com.github.messenger4j.webhook.event.common.PriorMessage;
 import com.github.messenger4j.webhook.event.common.Referral;
@@ -27,26 +20,27 @@ import java.util.Optional;
  */
 final class PostbackEventFactory implements BaseEventFactory<PostbackEvent> {
 
+    private static final PropertyPath POSTBACK = path(PROP_POSTBACK);
+    private static final PropertyPath POSTBACK_TITLE = path(PROP_POSTBACK, PROP_TITLE);
+    private static final PropertyPath POSTBACK_PAYLOAD = path(PROP_POSTBACK, PROP_PAYLOAD);
+    private static final PropertyPath POSTBACK_REFERRAL = path(PROP_POSTBACK, PROP_REFERRAL);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_POSTBACK);
+        return POSTBACK.isPresent(messagingEvent);
     }
 
     @Override
     public PostbackEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final String title = getPropertyAsString(messagingEvent, PROP_POSTBACK, PROP_TITLE)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<String> payload = getPropertyAsString(messagingEvent, PROP_POSTBACK, PROP_PAYLOAD);
-        final Optional<Referral> referral = getPropertyAsJsonObject(messagingEvent, PROP_POSTBACK, PROP_REFERRAL)
-                .map(this::createReferralFromJson);
-        final Optional<PriorMessage> priorMessage = getPropertyAsJsonObject(messagingEvent, PROP_PRIOR_MESSAGE)
-                .map(this::getPriorMessageFromJsonObject);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final String title = POSTBACK_TITLE.requireString(messagingEvent);
+        final Optional<String> payload = POSTBACK_PAYLOAD.getAsOptionalString(messagingEvent);
+        final JsonObject referralJsonObject = POSTBACK_REFERRAL.getAsJsonObject(messagingEvent);
+        final Optional<Referral> referral = referralJsonObject == null ? Optional.empty()
+                : Optional.of(createReferralFromJson(referralJsonObject));
+        final Optional<PriorMessage> priorMessage = getPriorMessage(messagingEvent);
 
         return new PostbackEvent(senderId, recipientId, timestamp, title, payload, referral, priorMessage);
     }
@@ -1,15 +1,9 @@
 package com.github.messenger4j.webhook.factory;
 
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_REFERRAL;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonObject;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.ReferralEvent;
 import com.github.messenger4j.webhook.event.common.Referral;
 import com.google.gson.JsonObject;
@@ -21,22 +15,19 @@ import java.time.Instant;
  */
 final class ReferralEventFactory implements BaseEventFactory<ReferralEvent> {
 
+    private static final PropertyPath REFERRAL = path(PROP_REFERRAL);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_REFERRAL);
+        return REFERRAL.isPresent(messagingEvent);
     }
 
     @Override
     public ReferralEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final Referral referral = getPropertyAsJsonObject(messagingEvent, PROP_REFERRAL)
-                .map(this::createReferralFromJson)
-                .orElseThrow(IllegalArgumentException::new);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final Referral referral = createReferralFromJson(REFERRAL.requireJsonObject(messagingEvent));
 
         return new ReferralEvent(senderId, recipientId, timestamp, referral);
     }
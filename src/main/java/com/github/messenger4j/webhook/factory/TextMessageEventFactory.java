@@ -1,22 +1,15 @@
 package com.github.messenger4j.webhook.factory;
 
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ENTITIES;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_ID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_IS_ECHO;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MESSAGE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_MID;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_NLP;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_PRIOR_MESSAGE;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_QUICK_REPLY;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_RECIPIENT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_SENDER;
 import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TEXT;
-import static com.github.messenger4j.internal.gson.GsonUtil.Constants.PROP_TIMESTAMP;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsInstant;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsJsonObject;
-import static com.github.messenger4j.internal.gson.GsonUtil.getPropertyAsString;
-import static com.github.messenger4j.internal.gson.GsonUtil.hasProperty;
+import static com.github.messenger4j.internal.gson.PropertyPath.path;
 
+import com.github.messenger4j.internal.gson.PropertyPath;
 import com.github.messenger4j.webhook.event.TextMessageEvent;
 import com.github.messenger4j.webhook.event.common.PriorMessage;
 import com.github.messenger4j.webhook.event.nlp.NLPEntity;
@@ -37,29 +30,30 @@ import java.util.Set;
  */
 final class TextMessageEventFactory implements BaseEventFactory<TextMessageEvent> {
 
+    private static final PropertyPath MESSAGE_TEXT = path(PROP_MESSAGE, PROP_TEXT);
+    private static final PropertyPath MESSAGE_QUICK_REPLY = path(PROP_MESSAGE, PROP_QUICK_REPLY);
+    private static final PropertyPath MESSAGE_IS_ECHO = path(PROP_MESSAGE, PROP_IS_ECHO);
+    private static final PropertyPath MESSAGE_MID = path(PROP_MESSAGE, PROP_MID);
+    private static final PropertyPath MESSAGE_NLP_ENTITIES = path(PROP_MESSAGE, PROP_NLP, PROP_ENTITIES);
+
     @Override
     public boolean isResponsible(JsonObject messagingEvent) {
-        return hasProperty(messagingEvent, PROP_MESSAGE, PROP_TEXT) &&
-                !hasProperty(messagingEvent, PROP_MESSAGE, PROP_QUICK_REPLY) &&
-                !hasProperty(messagingEvent, PROP_MESSAGE, PROP_IS_ECHO);
+        return MESSAGE_TEXT.isPresent(messagingEvent) &&
+                !MESSAGE_QUICK_REPLY.isPresent(messagingEvent) &&
+                !MESSAGE_IS_ECHO.isPresent(messagingEvent);
     }
 
     @Override
     public TextMessageEvent createEventFromJson(JsonObject messagingEvent) {
-        final String senderId = getPropertyAsString(messagingEvent, PROP_SENDER, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String recipientId = getPropertyAsString(messagingEvent, PROP_RECIPIENT, PROP_ID)
-                .orElseThrow(IllegalArgumentException::new);
-        final Instant timestamp = getPropertyAsInstant(messagingEvent, PROP_TIMESTAMP)
-                .orElseThrow(IllegalArgumentException::new);
-        final String messageId = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_MID)
-                .orElseThrow(IllegalArgumentException::new);
-        final String text = getPropertyAsString(messagingEvent, PROP_MESSAGE, PROP_TEXT)
-                .orElseThrow(IllegalArgumentException::new);
-        final Optional<Map<String, Set<NLPEntity>>> nlpEntities = getPropertyAsJsonObject(messagingEvent,
-                PROP_MESSAGE, PROP_NLP, PROP_ENTITIES).map(this::getNlpEntitiesFromJsonObject);
-        final Optional<PriorMessage> priorMessage = getPropertyAsJsonObject(messagingEvent, PROP_PRIOR_MESSAGE)
-                .map(this::getPriorMessageFromJsonObject);
+        final String senderId = SENDER_ID.requireString(messagingEvent);
+        final String recipientId = RECIPIENT_ID.requireString(messagingEvent);
+        final Instant timestamp = Instant.ofEpochMilli(TIMESTAMP.requireLong(messagingEvent));
+        final String messageId = MESSAGE_MID.requireString(messagingEvent);
+        final String text = MESSAGE_TEXT.requireString(messagingEvent);
+        final JsonObject nlpEntitiesJsonObject = MESSAGE_NLP_ENTITIES.getAsJsonObject(messagingEvent);
+        final Optional<Map<String, Set<NLPEntity>>> nlpEntities = nlpEntitiesJsonObject == null ? Optional.empty()
+                : Optional.of(getNlpEntitiesFromJsonObject(nlpEntitiesJsonObject));
+        final Optional<PriorMessage> priorMessage = getPriorMessage(messagingEvent);
 
         return new TextMessageEvent(senderId, recipientId, timestamp, messageId, text, nlpEntities, priorMessage);
     }
@@ -70,7 +64,7 @@ final class TextMessageEventFactory implements BaseEventFactory<TextMessageEvent
             final JsonArray valuesJsonArray = jsonObject.getAsJsonArray(key);
             final Set<NLPEntity> values = new HashSet<>(valuesJsonArray.size());
             for (JsonElement jsonElement : valuesJsonArray) {
-                values.add(new NLPEntity(jsonElement.toString()));
+                values.add(new NLPEntity(jsonElement));
             }
             nlpEntities.put(key, Collections.unmodifiableSet(values));
         }
@@ -0,0 +1,266 @@
+package com.github.messenger4j.test.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.TemplateMessage;
+import com.github.messenger4j.send.message.TextMessage;
+import com.github.messenger4j.send.message.quickreply.QuickReply;
+import com.github.messenger4j.send.message.quickreply.TextQuickReply;
+import com.github.messenger4j.send.message.template.GenericTemplate;
+import com.github.messenger4j.send.message.template.button.Button;
+import com.github.messenger4j.send.message.template.button.PostbackButton;
+import com.github.messenger4j.send.message.template.button.UrlButton;
+import com.github.messenger4j.send.message.template.common.Element;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.SignatureUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Guards the hot paths against allocation regressions by comparing the bytes allocated per operation with the
+ * budgets in {@code allocation-budgets.properties}.
+ * <p>
+ * The budgets are absolute numbers that depend on the JDK version, TLAB sizing and JIT decisions such as escape
+ * analysis, so they only hold on the JDK they were recorded with. Hence the test is skipped unless it is enabled with
+ * {@code mvn -P allocation-budgets test -Dtest=AllocationBudgetTest}. If an increase is intentional, or the budgets
+ * are moved to another JDK, they are re-recorded with
+ * {@code mvn test -Dtest=AllocationBudgetTest -Dallocation.budgets.update=true}.
+ *
+ * @since 1.1.0
+ */
+public class AllocationBudgetTest {
+
+    private static final String BUDGETS_RESOURCE = "/allocation-budgets.properties";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    private static final double UPDATE_HEADROOM = 1.1;
+    private static final long UPDATE_SLACK_BYTES = 64;
+
+    private static final String APP_SECRET = "60efff025951cddde78c8d03de52cc90";
+    private static final String PAGE_ID = "1067280970047460";
+    private static final String USER_ID = "1254459154682919";
+
+    private static final Map<String, Long> measurements = new TreeMap<>();
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    private static Properties budgets;
+
+    private final Consumer<Event> eventHandler = event -> {
+    };
+    private final HttpResponse sendResponse = new HttpResponse(200,
+            "{\"recipient_id\":\"" + USER_ID + "\",\"message_id\":\"mid.1473372944816:94f72b88c597657974\"}");
+    private final MessengerHttpClient httpClient = (httpMethod, url, jsonBody) -> sendResponse;
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", APP_SECRET, "VERIFY_TOKEN",
+            of(httpClient));
+
+    @BeforeClass
+    public static void beforeAll() throws IOException {
+        assumeTrue(Boolean.getBoolean("allocation.budgets.enforce") || isUpdate());
+        final java.lang.management.ThreadMXBean platformThreadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(platformThreadMXBean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) platformThreadMXBean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        budgets = new Properties();
+        try (InputStream inputStream = AllocationBudgetTest.class.getResourceAsStream(BUDGETS_RESOURCE)) {
+            if (inputStream != null) {
+                budgets.load(inputStream);
+            }
+        }
+    }
+
+    @AfterClass
+    public static void afterAll() throws IOException {
+        if (!isUpdate() || measurements.isEmpty()) {
+            return;
+        }
+        final Path budgetsFile = Paths.get(System.getProperty("allocation.budgets.file",
+                "src/test/resources" + BUDGETS_RESOURCE));
+        try (Writer writer = Files.newBufferedWriter(budgetsFile, UTF_8)) {
+            writer.write("# Bytes allocated per operation, enforced by AllocationBudgetTest.\n");
+            writer.write("# Re-record with: mvn test -Dtest=AllocationBudgetTest -Dallocation.budgets.update=true\n");
+            for (Map.Entry<String, Long> measurement : measurements.entrySet()) {
+                final long budget = (long) Math.ceil(measurement.getValue() * UPDATE_HEADROOM) + UPDATE_SLACK_BYTES;
+                writer.write(measurement.getKey() + "=" + budget + "\n");
+            }
+        }
+    }
+
+    @Test
+    public void textMessageEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.text_message", "\"message\":{\"mid\":\"mid.1457764197618:" +
+                "41d102a3e1ae206a\",\"seq\":73,\"text\":\"Hello, I would like to know whether the red sneakers " +
+                "are available?\"}");
+    }
+
+    @Test
+    public void quickReplyMessageEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.quick_reply_message", "\"message\":{\"mid\":\"mid.1457764197618:" +
+                "41d102a3e1ae206a\",\"text\":\"Red\",\"quick_reply\":{\"payload\":\"PICK_RED\"}}");
+    }
+
+    @Test
+    public void attachmentMessageEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.attachment_message", "\"message\":{\"mid\":\"mid.1457764197618:" +
+                "41d102a3e1ae206a\",\"attachments\":[{\"type\":\"image\",\"payload\":{\"url\":" +
+                "\"https://scontent.xx.fbcdn.net/v/t34.0-12/1_n.jpg\"}},{\"type\":\"location\",\"payload\":" +
+                "{\"coordinates\":{\"lat\":52.3765533,\"long\":9.7389123}}}]}");
+    }
+
+    @Test
+    public void messageEchoEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.message_echo", "\"message\":{\"is_echo\":true,\"app_id\":" +
+                "1517776481860111,\"metadata\":\"DEVELOPER_DEFINED_METADATA_STRING\",\"mid\":" +
+                "\"mid.1457764197618:41d102a3e1ae206a\",\"seq\":73,\"text\":\"Yes, they are available.\"}");
+    }
+
+    @Test
+    public void postbackEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.postback", "\"postback\":{\"title\":\"Get Started\"," +
+                "\"payload\":\"GET_STARTED_PAYLOAD\",\"referral\":{\"ref\":\"summer-campaign\"," +
+                "\"source\":\"SHORTLINK\",\"type\":\"OPEN_THREAD\"}}");
+    }
+
+    @Test
+    public void referralEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.referral", "\"referral\":{\"ref\":\"summer-campaign\"," +
+                "\"ad_id\":\"6045246247433\",\"source\":\"ADS\",\"type\":\"OPEN_THREAD\"}");
+    }
+
+    @Test
+    public void optInEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.opt_in", "\"optin\":{\"ref\":\"PASS_THROUGH_PARAM\"}");
+    }
+
+    @Test
+    public void accountLinkingEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.account_linking", "\"account_linking\":{\"status\":\"linked\"," +
+                "\"authorization_code\":\"PASS_THROUGH_AUTHORIZATION_CODE\"}");
+    }
+
+    @Test
+    public void messageReadEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.message_read", "\"read\":{\"watermark\":1458692752278}");
+    }
+
+    @Test
+    public void messageDeliveredEvent() throws Exception {
+        assertWebhookWithinBudget("webhook.message_delivered", "\"delivery\":{\"mids\":[" +
+                "\"mid.1457764197618:41d102a3e1ae206a\",\"mid.1457764197618:41d102a3e1ae206b\"]," +
+                "\"watermark\":1458692752278}");
+    }
+
+    @Test
+    public void sendTextMessage() throws Exception {
+        final List<QuickReply> quickReplies = Arrays.asList(TextQuickReply.create("Red", "PICK_RED"),
+                TextQuickReply.create("Green", "PICK_GREEN"));
+        final MessagePayload payload = MessagePayload.create(USER_ID, MessagingType.RESPONSE,
+                TextMessage.create("Which color would you like your sneakers in?", of(quickReplies), empty()));
+
+        assertWithinBudget("send.text_message", () -> messenger.send(payload));
+    }
+
+    @Test
+    public void sendGenericTemplate() throws Exception {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final List<Button> buttons = Arrays.asList(
+                    UrlButton.create("View Item", new URL("https://petersfancyapparel.com/item?id=" + i)),
+                    PostbackButton.create("Add to Cart", "ADD_TO_CART_" + i));
+            elements.add(Element.create("Classic Hat #" + i, of("We have got the right hat for everyone."),
+                    of(new URL("https://petersfancybrownhats.com/hat_" + i + ".png")), empty(), of(buttons)));
+        }
+        final MessagePayload payload = MessagePayload.create(USER_ID, MessagingType.RESPONSE,
+                TemplateMessage.create(GenericTemplate.create(elements)));
+
+        assertWithinBudget("send.generic_template", () -> messenger.send(payload));
+    }
+
+    @Test
+    public void signatureVerification() throws Exception {
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\",\"time\":1475942721780," +
+                "\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"},\"recipient\":{\"id\":\"1717527131834678\"}," +
+                "\"timestamp\":1475942721741,\"message\":{\"mid\":\"mid.1475942721728:3b9e3646712f9bed52\"," +
+                "\"seq\":123,\"text\":\"34wrr3wr\"}}]}]}";
+        final String signature = "sha1=3daa41999293ff66c3eb313e04bcf77861bb0276";
+
+        assertWithinBudget("signature.verification", () -> {
+            if (!SignatureUtil.isSignatureValid(payload, signature, APP_SECRET)) {
+                throw new IllegalStateException("signature must be valid");
+            }
+        });
+    }
+
+    private void assertWebhookWithinBudget(String operation, String eventBody) throws Exception {
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"" + PAGE_ID + "\",\"time\":1458692752478," +
+                "\"messaging\":[{\"sender\":{\"id\":\"" + USER_ID + "\"},\"recipient\":{\"id\":\"" + PAGE_ID +
+                "\"},\"timestamp\":1458692752478," + eventBody + "}]}]}";
+
+        assertWithinBudget(operation, () -> messenger.onReceiveEvents(payload, empty(), eventHandler));
+    }
+
+    private static void assertWithinBudget(String operation, Operation measuredOperation) throws Exception {
+        final long allocatedBytes = allocatedBytesPerOperation(measuredOperation);
+        measurements.put(operation, allocatedBytes);
+        if (isUpdate()) {
+            return;
+        }
+        final String budget = budgets.getProperty(operation);
+        if (budget == null) {
+            fail("No allocation budget recorded for '" + operation + "' (" + allocatedBytes + " bytes/op), " +
+                    "record it with -Dallocation.budgets.update=true");
+        }
+        if (allocatedBytes > Long.parseLong(budget)) {
+            fail("'" + operation + "' allocates " + allocatedBytes + " bytes/op, exceeding its budget of " + budget +
+                    " bytes/op. If this is intentional, re-record the budgets with -Dallocation.budgets.update=true");
+        }
+    }
+
+    private static long allocatedBytesPerOperation(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        final long allocatedBytesAfter = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (allocatedBytesAfter - allocatedBytesBefore) / MEASURED_ITERATIONS;
+    }
+
+    private static boolean isUpdate() {
+        return Boolean.getBoolean("allocation.budgets.update");
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void run() throws Exception;
+    }
+}
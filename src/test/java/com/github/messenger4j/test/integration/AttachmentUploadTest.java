@@ -0,0 +1,233 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.send.message.richmedia.RichMediaAsset.Type.IMAGE;
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.attachmentupload.AttachmentIdCache;
+import com.github.messenger4j.attachmentupload.AttachmentUploadResponse;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.RichMediaMessage;
+import com.github.messenger4j.send.message.richmedia.UrlRichMediaAsset;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+/**
+ * @since 1.1.0
+ */
+public class AttachmentUploadTest {
+
+    private static final String PAGE_ACCESS_TOKEN = "PAGE_ACCESS_TOKEN";
+    private static final String IMAGE_URL = "https://petersapparel.com/img/shirt.png";
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final AttachmentIdCache attachmentIdCache = AttachmentIdCache.create();
+    private final Messenger messenger = Messenger.create(PAGE_ACCESS_TOKEN, "test", "test",
+            MessengerOptions.create().withHttpClient(mockHttpClient).withAttachmentIdCache(attachmentIdCache));
+
+    @Test
+    public void shouldUploadAttachment() throws Exception {
+        when(mockHttpClient.execute(eq(POST), contains("/me/message_attachments"), anyString()))
+                .thenReturn(new HttpResponse(200, "{\"attachment_id\":\"1857777774821032\"}"));
+
+        // tag::attachment-Upload[]
+        final UrlRichMediaAsset richMediaAsset = UrlRichMediaAsset.create(IMAGE, new URL(IMAGE_URL));
+
+        final AttachmentUploadResponse response = messenger.uploadAttachment(richMediaAsset);
+        // end::attachment-Upload[]
+
+        final ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        final String expectedJsonBody = "{\"message\":{\"attachment\":{"
+                + "\"type\":\"image\","
+                + "\"payload\":{\"url\":\"https://petersapparel.com/img/shirt.png\",\"is_reusable\":true}"
+                + "}}}";
+        verify(mockHttpClient).execute(eq(POST), contains("/me/message_attachments"), payloadCaptor.capture());
+        JSONAssert.assertEquals(expectedJsonBody, payloadCaptor.getValue(), true);
+        assertThat(response.attachmentId(), is(equalTo("1857777774821032")));
+        assertThat(attachmentIdCache.attachmentId(AttachmentIdCache.urlKey(richMediaAsset)),
+                is(equalTo(of("1857777774821032"))));
+
+        final AttachmentUploadResponse cachedResponse = messenger.uploadAttachment(richMediaAsset);
+
+        assertThat(cachedResponse.attachmentId(), is(equalTo("1857777774821032")));
+        verify(mockHttpClient, times(1)).execute(eq(POST), anyString(), anyString());
+    }
+
+    @Test
+    public void shouldSendUrlRichMediaMessageWithCachedAttachmentId() throws Exception {
+        when(mockHttpClient.execute(eq(POST), contains("/me/messages"), anyString()))
+                .thenReturn(new HttpResponse(200, "{\"recipient_id\":\"USER_ID\"," +
+                        "\"message_id\":\"mid.1473372944816:94f72b88c597657974\"," +
+                        "\"attachment_id\":\"1745504518999123\"}"));
+
+        final UrlRichMediaAsset richMediaAsset = UrlRichMediaAsset.create(IMAGE, new URL(IMAGE_URL));
+        final MessagePayload payload = MessagePayload.create("USER_ID", MessagingType.RESPONSE,
+                RichMediaMessage.create(richMediaAsset));
+
+        messenger.send(payload);
+        messenger.send(payload);
+
+        final ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockHttpClient, times(2)).execute(eq(POST), contains("/me/messages"), payloadCaptor.capture());
+        final List<String> jsonBodies = payloadCaptor.getAllValues();
+        JSONAssert.assertEquals("{\"recipient\":{\"id\":\"USER_ID\"},"
+                + "\"messaging_type\":\"RESPONSE\","
+                + "\"message\":{\"attachment\":{"
+                + "\"type\":\"image\","
+                + "\"payload\":{\"url\":\"https://petersapparel.com/img/shirt.png\",\"is_reusable\":true}"
+                + "}}}", jsonBodies.get(0), true);
+        JSONAssert.assertEquals("{\"recipient\":{\"id\":\"USER_ID\"},"
+                + "\"messaging_type\":\"RESPONSE\","
+                + "\"message\":{\"attachment\":{"
+                + "\"type\":\"image\","
+                + "\"payload\":{\"attachment_id\":\"1745504518999123\"}"
+                + "}}}", jsonBodies.get(1), true);
+    }
+
+    @Test
+    public void shouldUploadOnceForConcurrentCallersOfSameKey() throws Exception {
+        final CountDownLatch uploadStartedLatch = new CountDownLatch(1);
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        final AtomicInteger uploadCount = new AtomicInteger();
+        final AttachmentIdCache.Upload upload = () -> {
+            uploadCount.incrementAndGet();
+            uploadStartedLatch.countDown();
+            try {
+                responseLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return of("1857777774821032");
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Optional<String>>> attachmentIds = new ArrayList<>();
+            attachmentIds.add(executor.submit(() -> attachmentIdCache.attachmentId("KEY", upload)));
+            assertThat(uploadStartedLatch.await(5, TimeUnit.SECONDS), is(true));
+            final List<Thread> waitingCallers = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                attachmentIds.add(executor.submit(() -> {
+                    waitingCallers.add(Thread.currentThread());
+                    return attachmentIdCache.attachmentId("KEY", upload);
+                }));
+            }
+            awaitWaiting(waitingCallers, 3);
+            responseLatch.countDown();
+
+            for (Future<Optional<String>> attachmentId : attachmentIds) {
+                assertThat(attachmentId.get(5, TimeUnit.SECONDS), is(equalTo(of("1857777774821032"))));
+            }
+            assertThat(uploadCount.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldPassUploadFailureToConcurrentCallersOfSameAsset() throws Exception {
+        final CountDownLatch uploadStartedLatch = new CountDownLatch(1);
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        when(mockHttpClient.execute(eq(POST), contains("/me/message_attachments"), anyString())).thenAnswer(i -> {
+            uploadStartedLatch.countDown();
+            responseLatch.await(5, TimeUnit.SECONDS);
+            return new HttpResponse(400, "{\"error\":{\"message\":\"Failed to fetch the file from the url\"," +
+                    "\"type\":\"OAuthException\",\"code\":100,\"fbtrace_id\":\"AbCdEfGhIjK\"}}");
+        });
+        final UrlRichMediaAsset richMediaAsset = UrlRichMediaAsset.create(IMAGE, new URL(IMAGE_URL));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<AttachmentUploadResponse>> responses = new ArrayList<>();
+            responses.add(executor.submit(() -> messenger.uploadAttachment(richMediaAsset)));
+            assertThat(uploadStartedLatch.await(5, TimeUnit.SECONDS), is(true));
+            final List<Thread> waitingCallers = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                responses.add(executor.submit(() -> {
+                    waitingCallers.add(Thread.currentThread());
+                    return messenger.uploadAttachment(richMediaAsset);
+                }));
+            }
+            awaitWaiting(waitingCallers, 3);
+            responseLatch.countDown();
+
+            final Throwable uploadFailure = causeOf(responses.get(0));
+            assertThat(uploadFailure instanceof MessengerApiException, is(true));
+            for (Future<AttachmentUploadResponse> response : responses) {
+                assertThat(causeOf(response), is(sameInstance(uploadFailure)));
+            }
+            verify(mockHttpClient, times(1)).execute(eq(POST), anyString(), anyString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Throwable causeOf(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void awaitWaiting(List<Thread> threads, int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.size() < count || !threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            assertThat("callers waiting for the pending upload", System.nanoTime() < deadline, is(true));
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void shouldPersistAttachmentIdCache() throws Exception {
+        final Path cacheFile = Files.createTempFile("attachment-ids", ".tsv");
+        try {
+            final UrlRichMediaAsset richMediaAsset = UrlRichMediaAsset.create(IMAGE, new URL(IMAGE_URL));
+            final String contentHashKey = AttachmentIdCache.contentHashKey(IMAGE, new byte[]{1, 2, 3});
+            attachmentIdCache.put(AttachmentIdCache.urlKey(richMediaAsset), "1857777774821032");
+            attachmentIdCache.put(contentHashKey, "1745504518999123");
+
+            attachmentIdCache.save(cacheFile);
+            final AttachmentIdCache loadedCache = AttachmentIdCache.load(cacheFile);
+
+            assertThat(loadedCache.size(), is(2));
+            assertThat(loadedCache.attachmentId(AttachmentIdCache.urlKey(richMediaAsset)),
+                    is(equalTo(of("1857777774821032"))));
+            assertThat(loadedCache.attachmentId(contentHashKey), is(equalTo(of("1745504518999123"))));
+        } finally {
+            Files.deleteIfExists(cacheFile);
+        }
+    }
+}
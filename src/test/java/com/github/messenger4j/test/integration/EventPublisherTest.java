@@ -0,0 +1,328 @@
+package com.github.messenger4j.test.integration;
+
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.EventPublisher;
+import com.github.messenger4j.webhook.EventPublisher.OverflowStrategy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * @since 1.1.0
+ */
+public class EventPublisherTest {
+
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "test", "test");
+
+    @Test
+    public void shouldDeliverNoMoreEventsThanRequested() throws Exception {
+        final EventPublisher publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        messenger.onReceiveEvents(payload("1", "2", "3"), empty(), publisher);
+        assertThat(subscriber.texts(), hasSize(0));
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.texts(), contains("1", "2"));
+
+        messenger.onReceiveEvents(payload("4"), empty(), publisher);
+        subscriber.subscription.request(5);
+        assertThat(subscriber.texts(), contains("1", "2", "3", "4"));
+
+        publisher.complete();
+        assertThat(subscriber.completed, is(true));
+        assertThat(publisher.subscriberCount(), is(0));
+    }
+
+    @Test
+    public void shouldServeSubscribersIndependently() throws Exception {
+        final EventPublisher publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final RecordingSubscriber fastSubscriber = new RecordingSubscriber();
+        final RecordingSubscriber slowSubscriber = new RecordingSubscriber();
+        publisher.subscribe(fastSubscriber);
+        publisher.subscribe(slowSubscriber);
+        fastSubscriber.subscription.request(Long.MAX_VALUE);
+        slowSubscriber.subscription.request(1);
+
+        messenger.onReceiveEvents(payload("1", "2", "3"), empty(), publisher);
+
+        assertThat(fastSubscriber.texts(), contains("1", "2", "3"));
+        assertThat(slowSubscriber.texts(), contains("1"));
+
+        fastSubscriber.subscription.cancel();
+        messenger.onReceiveEvents(payload("4"), empty(), publisher);
+        slowSubscriber.subscription.request(10);
+
+        assertThat(fastSubscriber.texts(), contains("1", "2", "3"));
+        assertThat(slowSubscriber.texts(), contains("1", "2", "3", "4"));
+        assertThat(publisher.subscriberCount(), is(1));
+    }
+
+    @Test
+    public void shouldDropEventsAccordingToOverflowStrategy() throws Exception {
+        final EventPublisher dropLatest = EventPublisher.create(2, OverflowStrategy.DROP_LATEST);
+        final EventPublisher dropOldest = EventPublisher.create(2, OverflowStrategy.DROP_OLDEST);
+        final RecordingSubscriber latestSubscriber = new RecordingSubscriber();
+        final RecordingSubscriber oldestSubscriber = new RecordingSubscriber();
+        dropLatest.subscribe(latestSubscriber);
+        dropOldest.subscribe(oldestSubscriber);
+
+        messenger.onReceiveEvents(payload("1", "2", "3", "4"), empty(), dropLatest);
+        messenger.onReceiveEvents(payload("1", "2", "3", "4"), empty(), dropOldest);
+        latestSubscriber.subscription.request(10);
+        oldestSubscriber.subscription.request(10);
+
+        assertThat(latestSubscriber.texts(), contains("1", "2"));
+        assertThat(oldestSubscriber.texts(), contains("3", "4"));
+        assertThat(dropLatest.droppedCount(), is(2L));
+        assertThat(dropOldest.droppedCount(), is(2L));
+    }
+
+    @Test
+    public void shouldSignalErrorOnOverflowAndInvalidRequest() throws Exception {
+        final EventPublisher publisher = EventPublisher.create(1, OverflowStrategy.FAIL);
+        final RecordingSubscriber overflowingSubscriber = new RecordingSubscriber();
+        final RecordingSubscriber invalidSubscriber = new RecordingSubscriber();
+        publisher.subscribe(overflowingSubscriber);
+        publisher.subscribe(invalidSubscriber);
+
+        invalidSubscriber.subscription.request(0);
+        messenger.onReceiveEvents(payload("1", "2"), empty(), publisher);
+
+        assertThat(overflowingSubscriber.error, is(instanceOf(IllegalStateException.class)));
+        assertThat(overflowingSubscriber.texts(), hasSize(0));
+        assertThat(invalidSubscriber.error, is(instanceOf(IllegalArgumentException.class)));
+        assertThat(publisher.subscriberCount(), is(0));
+    }
+
+    @Test
+    public void shouldBlockPublishingThreadUntilSubscriberRequests() throws Exception {
+        final EventPublisher publisher = EventPublisher.create(1, OverflowStrategy.BLOCK);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        final CountDownLatch published = new CountDownLatch(1);
+
+        final Thread publishingThread = new Thread(() -> {
+            try {
+                messenger.onReceiveEvents(payload("1", "2", "3"), empty(), publisher);
+                published.countDown();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        publishingThread.start();
+
+        assertThat(published.await(300, MILLISECONDS), is(false));
+        subscriber.subscription.request(3);
+        assertThat(published.await(5, SECONDS), is(true));
+        publishingThread.join();
+        assertThat(subscriber.texts(), contains("1", "2", "3"));
+        assertThat(subscriber.error, is(nullValue()));
+        assertThat(publisher.droppedCount(), is(equalTo(0L)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldRejectNullSubscriber() throws Exception {
+        // Reactive Streams rule 1.9
+        EventPublisher.create(10, OverflowStrategy.FAIL).subscribe(null);
+    }
+
+    @Test
+    public void shouldAcceptSubscribersOfSupertypes() throws Exception {
+        final Publisher<Event> publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        publisher.subscribe(new Subscriber<Object>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        messenger.onReceiveEvents(payload("1"), empty(), (EventPublisher) publisher);
+
+        assertThat(received, hasSize(1));
+    }
+
+    @Test
+    public void shouldSignalNothingAfterCancel() throws Exception {
+        // Reactive Streams rules 3.6 and 3.7
+        final EventPublisher publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        messenger.onReceiveEvents(payload("1"), empty(), publisher);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(10);
+        messenger.onReceiveEvents(payload("2"), empty(), publisher);
+        publisher.complete();
+
+        assertThat(subscriber.texts(), contains("1"));
+        assertThat(subscriber.error, is(nullValue()));
+        assertThat(subscriber.completed, is(false));
+        assertThat(publisher.subscriberCount(), is(0));
+    }
+
+    @Test
+    public void shouldBoundRecursionOfRequestsFromOnNext() throws Exception {
+        // Reactive Streams rule 3.3
+        final EventPublisher publisher = EventPublisher.create(10_000, OverflowStrategy.FAIL);
+        final AtomicInteger maxDepth = new AtomicInteger();
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            private int depth;
+
+            @Override
+            public void onNext(Event event) {
+                super.onNext(event);
+                depth++;
+                maxDepth.set(Math.max(maxDepth.get(), depth));
+                subscription.request(1);
+                depth--;
+            }
+        };
+        publisher.subscribe(subscriber);
+        final String[] texts = new String[10_000];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = Integer.toString(i);
+        }
+        messenger.onReceiveEvents(payload(texts), empty(), publisher);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.texts(), hasSize(10_000));
+        assertThat(maxDepth.get(), is(1));
+    }
+
+    @Test
+    public void shouldAccumulateDemandUpToLongMaxValue() throws Exception {
+        // Reactive Streams rule 3.17
+        final EventPublisher publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE - 1);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        messenger.onReceiveEvents(payload("1", "2"), empty(), publisher);
+        messenger.onReceiveEvents(payload("3"), empty(), publisher);
+
+        assertThat(subscriber.texts(), contains("1", "2", "3"));
+        assertThat(subscriber.error, is(nullValue()));
+    }
+
+    @Test
+    public void shouldCancelSubscriberThrowingFromOnNext() throws Exception {
+        // Reactive Streams rule 2.13
+        final EventPublisher publisher = EventPublisher.create(10, OverflowStrategy.FAIL);
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(Event event) {
+                super.onNext(event);
+                throw new IllegalStateException("failing subscriber");
+            }
+        };
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        messenger.onReceiveEvents(payload("1", "2"), empty(), publisher);
+
+        assertThat(subscriber.texts(), contains("1"));
+        assertThat(publisher.subscriberCount(), is(0));
+    }
+
+    @Test
+    public void shouldSignalNothingAfterOnError() throws Exception {
+        // Reactive Streams rule 1.7
+        final EventPublisher publisher = EventPublisher.create(1, OverflowStrategy.FAIL);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        messenger.onReceiveEvents(payload("1", "2"), empty(), publisher);
+        subscriber.subscription.request(10);
+        messenger.onReceiveEvents(payload("3"), empty(), publisher);
+        publisher.complete();
+
+        assertThat(subscriber.error, is(instanceOf(IllegalStateException.class)));
+        assertThat(subscriber.texts(), hasSize(0));
+        assertThat(subscriber.completed, is(false));
+    }
+
+    private static String payload(String... texts) {
+        final StringBuilder messagingEvents = new StringBuilder();
+        for (String text : texts) {
+            if (messagingEvents.length() > 0) {
+                messagingEvents.append(',');
+            }
+            messagingEvents.append("{\"sender\":{\"id\":\"USER_ID\"},\"recipient\":{\"id\":\"PAGE_ID\"},")
+                    .append("\"timestamp\":1458692752478,\"message\":{\"mid\":\"mid.").append(text)
+                    .append("\",\"text\":\"").append(text).append("\"}}");
+        }
+        return "{\"object\":\"page\",\"entry\":[{\"id\":\"PAGE_ID\",\"time\":1458692752478,\"messaging\":["
+                + messagingEvents + "]}]}";
+    }
+
+    private static class RecordingSubscriber implements Subscriber<Event> {
+
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+        volatile Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Event event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+
+        List<String> texts() {
+            return events.stream().map(event -> event.asTextMessageEvent().text()).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.TextMessage;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class FlightRecorderTest {
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "60efff025951cddde78c8d03de52cc90",
+            "test", of(mockHttpClient));
+
+    @Test
+    public void shouldEmitEventsForWebhookReceiveDispatchAndGraphApiRequests() throws Exception {
+        when(mockHttpClient.execute(eq(POST), contains("/me/messages"), anyString()))
+                .thenReturn(new HttpResponse(400, "{\"error\":{\"message\":\"(#613) Calls to this api have " +
+                        "exceeded the rate limit.\",\"type\":\"OAuthException\",\"code\":613," +
+                        "\"fbtrace_id\":\"H3qnFWAPjPt\"}}"));
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\",\"time\":1475942721780," +
+                "\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"},\"recipient\":{\"id\":\"1717527131834678\"}," +
+                "\"timestamp\":1475942721741,\"message\":{\"mid\":\"mid.1475942721728:3b9e3646712f9bed52\"," +
+                "\"seq\":123,\"text\":\"34wrr3wr\"}}]}]}";
+        final String signature = "sha1=3daa41999293ff66c3eb313e04bcf77861bb0276";
+
+        final Path recordingFile = Files.createTempFile("messenger4j", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("messenger4j.WebhookReceive");
+            recording.enable("messenger4j.EventDispatch");
+            recording.enable("messenger4j.GraphApiRequest");
+            recording.start();
+
+            messenger.onReceiveEvents(payload, of(signature), event -> {
+            });
+            try {
+                messenger.send(MessagePayload.create("USER_ID", MessagingType.RESPONSE, TextMessage.create("Hi")));
+                fail("Expected a MessengerApiException");
+            } catch (MessengerApiException e) {
+                // expected
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        final List<RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(recordingFile).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("messenger4j."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(recordingFile);
+        }
+        assertThat(events, hasSize(3));
+
+        final RecordedEvent receiveEvent = event(events, "messenger4j.WebhookReceive");
+        assertThat(receiveEvent.getInt("payloadSize"), is(payload.length()));
+        assertThat(receiveEvent.getInt("eventCount"), is(1));
+        assertThat(receiveEvent.getDuration("signatureTime").isNegative(), is(false));
+
+        assertThat(event(events, "messenger4j.EventDispatch").getString("eventType"), is("text_message"));
+
+        final RecordedEvent requestEvent = event(events, "messenger4j.GraphApiRequest");
+        assertThat(requestEvent.getString("endpoint"), is("messages"));
+        assertThat(requestEvent.getString("method"), is("POST"));
+        assertThat(requestEvent.getInt("statusCode"), is(400));
+        assertThat(requestEvent.getInt("errorCode"), is(613));
+        assertThat(requestEvent.getString("fbTraceId"), is("H3qnFWAPjPt"));
+        assertThat(requestEvent.getString("outcome"), is("api_error"));
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
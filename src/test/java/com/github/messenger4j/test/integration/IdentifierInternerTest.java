@@ -0,0 +1,94 @@
+package com.github.messenger4j.test.integration;
+
+import static java.util.Optional.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IdentifierInterner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class IdentifierInternerTest {
+
+    private final IdentifierInterner identifierInterner = IdentifierInterner.create(1000);
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "test", "test",
+            MessengerOptions.create().withIdentifierInterner(identifierInterner));
+
+    @Test
+    public void shouldShareIdentifiersAcrossEvents() throws Exception {
+        final List<Event> events = new ArrayList<>();
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"PAGE_ID\",\"time\":1458692752478," +
+                "\"messaging\":[" + messagingEvent("first") + "," + messagingEvent("second") + "]}]}";
+
+        messenger.onReceiveEvents(payload, empty(), events::add);
+        messenger.onReceiveEvents(payload, empty(), events::add);
+
+        assertThat(events, hasSize(4));
+        for (Event event : events) {
+            assertThat(event.senderId(), is(sameInstance(events.get(0).senderId())));
+            assertThat(event.recipientId(), is(sameInstance(events.get(0).recipientId())));
+        }
+        assertThat(events.get(0).senderId(), is(equalTo("USER_ID")));
+        assertThat(events.get(0).recipientId(), is(equalTo("PAGE_ID")));
+        assertThat(identifierInterner.missCount(), is(2L));
+        assertThat(identifierInterner.hitCount(), is(6L));
+    }
+
+    @Test
+    public void shouldSkipNumericIdentifiers() throws Exception {
+        final List<Event> events = new ArrayList<>();
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\"," +
+                "\"time\":1458692752478,\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"}," +
+                "\"recipient\":{\"id\":\"1717527131834678\"},\"timestamp\":1458692752478," +
+                "\"message\":{\"mid\":\"mid.1457764197618:41d102a3e1ae206a38\",\"text\":\"first\"}}]}]}";
+
+        messenger.onReceiveEvents(payload, empty(), events::add);
+
+        assertThat(events.get(0).senderId(), is(equalTo("1256217357730577")));
+        assertThat(events.get(0).recipientId(), is(equalTo("1717527131834678")));
+        assertThat(identifierInterner.missCount(), is(0L));
+        assertThat(identifierInterner.hitCount(), is(0L));
+    }
+
+    @Test
+    public void shouldNotInternWithoutInterner() throws Exception {
+        final List<Event> events = new ArrayList<>();
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"PAGE_ID\",\"time\":1458692752478," +
+                "\"messaging\":[" + messagingEvent("first") + "," + messagingEvent("second") + "]}]}";
+
+        Messenger.create("PAGE_ACCESS_TOKEN", "test", "test").onReceiveEvents(payload, empty(), events::add);
+
+        assertThat(events.get(1).senderId(), is(not(sameInstance(events.get(0).senderId()))));
+    }
+
+    @Test
+    public void shouldStayBounded() {
+        final IdentifierInterner identifierInterner = IdentifierInterner.create(3);
+
+        for (int i = 0; i < 10_000; i++) {
+            identifierInterner.intern(Integer.toString(i));
+        }
+        final String identifier = new String("USER_ID");
+        final String canonical = identifierInterner.intern(identifier);
+
+        assertThat(identifierInterner.capacity(), is(4));
+        assertThat(canonical, is(sameInstance(identifier)));
+        assertThat(identifierInterner.intern(new String("USER_ID")), is(sameInstance(identifier)));
+    }
+
+    private static String messagingEvent(String text) {
+        return "{\"sender\":{\"id\":\"USER_ID\"},\"recipient\":{\"id\":\"PAGE_ID\"},\"timestamp\":1458692752478," +
+                "\"message\":{\"mid\":\"mid.1457764197618:41d102a3e1ae206a38\",\"text\":\"" + text + "\"}}";
+    }
+}
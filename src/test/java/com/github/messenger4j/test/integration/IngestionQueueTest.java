@@ -0,0 +1,173 @@
+package com.github.messenger4j.test.integration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import com.github.messenger4j.webhook.IngestionQueue;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 1.1.0
+ */
+public class IngestionQueueTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRejectPayloadsBeyondMemoryCapacityWithoutSpillDirectory() throws Exception {
+        final IngestionQueue queue = IngestionQueue.create(2);
+
+        assertThat(queue.offer(payload(1)), is(true));
+        assertThat(queue.offer(payload(2)), is(true));
+        assertThat(queue.offer(payload(3)), is(false));
+
+        assertThat(queue.depth(), is(2L));
+        assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-1")));
+        assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-2")));
+        assertThat(queue.poll(10, MILLISECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void shouldSpillToDiskAndDrainInOrder() throws Exception {
+        final Path spillDirectory = temporaryFolder.newFolder().toPath();
+        final IngestionQueue queue = IngestionQueue.open(10, spillDirectory, 1024 * 1024);
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(queue.offer(payload(i)), is(true));
+        }
+        assertThat(queue.depth(), is(5000L));
+        assertThat(queue.spilledCount(), is(4990L));
+        assertThat(queue.spilledBytes(), is(greaterThan(0L)));
+        assertThat(spillDirectory.toFile().list().length, is(greaterThan(1)));
+
+        for (int i = 0; i < 2500; i++) {
+            assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+        assertThat(queue.offer(payload(5000)), is(true));
+        for (int i = 2500; i <= 5000; i++) {
+            assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+
+        assertThat(queue.depth(), is(0L));
+        assertThat(queue.spilledBytes(), is(0L));
+        assertThat(queue.drainedCount(), is(4991L));
+        assertThat(queue.drainedBytes(), is(equalTo(queue.totalSpilledBytes())));
+        assertThat(spillDirectory.toFile().list().length, is(0));
+
+        assertThat(queue.offer(payload(5001)), is(true));
+        assertThat(queue.spilledCount(), is(0L));
+        queue.close();
+    }
+
+    @Test
+    public void shouldRejectPayloadsBeyondMaxSpillBytes() throws Exception {
+        final IngestionQueue queue = IngestionQueue.open(1, temporaryFolder.newFolder().toPath(), 30);
+
+        assertThat(queue.offer(payload(1)), is(true));
+        assertThat(queue.offer(payload(2)), is(true));
+        assertThat(queue.offer(payload(3)), is(true));
+        assertThat(queue.offer(payload(4)), is(false));
+
+        assertThat(queue.spilledBytes(), is(26L));
+        queue.close();
+    }
+
+    @Test
+    public void shouldRecoverSpilledPayloadsAndDiscardPartialRecord() throws Exception {
+        final Path spillDirectory = temporaryFolder.newFolder().toPath();
+        final IngestionQueue queue = IngestionQueue.open(1, spillDirectory, 1024 * 1024);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(payload(i));
+        }
+        assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-0")));
+        queue.close();
+
+        final File[] segments = spillDirectory.toFile().listFiles();
+        assertThat(segments.length, is(1));
+        Files.write(segments[0].toPath(), new byte[]{0, 0, 1, 0, 'x'}, StandardOpenOption.APPEND);
+
+        final IngestionQueue recoveredQueue = IngestionQueue.open(1, spillDirectory, 1024 * 1024);
+        assertThat(recoveredQueue.depth(), is(3L));
+        assertThat(recoveredQueue.offer(payload(4)), is(true));
+        for (int i = 1; i <= 4; i++) {
+            assertThat(text(recoveredQueue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+        assertThat(recoveredQueue.depth(), is(0L));
+        assertThat(Arrays.asList(spillDirectory.toFile().list()).isEmpty(), is(true));
+        recoveredQueue.close();
+    }
+
+    @Test
+    public void shouldNotDrainPayloadsAgainAfterReopeningPartiallyDrainedQueue() throws Exception {
+        final Path spillDirectory = temporaryFolder.newFolder().toPath();
+        final IngestionQueue queue = IngestionQueue.open(1, spillDirectory, 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(payload(i));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(text(queue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+        queue.close();
+
+        final IngestionQueue reopenedQueue = IngestionQueue.open(1, spillDirectory, 1024 * 1024);
+        assertThat(reopenedQueue.depth(), is(2L));
+        assertThat(text(reopenedQueue.poll(0, MILLISECONDS)), is(equalTo("payload-3")));
+        reopenedQueue.offer(payload(5));
+        reopenedQueue.close();
+
+        final IngestionQueue secondReopenedQueue = IngestionQueue.open(1, spillDirectory, 1024 * 1024);
+        assertThat(secondReopenedQueue.depth(), is(2L));
+        for (int i = 4; i <= 5; i++) {
+            assertThat(text(secondReopenedQueue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+        assertThat(Arrays.asList(spillDirectory.toFile().list()).isEmpty(), is(true));
+        secondReopenedQueue.close();
+    }
+
+    @Test
+    public void shouldSpillPayloadsOnHeapOnCloseAheadOfSpilledOnes() throws Exception {
+        final Path spillDirectory = temporaryFolder.newFolder().toPath();
+        final IngestionQueue queue = IngestionQueue.open(3, spillDirectory, 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(payload(i));
+        }
+        assertThat(queue.spilledCount(), is(2L));
+        queue.close();
+
+        final IngestionQueue recoveredQueue = IngestionQueue.open(3, spillDirectory, 1024 * 1024);
+        assertThat(recoveredQueue.depth(), is(5L));
+        assertThat(recoveredQueue.offer(payload(5)), is(true));
+        for (int i = 0; i <= 5; i++) {
+            assertThat(text(recoveredQueue.poll(0, MILLISECONDS)), is(equalTo("payload-" + i)));
+        }
+        recoveredQueue.close();
+
+        final IngestionQueue inMemoryQueue = IngestionQueue.open(3, spillDirectory, 1024 * 1024);
+        inMemoryQueue.offer(payload(6));
+        inMemoryQueue.close();
+        final IngestionQueue secondRecoveredQueue = IngestionQueue.open(3, spillDirectory, 1024 * 1024);
+        assertThat(text(secondRecoveredQueue.poll(0, MILLISECONDS)), is(equalTo("payload-6")));
+        secondRecoveredQueue.close();
+    }
+
+    private static byte[] payload(int index) {
+        return ("payload-" + index).getBytes(UTF_8);
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.GET;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.userprofile.MappedUserProfileStore;
+import com.github.messenger4j.userprofile.StoredUserProfile;
+import com.github.messenger4j.userprofile.UserProfile;
+import com.github.messenger4j.userprofile.UserProfileCache;
+import com.github.messenger4j.webhook.event.common.Referral;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 1.1.0
+ */
+public class MappedUserProfileStoreTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2017-11-01T10:00:00Z");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldPersistUserProfilesAcrossReopen() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("user-profiles.bin");
+        final UserProfile userProfile = userProfile("Peter");
+        final UserProfile userProfileWithReferral = new UserProfile("Jürgen", "Müller", "https://pic", "de_DE", 1.5f,
+                UserProfile.Gender.MALE, false, of(new Referral("ADS", "OPEN_THREAD", empty(), of("6045246247433"))));
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1254459154682919", userProfile, FETCHED_AT);
+        }
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1254459154682920", userProfileWithReferral, FETCHED_AT);
+        }
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            assertThat(store.size(), is(2));
+            assertThat(store.get("1254459154682919"), is(of(new StoredUserProfile(userProfile, FETCHED_AT))));
+            assertThat(store.get("1254459154682920"),
+                    is(of(new StoredUserProfile(userProfileWithReferral, FETCHED_AT))));
+            assertThat(store.get("1254459154682921"), is(empty()));
+        }
+    }
+
+    @Test
+    public void shouldServeLatestRecordAndCompact() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("user-profiles.bin");
+        final UserProfile updatedUserProfile = userProfile("Paul");
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1", userProfile("Peter"), FETCHED_AT);
+            store.put("1", userProfile("Mary"), FETCHED_AT);
+        }
+        final long sizeBeforeCompaction = Files.size(file);
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1", updatedUserProfile, FETCHED_AT.plusSeconds(60));
+            store.compact();
+
+            assertThat(store.size(), is(1));
+            assertThat(store.get("1"), is(of(new StoredUserProfile(updatedUserProfile, FETCHED_AT.plusSeconds(60)))));
+        }
+        assertThat(Files.size(file), is(lessThan(sizeBeforeCompaction)));
+    }
+
+    @Test
+    public void shouldDiscardPartiallyWrittenRecord() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("user-profiles.bin");
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1", userProfile("Peter"), FETCHED_AT);
+            store.put("2", userProfile("Mary"), FETCHED_AT);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            assertThat(store.size(), is(1));
+            assertThat(store.get("2"), is(empty()));
+            store.put("2", userProfile("Mary"), FETCHED_AT);
+        }
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            assertThat(store.get("2"), is(of(new StoredUserProfile(userProfile("Mary"), FETCHED_AT))));
+        }
+    }
+
+    @Test
+    public void shouldIgnoreNonNumericUserIds() throws Exception {
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(temporaryFolder.newFile().toPath())) {
+            store.put("USER_ID", userProfile("Peter"), FETCHED_AT);
+
+            assertThat(store.size(), is(0));
+            assertThat(store.get("USER_ID"), is(empty()));
+        }
+    }
+
+    @Test
+    public void shouldWarmUpUserProfileCacheFromStore() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("user-profiles.bin");
+        final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+        final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "test", "test", of(mockHttpClient));
+        final Clock clock = Clock.fixed(FETCHED_AT.plus(Duration.ofMinutes(5)), ZoneOffset.UTC);
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            store.put("1254459154682919", userProfile("Peter"), FETCHED_AT);
+        }
+
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(file)) {
+            final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 10, Duration.ofMinutes(10),
+                    Duration.ofMinutes(1), Runnable::run, of(store), empty(), clock);
+
+            assertThat(userProfileCache.get("1254459154682919"), is(equalTo(userProfile("Peter"))));
+            assertThat(userProfileCache.stats().hitCount(), is(1L));
+        }
+        verify(mockHttpClient, never()).execute(eq(GET), anyString(), isNull());
+    }
+
+    private static UserProfile userProfile(String firstName) {
+        return new UserProfile(firstName, "Chang", "https://fbcdn-profile-a.akamaihd.net/profile.jpg", "en_US", -7f,
+                UserProfile.Gender.FEMALE, true, empty());
+    }
+}
@@ -0,0 +1,219 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.exception.MessengerIOException;
+import com.github.messenger4j.metrics.GraphApiRequestLog;
+import com.github.messenger4j.metrics.HistogramSnapshot;
+import com.github.messenger4j.metrics.InMemoryMessengerMetrics;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.TextMessage;
+import com.github.messenger4j.spi.GraphApiRequestOutcome;
+import com.github.messenger4j.spi.GraphApiRequestOutcome.Result;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.spi.MessengerMetrics;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class MessengerMetricsTest {
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final InMemoryMessengerMetrics metrics = InMemoryMessengerMetrics.create();
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "60efff025951cddde78c8d03de52cc90",
+            "test", MessengerOptions.create().withHttpClient(mockHttpClient).withMetrics(metrics));
+
+    @Test
+    public void shouldMeasureWebhookProcessing() throws Exception {
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\",\"time\":1475942721780," +
+                "\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"},\"recipient\":{\"id\":\"1717527131834678\"}," +
+                "\"timestamp\":1475942721741,\"message\":{\"mid\":\"mid.1475942721728:3b9e3646712f9bed52\"," +
+                "\"seq\":123,\"text\":\"34wrr3wr\"}}]}]}";
+        final String signature = "sha1=3daa41999293ff66c3eb313e04bcf77861bb0276";
+
+        messenger.onReceiveEvents(payload, of(signature), event -> {
+        });
+        messenger.onReceiveEvents(payload, empty(), event -> {
+        });
+
+        assertThat(metrics.snapshot("messenger4j.webhook.signature").get().count(), is(1L));
+        assertThat(metrics.snapshot("messenger4j.webhook.parsing").get().count(), is(2L));
+        assertThat(metrics.snapshot("messenger4j.webhook.payload.size").get().max(), is((long) payload.length()));
+        assertThat(metrics.count("messenger4j.webhook.events", "type", "text_message"), is(2L));
+        assertThat(metrics.count("messenger4j.webhook.events", "type", "postback"), is(0L));
+        assertThat(metrics.snapshot("messenger4j.webhook.dispatch", "type", "text_message").get().count(), is(2L));
+        assertThat(metrics.scrape(), containsString("messenger4j.webhook.events{type=\"text_message\"} count=2\n"));
+    }
+
+    @Test
+    public void shouldMeasureGraphApiRequests() throws Exception {
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString()))
+                .thenReturn(new HttpResponse(200, "{\"recipient_id\":\"USER_ID\",\"message_id\":\"mid.1\"}"))
+                .thenReturn(new HttpResponse(400, "{\"error\":{\"message\":\"(#613) Calls to this api have " +
+                        "exceeded the rate limit.\",\"type\":\"OAuthException\",\"code\":613," +
+                        "\"fbtrace_id\":\"H3qnFWAPjPt\"}}"));
+        final MessagePayload payload = MessagePayload.create("USER_ID", MessagingType.RESPONSE,
+                TextMessage.create("Hello"));
+
+        messenger.send(payload);
+        try {
+            messenger.send(payload);
+            fail("Expected a MessengerApiException");
+        } catch (MessengerApiException e) {
+            // expected
+        }
+
+        assertThat(metrics.snapshot("messenger4j.http.requests", "endpoint", "messages").get().count(), is(2L));
+        assertThat(metrics.count("messenger4j.http.responses", "endpoint", "messages", "status", "200"), is(1L));
+        assertThat(metrics.count("messenger4j.http.responses", "endpoint", "messages", "status", "400"), is(1L));
+        assertThat(metrics.count("messenger4j.api.errors", "endpoint", "messages", "code", "613"), is(1L));
+    }
+
+    @Test
+    public void shouldRecordRequestOutcomesWithTraceIds() throws Exception {
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString()))
+                .thenReturn(new HttpResponse(200, "{\"recipient_id\":\"USER_ID\",\"message_id\":\"mid.1\"}",
+                        Collections.singletonMap("X-FB-Trace-ID", "AbCdEfGhIjK")))
+                .thenReturn(new HttpResponse(400, "{\"error\":{\"message\":\"(#613) Calls to this api have " +
+                        "exceeded the rate limit.\",\"type\":\"OAuthException\",\"code\":613," +
+                        "\"fbtrace_id\":\"H3qnFWAPjPt\"}}"))
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(new HttpResponse(200, "{}"));
+        final MessagePayload payload = MessagePayload.create("USER_ID", MessagingType.RESPONSE,
+                TextMessage.create("Hello"));
+
+        messenger.send(payload);
+        failingSend(payload);
+        failingSend(payload);
+        failingSend(payload);
+
+        final GraphApiRequestLog requestLog = metrics.requestLog();
+        final HistogramSnapshot apiErrorLatency = requestLog.latency("messages", Result.API_ERROR);
+        final List<GraphApiRequestOutcome> slowestRequests = requestLog.slowestRequests();
+
+        assertThat(requestLog.endpoints(), contains("messages"));
+        assertThat(requestLog.latency("messages", Result.SUCCESS).count(), is(1L));
+        assertThat(apiErrorLatency.count(), is(1L));
+        assertThat(requestLog.latency("messages", Result.IO_ERROR).count(), is(1L));
+        assertThat(requestLog.latency("messages", Result.INVALID_RESPONSE).count(), is(1L));
+        assertThat(slowestRequests, hasSize(4));
+        final Map<Result, GraphApiRequestOutcome> outcomes = slowestRequests.stream()
+                .collect(Collectors.toMap(GraphApiRequestOutcome::result, Function.identity()));
+        assertThat(outcomes.get(Result.SUCCESS).fbTraceId(), is(of("AbCdEfGhIjK")));
+        assertThat(outcomes.get(Result.SUCCESS).statusCode(), is(of(200)));
+        assertThat(outcomes.get(Result.API_ERROR).fbTraceId(), is(of("H3qnFWAPjPt")));
+        assertThat(outcomes.get(Result.API_ERROR).errorCode(), is(of(613)));
+        assertThat(outcomes.get(Result.IO_ERROR).statusCode(), is(empty()));
+        assertThat(requestLog.report(), containsString("fbtrace_id=H3qnFWAPjPt"));
+    }
+
+    @Test
+    public void shouldForgetRequestOutcomesOutsideOfTheWindow() {
+        final MutableClock clock = new MutableClock();
+        final GraphApiRequestLog requestLog = GraphApiRequestLog.create(Duration.ofMinutes(1), 2, clock);
+
+        requestLog.record(outcome(Duration.ofMillis(900), clock.instant()));
+        clock.advance(Duration.ofSeconds(30));
+        requestLog.record(outcome(Duration.ofMillis(100), clock.instant()));
+        requestLog.record(outcome(Duration.ofMillis(200), clock.instant()));
+        requestLog.record(outcome(Duration.ofMillis(300), clock.instant()));
+
+        assertThat(requestLog.latency("messages", Result.SUCCESS).count(), is(4L));
+        assertThat(requestLog.slowestRequests().stream().map(GraphApiRequestOutcome::latency)
+                .collect(Collectors.toList()), contains(Duration.ofMillis(900), Duration.ofMillis(300)));
+
+        clock.advance(Duration.ofSeconds(45));
+
+        assertThat(requestLog.latency("messages", Result.SUCCESS).count(), is(3L));
+        assertThat(requestLog.slowestRequests().stream().map(GraphApiRequestOutcome::latency)
+                .collect(Collectors.toList()), contains(Duration.ofMillis(300), Duration.ofMillis(200)));
+    }
+
+    @Test
+    public void shouldReportPercentilesWithinThePrecisionOfTheHistogram() {
+        final MessengerMetrics.Histogram histogram = metrics.histogram("values");
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        final HistogramSnapshot snapshot = metrics.snapshot("values").get();
+
+        assertThat(snapshot.count(), is(100_000L));
+        assertThat(snapshot.min(), is(1L));
+        assertThat(snapshot.max(), is(100_000L));
+        assertThat(snapshot.valueAtPercentile(100), is(100_000L));
+        assertThat(snapshot.valueAtPercentile(50), is(greaterThanOrEqualTo(50_000L)));
+        assertThat(snapshot.valueAtPercentile(50), is(lessThanOrEqualTo(50_000L + 50_000L / 32)));
+        assertThat(snapshot.valueAtPercentile(99), is(greaterThanOrEqualTo(99_000L)));
+        assertThat(snapshot.valueAtPercentile(99), is(lessThanOrEqualTo(99_000L + 99_000L / 32)));
+    }
+
+    private void failingSend(MessagePayload payload) throws Exception {
+        try {
+            messenger.send(payload);
+            fail("Expected the send to fail");
+        } catch (MessengerApiException | MessengerIOException e) {
+            // expected
+        }
+    }
+
+    private static GraphApiRequestOutcome outcome(Duration latency, Instant completedAt) {
+        return new GraphApiRequestOutcome("messages", POST, Result.SUCCESS, of(200), empty(), of("AbCdEfGhIjK"),
+                latency, completedAt);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.parse("2017-11-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
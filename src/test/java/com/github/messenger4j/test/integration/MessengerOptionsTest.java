@@ -0,0 +1,47 @@
+package com.github.messenger4j.test.integration;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerMetrics;
+import com.github.messenger4j.webhook.IdentifierInterner;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class MessengerOptionsTest {
+
+    @Test
+    public void shouldHaveAllOptionsAbsentByDefault() throws Exception {
+        final MessengerOptions options = MessengerOptions.create();
+
+        assertThat(options.httpClient(), is(empty()));
+        assertThat(options.attachmentIdCache(), is(empty()));
+        assertThat(options.metrics(), is(empty()));
+        assertThat(options.identifierInterner(), is(empty()));
+        assertThat(options.webhookRecorder(), is(empty()));
+    }
+
+    @Test
+    public void shouldSetOptionsOnCopies() throws Exception {
+        final MessengerHttpClient httpClient = mock(MessengerHttpClient.class);
+        final MessengerMetrics metrics = mock(MessengerMetrics.class);
+        final IdentifierInterner identifierInterner = IdentifierInterner.create(16);
+
+        final MessengerOptions template = MessengerOptions.create().withHttpClient(httpClient).withMetrics(metrics);
+        final MessengerOptions options = template.withIdentifierInterner(identifierInterner);
+
+        assertThat(options.httpClient(), is(equalTo(of(httpClient))));
+        assertThat(options.metrics(), is(equalTo(of(metrics))));
+        assertThat(options.identifierInterner(), is(equalTo(of(identifierInterner))));
+        assertThat(template.identifierInterner(), is(empty()));
+        assertThat(MessengerOptions.create().httpClient(), is(empty()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.messenger4j.test.integration;
 
 import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.DELETE;
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.GET;
 import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -12,8 +13,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.endsWith;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.github.messenger4j.Messenger;
@@ -24,6 +29,8 @@ import com.github.messenger4j.common.WebviewShareButtonState;
 import com.github.messenger4j.exception.MessengerApiException;
 import com.github.messenger4j.messengerprofile.MessengerSettingProperty;
 import com.github.messenger4j.messengerprofile.MessengerSettings;
+import com.github.messenger4j.messengerprofile.SettingsHashStore;
+import com.github.messenger4j.messengerprofile.SettingsSyncResponse;
 import com.github.messenger4j.messengerprofile.SetupResponse;
 import com.github.messenger4j.messengerprofile.getstarted.StartButton;
 import com.github.messenger4j.messengerprofile.greeting.Greeting;
@@ -43,6 +50,7 @@ import com.github.messenger4j.spi.MessengerHttpClient.HttpMethod;
 import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -503,6 +511,56 @@ public class MessengerProfileTest {
         assertThat(messengerApiException.fbTraceId(), is(equalTo(of("BLBz/WZt8dN"))));
     }
 
+    @Test
+    public void shouldSyncOnlyChangedSettings() throws Exception {
+        final HttpResponse currentSettingsResponse = new HttpResponse(200, "{\n" +
+                "  \"data\": [\n" +
+                "    {\n" +
+                "      \"get_started\": {\n" +
+                "        \"payload\": \"Old payload\"\n" +
+                "      },\n" +
+                "      \"greeting\": [\n" +
+                "        {\n" +
+                "          \"locale\": \"default\",\n" +
+                "          \"text\": \"Hello!\"\n" +
+                "        }\n" +
+                "      ],\n" +
+                "      \"whitelisted_domains\": [\n" +
+                "        \"https://petersapparel.com\"\n" +
+                "      ]\n" +
+                "    }\n" +
+                "  ]\n" +
+                "}");
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenReturn(currentSettingsResponse);
+
+        // tag::setup-SyncSettings[]
+        final MessengerSettings messengerSettings = MessengerSettings.create(of(StartButton.create("New payload")),
+                of(Greeting.create("Hello!")), empty(), empty(), empty(), empty(), empty());
+        final SettingsHashStore settingsHashStore = SettingsHashStore.create();
+
+        final SettingsSyncResponse syncResponse = messenger.syncSettings(messengerSettings, settingsHashStore);
+        // end::setup-SyncSettings[]
+        final SettingsSyncResponse repeatedSyncResponse = messenger.syncSettings(messengerSettings, settingsHashStore);
+
+        assertThat(syncResponse.isSkipped(), is(false));
+        assertThat(syncResponse.updatedProperties(), is(equalTo(EnumSet.of(MessengerSettingProperty.START_BUTTON))));
+        assertThat(syncResponse.deletedProperties(),
+                is(equalTo(EnumSet.of(MessengerSettingProperty.WHITELISTED_DOMAINS))));
+        assertThat(repeatedSyncResponse.isSkipped(), is(true));
+
+        final ArgumentCaptor<String> postPayloadCaptor = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<String> deletePayloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockHttpClient, times(1)).execute(eq(GET),
+                startsWith("https://graph.facebook.com/v2.11/me/messenger_profile?fields=get_started,persistent_menu,"),
+                isNull());
+        verify(mockHttpClient).execute(eq(POST), endsWith(PAGE_ACCESS_TOKEN), postPayloadCaptor.capture());
+        verify(mockHttpClient).execute(eq(DELETE), endsWith(PAGE_ACCESS_TOKEN), deletePayloadCaptor.capture());
+        verifyNoMoreInteractions(mockHttpClient);
+        JSONAssert.assertEquals("{\"get_started\":{\"payload\":\"New payload\"}}", postPayloadCaptor.getValue(),
+                true);
+        JSONAssert.assertEquals("{\"fields\":[\"whitelisted_domains\"]}", deletePayloadCaptor.getValue(), true);
+    }
+
     @Test
     public void shouldHandleDeleteSuccessResponse() throws Exception {
         final HttpResponse successfulResponse = new HttpResponse(200, "{\"result\": \"success\"}");
@@ -0,0 +1,93 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerRegistry;
+import com.github.messenger4j.exception.MessengerVerificationException;
+import com.github.messenger4j.send.MessagePayload;
+import com.github.messenger4j.send.MessagingType;
+import com.github.messenger4j.send.message.TextMessage;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.webhook.Event;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class MessengerRegistryTest {
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final MessengerRegistry registry = MessengerRegistry.create("60efff025951cddde78c8d03de52cc90",
+            "CUSTOM_VERIFY_TOKEN", of(mockHttpClient), empty(), empty());
+
+    @Test
+    public void shouldRouteEventsByPageId() throws Exception {
+        final List<Event> firstPageEvents = new ArrayList<>();
+        final List<Event> secondPageEvents = new ArrayList<>();
+        registry.register("PAGE_ID_1", "PAGE_ACCESS_TOKEN_1", firstPageEvents::add);
+        registry.register("PAGE_ID_2", "PAGE_ACCESS_TOKEN_2", secondPageEvents::add);
+
+        final String payload = "{\"object\":\"page\",\"entry\":[" +
+                entry("PAGE_ID_1", "hello, first page!") + "," +
+                entry("PAGE_ID_2", "hello, second page!") + "," +
+                entry("UNKNOWN_PAGE_ID", "hello, nobody!") + "]}";
+
+        registry.onReceiveEvents(payload, empty());
+
+        assertThat(registry.size(), is(2));
+        assertThat(firstPageEvents, hasSize(1));
+        assertThat(firstPageEvents.get(0).asTextMessageEvent().text(), is(equalTo("hello, first page!")));
+        assertThat(secondPageEvents, hasSize(1));
+        assertThat(secondPageEvents.get(0).recipientId(), is(equalTo("PAGE_ID_2")));
+    }
+
+    @Test(expected = MessengerVerificationException.class)
+    public void shouldVerifySignatureOnce() throws Exception {
+        registry.register("PAGE_ID_1", "PAGE_ACCESS_TOKEN_1", event -> {
+        });
+
+        registry.onReceiveEvents("{\"object\":\"page\",\"entry\":[" + entry("PAGE_ID_1", "test") + "]}",
+                of("sha1=3daa4a4ab6ab43a8c3a4cd6c9ef1cfce0ea2ae6a"));
+    }
+
+    @Test
+    public void shouldSendWithPageAccessTokenOfRegisteredPage() throws Exception {
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString())).thenReturn(new HttpResponse(200,
+                "{\"recipient_id\":\"USER_ID\",\"message_id\":\"mid.1473372944816:94f72b88c597657974\"}"));
+        registry.register("PAGE_ID_1", "PAGE_ACCESS_TOKEN_1", event -> {
+        });
+        registry.register("PAGE_ID_2", "PAGE_ACCESS_TOKEN_2", event -> {
+        });
+
+        final Messenger messenger = registry.messenger("PAGE_ID_2").orElseThrow(IllegalStateException::new);
+        messenger.send(MessagePayload.create("USER_ID", MessagingType.RESPONSE, TextMessage.create("test")));
+
+        verify(mockHttpClient).execute(eq(POST), endsWith("PAGE_ACCESS_TOKEN_2"), anyString());
+        registry.unregister("PAGE_ID_2");
+        assertThat(registry.messenger("PAGE_ID_2"), is(empty()));
+    }
+
+    private static String entry(String pageId, String text) {
+        return "{\"id\":\"" + pageId + "\",\"time\":1458692752478,\"messaging\":[{" +
+                "\"sender\":{\"id\":\"USER_ID\"}," +
+                "\"recipient\":{\"id\":\"" + pageId + "\"}," +
+                "\"timestamp\":1458692752478," +
+                "\"message\":{\"mid\":\"mid.1457764197618:41d102a3e1ae206a38\",\"text\":\"" + text + "\"}}]}";
+    }
+}
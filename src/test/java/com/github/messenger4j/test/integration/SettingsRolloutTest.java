@@ -0,0 +1,185 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.DELETE;
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.GET;
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.POST;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.SettingsRollout;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.messengerprofile.MessengerSettingProperty;
+import com.github.messenger4j.messengerprofile.MessengerSettings;
+import com.github.messenger4j.messengerprofile.PageRolloutResult;
+import com.github.messenger4j.messengerprofile.SettingsHashStore;
+import com.github.messenger4j.messengerprofile.SettingsRolloutResult;
+import com.github.messenger4j.messengerprofile.SettingsSyncResponse;
+import com.github.messenger4j.messengerprofile.greeting.Greeting;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpMethod;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 1.1.0
+ */
+public class SettingsRolloutTest {
+
+    private static final HttpResponse SUCCESS_RESPONSE = new HttpResponse(200, "{\"result\": \"success\"}");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final SettingsRollout settingsRollout = SettingsRollout.create(2, 1000, 3, Duration.ofMillis(1),
+            of(mockHttpClient));
+
+    @Test
+    public void shouldRolloutSettingsWithRetriesAndResumeFromCheckpoint() throws Exception {
+        when(mockHttpClient.execute(eq(POST), endsWith("PAGE_A"), anyString())).thenReturn(SUCCESS_RESPONSE);
+        when(mockHttpClient.execute(eq(POST), endsWith("PAGE_B"), anyString()))
+                .thenReturn(errorResponse(500, 2), SUCCESS_RESPONSE);
+        when(mockHttpClient.execute(eq(POST), endsWith("PAGE_C"), anyString())).thenReturn(errorResponse(401, 190));
+        final Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("rollout.checkpoint");
+        final List<Integer> completedCounts = new ArrayList<>();
+
+        // tag::setup-Rollout[]
+        final MessengerSettings messengerSettings = MessengerSettings.create(empty(), of(Greeting.create("Hello!")),
+                empty(), empty(), empty(), empty(), empty());
+        final Map<String, MessengerSettings> settingsByPageAccessToken = new LinkedHashMap<>();
+        settingsByPageAccessToken.put("PAGE_A", messengerSettings);
+        settingsByPageAccessToken.put("PAGE_B", messengerSettings);
+        settingsByPageAccessToken.put("PAGE_C", messengerSettings);
+
+        final SettingsRolloutResult result = settingsRollout.run(settingsByPageAccessToken, of(checkpointFile),
+                of((pageResult, completedCount, totalCount) -> completedCounts.add(completedCount)));
+        // end::setup-Rollout[]
+
+        assertThat(result.successCount(), is(2L));
+        assertThat(result.failureCount(), is(1L));
+        assertThat(completedCounts, contains(1, 2, 3));
+        assertThat(attemptsByPage(result), is(equalTo(expectedAttempts("PAGE_A", 1, "PAGE_B", 2, "PAGE_C", 1))));
+        final PageRolloutResult failedPageResult = result.pageResults().stream()
+                .filter(pageResult -> !pageResult.isSuccessful()).findFirst().get();
+        assertThat(((MessengerApiException) failedPageResult.failure().get()).code(), is(of(190)));
+
+        reset(mockHttpClient);
+        when(mockHttpClient.execute(eq(POST), endsWith("PAGE_C"), anyString())).thenReturn(SUCCESS_RESPONSE);
+        final SettingsRolloutResult resumedResult = settingsRollout.run(settingsByPageAccessToken,
+                of(checkpointFile), empty());
+
+        assertThat(resumedResult.skippedCount(), is(2L));
+        assertThat(resumedResult.successCount(), is(1L));
+        verify(mockHttpClient, times(1)).execute(eq(POST), endsWith("PAGE_C"), anyString());
+        assertThat(resumedResult.pageResults().stream().filter(PageRolloutResult::isSkipped)
+                        .map(PageRolloutResult::pageAccessToken).collect(Collectors.toList()),
+                containsInAnyOrder("PAGE_A", "PAGE_B"));
+    }
+
+    @Test
+    public void shouldRolloutChangedSettingsDespiteCheckpoint() throws Exception {
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString())).thenReturn(SUCCESS_RESPONSE);
+        final Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("rollout.checkpoint");
+        final Map<String, MessengerSettings> settingsByPageAccessToken = new LinkedHashMap<>();
+        settingsByPageAccessToken.put("PAGE_A", MessengerSettings.create(empty(), of(Greeting.create("Hello!")),
+                empty(), empty(), empty(), empty(), empty()));
+        settingsByPageAccessToken.put("PAGE_B", MessengerSettings.create(empty(), of(Greeting.create("Hello!")),
+                empty(), empty(), empty(), empty(), empty()));
+        settingsRollout.run(settingsByPageAccessToken, of(checkpointFile), empty());
+
+        reset(mockHttpClient);
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString())).thenReturn(SUCCESS_RESPONSE);
+        settingsByPageAccessToken.put("PAGE_B", MessengerSettings.create(empty(), of(Greeting.create("Hi!")),
+                empty(), empty(), empty(), empty(), empty()));
+        final SettingsRolloutResult result = settingsRollout.run(settingsByPageAccessToken, of(checkpointFile),
+                empty());
+
+        assertThat(result.skippedCount(), is(1L));
+        assertThat(result.successCount(), is(1L));
+        verify(mockHttpClient).execute(eq(POST), endsWith("PAGE_B"), anyString());
+    }
+
+    @Test
+    public void shouldNotLetSettingsSyncSkipPagesOfRollout() throws Exception {
+        when(mockHttpClient.execute(eq(POST), anyString(), anyString())).thenReturn(SUCCESS_RESPONSE);
+        final Path checkpointFile = temporaryFolder.getRoot().toPath().resolve("rollout.checkpoint");
+        final MessengerSettings messengerSettings = MessengerSettings.create(empty(), of(Greeting.create("Hello!")),
+                empty(), empty(), empty(), empty(), empty());
+        final Map<String, MessengerSettings> settingsByPageAccessToken = new LinkedHashMap<>();
+        settingsByPageAccessToken.put("PAGE_A", messengerSettings);
+        settingsRollout.run(settingsByPageAccessToken, of(checkpointFile), empty());
+
+        reset(mockHttpClient);
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenReturn(new HttpResponse(200, "{\"data\": [{" +
+                "\"greeting\": [{\"locale\": \"default\", \"text\": \"Hello!\"}]," +
+                "\"whitelisted_domains\": [\"https://petersapparel.com\"]}]}"));
+        when(mockHttpClient.execute(any(HttpMethod.class), anyString(), anyString())).thenReturn(SUCCESS_RESPONSE);
+        final SettingsHashStore settingsHashStore = SettingsHashStore.load(checkpointFile);
+        final Messenger messenger = Messenger.create("PAGE_A", "test", "test", of(mockHttpClient));
+
+        final SettingsSyncResponse response = messenger.syncSettings(messengerSettings, settingsHashStore);
+
+        assertThat(response.isSkipped(), is(false));
+        assertThat(response.deletedProperties(), is(equalTo(EnumSet.of(MessengerSettingProperty.WHITELISTED_DOMAINS))));
+        verify(mockHttpClient).execute(eq(DELETE), endsWith("PAGE_A"), anyString());
+    }
+
+    @Test
+    public void shouldNotSendAnyRequestForEmptyRollout() throws Exception {
+        final SettingsRolloutResult result = settingsRollout.run(new LinkedHashMap<>(), empty(), empty());
+
+        assertThat(result.pageResults().isEmpty(), is(true));
+        verifyZeroInteractions(mockHttpClient);
+    }
+
+    private static Map<String, Integer> attemptsByPage(SettingsRolloutResult result) {
+        return result.pageResults().stream()
+                .collect(Collectors.toMap(PageRolloutResult::pageAccessToken, PageRolloutResult::attempts));
+    }
+
+    private static Map<String, Integer> expectedAttempts(Object... pagesAndAttempts) {
+        final Map<String, Integer> expectedAttempts = new LinkedHashMap<>();
+        for (int i = 0; i < pagesAndAttempts.length; i += 2) {
+            expectedAttempts.put((String) pagesAndAttempts[i], (Integer) pagesAndAttempts[i + 1]);
+        }
+        return expectedAttempts;
+    }
+
+    private static HttpResponse errorResponse(int statusCode, int code) {
+        return new HttpResponse(statusCode, "{\n" +
+                "  \"error\": {\n" +
+                "    \"message\": \"An error occurred.\",\n" +
+                "    \"type\": \"OAuthException\",\n" +
+                "    \"code\": " + code + ",\n" +
+                "    \"fbtrace_id\": \"BLBz/WZt8dN\"\n" +
+                "  }\n" +
+                "}");
+    }
+}
@@ -0,0 +1,303 @@
+package com.github.messenger4j.test.integration;
+
+import static com.github.messenger4j.spi.MessengerHttpClient.HttpMethod.GET;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.exception.MessengerApiException;
+import com.github.messenger4j.spi.MessengerHttpClient;
+import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.userprofile.MappedUserProfileStore;
+import com.github.messenger4j.userprofile.NegativeCachingPolicy;
+import com.github.messenger4j.userprofile.UserProfile;
+import com.github.messenger4j.userprofile.UserProfileCache;
+import com.github.messenger4j.userprofile.UserProfileCacheStats;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 1.1.0
+ */
+public class UserProfileCacheTest {
+
+    private static final String FB_GRAPH_API_URL_PREFIX = "https://graph.facebook.com/v2.11/";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MessengerHttpClient mockHttpClient = mock(MessengerHttpClient.class);
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "test", "test", of(mockHttpClient));
+    private final MutableClock clock = new MutableClock();
+    private final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 2,
+            Duration.ofMinutes(10), Duration.ofMinutes(1), Runnable::run, clock);
+
+    @Before
+    public void beforeEach() throws Exception {
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenAnswer(invocation -> {
+            final String requestUrl = invocation.getArgument(1);
+            final String userId = requestUrl.substring(FB_GRAPH_API_URL_PREFIX.length(), requestUrl.indexOf('?'));
+            return profileResponse(userId);
+        });
+    }
+
+    @Test
+    public void shouldServeCachedUserProfile() throws Exception {
+        // tag::user-QueryProfileCached[]
+        final UserProfile userProfile = userProfileCache.get("USER_ID");
+        // end::user-QueryProfileCached[]
+        final UserProfile cachedUserProfile = userProfileCache.get("USER_ID");
+
+        assertThat(cachedUserProfile, is(equalTo(userProfile)));
+        verify(mockHttpClient, times(1)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull());
+        final UserProfileCacheStats stats = userProfileCache.stats();
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRefreshAheadOfExpiration() throws Exception {
+        userProfileCache.get("USER_ID");
+
+        clock.advance(Duration.ofMinutes(9).plusSeconds(30));
+        userProfileCache.get("USER_ID");
+        clock.advance(Duration.ofMinutes(5));
+        userProfileCache.get("USER_ID");
+
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull());
+        final UserProfileCacheStats stats = userProfileCache.stats();
+        assertThat(stats.hitCount(), is(2L));
+        assertThat(stats.missCount(), is(1L));
+        assertThat(stats.refreshCount(), is(1L));
+    }
+
+    @Test
+    public void shouldExpireEntries() throws Exception {
+        userProfileCache.get("USER_ID");
+
+        clock.advance(Duration.ofMinutes(11));
+        userProfileCache.get("USER_ID");
+
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull());
+        assertThat(userProfileCache.stats().expirationCount(), is(1L));
+    }
+
+    @Test
+    public void shouldEvictEldestEntries() throws Exception {
+        userProfileCache.get("USER_ID_1");
+        userProfileCache.get("USER_ID_2");
+        userProfileCache.get("USER_ID_3");
+        userProfileCache.get("USER_ID_3");
+        userProfileCache.get("USER_ID_1");
+
+        assertThat(userProfileCache.size(), is(2));
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID_1?"), isNull());
+        assertThat(userProfileCache.stats().evictionCount(), is(2L));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyReadEntries() throws Exception {
+        userProfileCache.get("USER_ID_1");
+        userProfileCache.get("USER_ID_2");
+        userProfileCache.get("USER_ID_1");
+        userProfileCache.get("USER_ID_3");
+        userProfileCache.get("USER_ID_1");
+
+        verify(mockHttpClient, times(1)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID_1?"), isNull());
+        userProfileCache.get("USER_ID_2");
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID_2?"), isNull());
+    }
+
+    @Test
+    public void shouldNotEvictAfterInvalidatingRepeatedly() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            userProfileCache.get("USER_ID_" + i);
+            userProfileCache.invalidate("USER_ID_" + i);
+        }
+        assertThat(userProfileCache.size(), is(0));
+
+        userProfileCache.get("USER_ID_A");
+        userProfileCache.get("USER_ID_B");
+        userProfileCache.get("USER_ID_A");
+        userProfileCache.get("USER_ID_B");
+
+        assertThat(userProfileCache.size(), is(2));
+        assertThat(userProfileCache.stats().evictionCount(), is(0L));
+        assertThat(userProfileCache.stats().hitCount(), is(2L));
+    }
+
+    @Test
+    public void shouldKeepSizeBoundedUnderConcurrentAccess() throws Exception {
+        final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), Runnable::run, clock);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t * 250;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        userProfileCache.get("USER_ID_" + ((offset + i) % 1000));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(userProfileCache.size(), is(100));
+        final UserProfileCacheStats stats = userProfileCache.stats();
+        assertThat(stats.evictionCount(), is(greaterThan(0L)));
+        assertThat(stats.evictionCount(), is(lessThanOrEqualTo(stats.missCount() - 100)));
+    }
+
+    @Test
+    public void shouldServeUserProfileThatCannotBeStored() throws Exception {
+        final String longName = new String(new char[70000]).replace('\0', 'x');
+        when(mockHttpClient.execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull()))
+                .thenReturn(profileResponse(longName));
+        try (MappedUserProfileStore store = MappedUserProfileStore.open(
+                temporaryFolder.getRoot().toPath().resolve("user-profiles.bin"))) {
+            final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 10, Duration.ofMinutes(10),
+                    Duration.ofMinutes(1), Runnable::run, of(store), empty(), clock);
+
+            assertThat(userProfileCache.get("USER_ID").firstName(), is(equalTo(longName)));
+            assertThat(store.size(), is(0));
+        }
+    }
+
+    @Test
+    public void shouldRememberPermanentFailures() throws Exception {
+        when(mockHttpClient.execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "BLOCKED_USER_ID?"), isNull()))
+                .thenReturn(errorResponse(551));
+        // tag::user-QueryProfileNegativeCaching[]
+        final NegativeCachingPolicy negativeCachingPolicy = NegativeCachingPolicy.create(Duration.ofHours(1),
+                Collections.singleton(551));
+        final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 10, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), Runnable::run, empty(), of(negativeCachingPolicy), clock);
+        // end::user-QueryProfileNegativeCaching[]
+
+        final MessengerApiException originalException = failingGet(userProfileCache, "BLOCKED_USER_ID");
+        final MessengerApiException cachedException = failingGet(userProfileCache, "BLOCKED_USER_ID");
+        final MessengerApiException sameCachedException = failingGet(userProfileCache, "BLOCKED_USER_ID");
+
+        assertThat(originalException.code(), is(of(551)));
+        assertThat(cachedException, is(sameInstance(originalException)));
+        assertThat(sameCachedException, is(sameInstance(originalException)));
+        assertThat(userProfileCache.stats().negativeHitCount(), is(2L));
+        verify(mockHttpClient, times(1)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "BLOCKED_USER_ID?"),
+                isNull());
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(failingGet(userProfileCache, "BLOCKED_USER_ID"), is(not(sameInstance(originalException))));
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "BLOCKED_USER_ID?"),
+                isNull());
+    }
+
+    @Test
+    public void shouldNotRememberTransientFailures() throws Exception {
+        when(mockHttpClient.execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull()))
+                .thenReturn(errorResponse(2));
+        final UserProfileCache userProfileCache = UserProfileCache.create(messenger, 10, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), Runnable::run, empty(),
+                of(NegativeCachingPolicy.create(Duration.ofHours(1), Collections.singleton(551))), clock);
+
+        failingGet(userProfileCache, "USER_ID");
+        failingGet(userProfileCache, "USER_ID");
+
+        verify(mockHttpClient, times(2)).execute(eq(GET), startsWith(FB_GRAPH_API_URL_PREFIX + "USER_ID?"), isNull());
+        assertThat(userProfileCache.stats().negativeHitCount(), is(0L));
+    }
+
+    private static MessengerApiException failingGet(UserProfileCache userProfileCache, String userId)
+            throws Exception {
+        try {
+            userProfileCache.get(userId);
+        } catch (MessengerApiException e) {
+            return e;
+        }
+        fail("Expected a MessengerApiException");
+        return null;
+    }
+
+    private static HttpResponse errorResponse(int code) {
+        return new HttpResponse(400, "{\n" +
+                "  \"error\": {\n" +
+                "    \"message\": \"(#" + code + ") This person isn't available right now.\",\n" +
+                "    \"type\": \"OAuthException\",\n" +
+                "    \"code\": " + code + ",\n" +
+                "    \"fbtrace_id\": \"H3qnFWAPjPt\"\n" +
+                "  }\n" +
+                "}");
+    }
+
+    private static HttpResponse profileResponse(String userId) {
+        return new HttpResponse(200, "{\n" +
+                "  \"first_name\": \"" + userId + "\",\n" +
+                "  \"last_name\": \"Chang\",\n" +
+                "  \"profile_pic\": \"https://fbcdn-profile-a.akamaihd.net/profile.jpg\",\n" +
+                "  \"locale\": \"en_US\",\n" +
+                "  \"timezone\": -7,\n" +
+                "  \"gender\": \"male\",\n" +
+                "  \"is_payment_enabled\": true\n" +
+                "}");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant = Instant.parse("2017-11-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
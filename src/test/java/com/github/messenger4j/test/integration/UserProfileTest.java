@@ -5,11 +5,14 @@ import static java.util.Optional.of;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -17,8 +20,19 @@ import com.github.messenger4j.Messenger;
 import com.github.messenger4j.exception.MessengerApiException;
 import com.github.messenger4j.spi.MessengerHttpClient;
 import com.github.messenger4j.spi.MessengerHttpClient.HttpResponse;
+import com.github.messenger4j.userprofile.PartialUserProfile;
 import com.github.messenger4j.userprofile.UserProfile;
+import com.github.messenger4j.userprofile.UserProfileField;
+import com.github.messenger4j.userprofile.UserProfilesResponse;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 
 /**
@@ -122,4 +136,125 @@ public class UserProfileTest {
         assertThat(messengerApiException.code(), is(equalTo(of(190))));
         assertThat(messengerApiException.fbTraceId(), is(equalTo(of("BLBz/WZt8dN"))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCoalesceConcurrentQueriesForSameUser() throws Exception {
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenAnswer(invocation -> {
+            responseLatch.await(5, TimeUnit.SECONDS);
+            return new HttpResponse(200, "{\"first_name\":\"Peter\",\"last_name\":\"Chang\"," +
+                    "\"profile_pic\":\"https://fbcdn-profile-a.akamaihd.net/profile.jpg\",\"locale\":\"en_US\"," +
+                    "\"timezone\":-7,\"gender\":\"male\",\"is_payment_enabled\":true}");
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<UserProfile> firstQuery = messenger.queryUserProfileAsync("USER_ID", executor);
+            final CompletableFuture<UserProfile> secondQuery = messenger.queryUserProfileAsync("USER_ID", executor);
+            responseLatch.countDown();
+
+            assertThat(firstQuery.get(5, TimeUnit.SECONDS).firstName(), is(equalTo("Peter")));
+            assertThat(secondQuery.get(5, TimeUnit.SECONDS), is(sameInstance(firstQuery.get())));
+            verify(mockHttpClient, times(1)).execute(eq(GET), anyString(), isNull());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldShareExceptionOfCoalescedQuery() throws Exception {
+        final CountDownLatch responseLatch = new CountDownLatch(1);
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenAnswer(invocation -> {
+            responseLatch.await(5, TimeUnit.SECONDS);
+            return new HttpResponse(400, "{\"error\":{\"message\":\"Unsupported get request.\"," +
+                    "\"type\":\"GraphMethodException\",\"code\":100,\"fbtrace_id\":\"BLBz/WZt8dN\"}}");
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<UserProfile> firstQuery = messenger.queryUserProfileAsync("USER_ID", executor);
+            final CompletableFuture<UserProfile> secondQuery = messenger.queryUserProfileAsync("USER_ID", executor);
+            responseLatch.countDown();
+
+            final Throwable firstException = causeOf(firstQuery);
+            final Throwable secondException = causeOf(secondQuery);
+            assertThat(firstException instanceof MessengerApiException, is(true));
+            assertThat(secondException, is(sameInstance(firstException)));
+            verify(mockHttpClient, times(1)).execute(eq(GET), anyString(), isNull());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void shouldQueryUserProfilesInBulk() throws Exception {
+        final HttpResponse bulkResponse = new HttpResponse(200, "{" +
+                "\"USER_ID_1\":{\"first_name\":\"Peter\",\"last_name\":\"Chang\"," +
+                "\"profile_pic\":\"https://fbcdn-profile-a.akamaihd.net/profile.jpg\",\"locale\":\"en_US\"," +
+                "\"timezone\":-7,\"gender\":\"male\",\"is_payment_enabled\":true}," +
+                "\"USER_ID_2\":{\"first_name\":\"Anna\",\"last_name\":\"Lee\"," +
+                "\"profile_pic\":\"https://fbcdn-profile-a.akamaihd.net/profile.jpg\",\"locale\":\"de_DE\"," +
+                "\"timezone\":1,\"gender\":\"female\",\"is_payment_enabled\":false}," +
+                "\"USER_ID_3\":{\"first_name\":\"Incomplete\"}" +
+                "}");
+        when(mockHttpClient.execute(eq(GET), contains("?ids=USER_ID_1,USER_ID_2,USER_ID_3&"), isNull()))
+                .thenReturn(bulkResponse);
+
+        // tag::user-QueryProfiles[]
+        final UserProfilesResponse response = messenger.queryUserProfiles(
+                Arrays.asList("USER_ID_1", "USER_ID_2", "USER_ID_3"));
+        // end::user-QueryProfiles[]
+
+        assertThat(response.userProfiles().size(), is(2));
+        assertThat(response.userProfiles().get("USER_ID_1").firstName(), is(equalTo("Peter")));
+        assertThat(response.userProfiles().get("USER_ID_2").gender(), is(equalTo(UserProfile.Gender.FEMALE)));
+        assertThat(response.errors().size(), is(1));
+        assertThat(response.errors().get("USER_ID_3") instanceof IllegalArgumentException, is(true));
+    }
+
+    @Test
+    public void shouldQueryUserProfilesOneByOneIfBulkRequestContainsInvalidId() throws Exception {
+        final HttpResponse invalidIdResponse = new HttpResponse(404, "{\"error\":{" +
+                "\"message\":\"(#100) Some of the aliases you requested do not exist: INVALID_ID\"," +
+                "\"type\":\"OAuthException\",\"code\":100,\"fbtrace_id\":\"BLBz/WZt8dN\"}}");
+        final HttpResponse profileResponse = new HttpResponse(200, "{\"first_name\":\"Peter\"," +
+                "\"last_name\":\"Chang\",\"profile_pic\":\"https://fbcdn-profile-a.akamaihd.net/profile.jpg\"," +
+                "\"locale\":\"en_US\",\"timezone\":-7,\"gender\":\"male\",\"is_payment_enabled\":true}");
+        when(mockHttpClient.execute(eq(GET), contains("?ids="), isNull())).thenReturn(invalidIdResponse);
+        when(mockHttpClient.execute(eq(GET), contains("/INVALID_ID?"), isNull())).thenReturn(invalidIdResponse);
+        when(mockHttpClient.execute(eq(GET), contains("/USER_ID?"), isNull())).thenReturn(profileResponse);
+
+        final UserProfilesResponse response = messenger.queryUserProfiles(Arrays.asList("USER_ID", "INVALID_ID"),
+                2, Runnable::run);
+
+        assertThat(response.userProfiles().get("USER_ID").firstName(), is(equalTo("Peter")));
+        assertThat(((MessengerApiException) response.errors().get("INVALID_ID")).code(), is(equalTo(of(100))));
+    }
+
+    @Test
+    public void shouldQueryPartialUserProfile() throws Exception {
+        final HttpResponse partialResponse = new HttpResponse(200, "{\"locale\":\"en_US\"," +
+                "\"first_name\":\"Peter\",\"id\":\"USER_ID\"}");
+        when(mockHttpClient.execute(eq(GET), anyString(), isNull())).thenReturn(partialResponse);
+
+        // tag::user-QueryPartialProfile[]
+        final PartialUserProfile userProfile = messenger.queryUserProfile("USER_ID",
+                EnumSet.of(UserProfileField.LOCALE, UserProfileField.FIRST_NAME));
+        // end::user-QueryPartialProfile[]
+
+        verify(mockHttpClient).execute(eq(GET), eq("https://graph.facebook.com/v2.11/USER_ID" +
+                "?fields=first_name,locale&access_token=" + PAGE_ACCESS_TOKEN), isNull());
+        assertThat(userProfile.firstName(), is(equalTo(of("Peter"))));
+        assertThat(userProfile.locale(), is(equalTo(of("en_US"))));
+        assertThat(userProfile.lastName(), is(Optional.empty()));
+        assertThat(userProfile.timezoneOffset(), is(Optional.empty()));
+        assertThat(userProfile.lastAdReferral(), is(Optional.empty()));
+    }
+}
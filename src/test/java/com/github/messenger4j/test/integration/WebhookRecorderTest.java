@@ -0,0 +1,133 @@
+package com.github.messenger4j.test.integration;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.MessengerOptions;
+import com.github.messenger4j.exception.MessengerVerificationException;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.WebhookRecorder;
+import com.github.messenger4j.webhook.WebhookRecording;
+import com.github.messenger4j.webhook.WebhookReplayResult;
+import com.github.messenger4j.webhook.WebhookReplayer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 1.1.0
+ */
+public class WebhookRecorderTest {
+
+    private static final String APP_SECRET = "60efff025951cddde78c8d03de52cc90";
+    private static final String PAYLOAD = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\"," +
+            "\"time\":1475942721780,\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"}," +
+            "\"recipient\":{\"id\":\"1717527131834678\"},\"timestamp\":1475942721741," +
+            "\"message\":{\"mid\":\"mid.1475942721728:3b9e3646712f9bed52\",\"seq\":123,\"text\":\"34wrr3wr\"}}]}]}";
+    private static final String SIGNATURE = "sha1=3daa41999293ff66c3eb313e04bcf77861bb0276";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRecordReceivedRequestsIncludingRejectedOnes() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("webhook.rec");
+        try (WebhookRecorder recorder = WebhookRecorder.open(file)) {
+            final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", APP_SECRET, "VERIFY_TOKEN",
+                    MessengerOptions.create().withWebhookRecorder(recorder));
+            messenger.onReceiveEvents(PAYLOAD, of(SIGNATURE), event -> {
+            });
+            try {
+                messenger.onReceiveEvents(PAYLOAD.replace("34wrr3wr", "CHANGED"), of(SIGNATURE), event -> {
+                });
+            } catch (MessengerVerificationException e) {
+                // recorded anyway
+            }
+            messenger.onReceiveEvents(PAYLOAD, empty(), event -> {
+            });
+            assertThat(recorder.recordCount(), is(3L));
+        }
+
+        final List<WebhookRecording> recordings = WebhookRecorder.read(file);
+        assertThat(recordings, hasSize(3));
+        assertThat(recordings.get(0).payload(), is(equalTo(PAYLOAD)));
+        assertThat(recordings.get(0).signature(), is(equalTo(of(SIGNATURE))));
+        assertThat(recordings.get(0).arrivalEpochMilli(), is(greaterThan(0L)));
+        assertThat(recordings.get(1).payload(), is(equalTo(PAYLOAD.replace("34wrr3wr", "CHANGED"))));
+        assertThat(recordings.get(2).signature(), is(equalTo(empty())));
+    }
+
+    @Test
+    public void shouldDiscardPartialRecordAndAppendAfterIt() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("webhook.rec");
+        try (WebhookRecorder recorder = WebhookRecorder.open(file)) {
+            recorder.record(PAYLOAD, of(SIGNATURE));
+        }
+        Files.write(file, new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 0}, StandardOpenOption.APPEND);
+
+        assertThat(WebhookRecorder.read(file), hasSize(1));
+        try (WebhookRecorder recorder = WebhookRecorder.open(file)) {
+            recorder.record(PAYLOAD, empty());
+        }
+        final List<WebhookRecording> recordings = WebhookRecorder.read(file);
+        assertThat(recordings, hasSize(2));
+        assertThat(recordings.get(1).signature(), is(equalTo(empty())));
+    }
+
+    @Test
+    public void shouldStopRecordingAfterFailedWrite() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("webhook.rec");
+        final WebhookRecorder recorder = WebhookRecorder.open(file);
+        recorder.record(PAYLOAD, of(SIGNATURE));
+        recorder.close();
+
+        recorder.record(new byte[128 * 1024], empty());
+        recorder.record(PAYLOAD, empty());
+
+        assertThat(recorder.recordCount(), is(1L));
+        assertThat(recorder.failureCount(), is(2L));
+        assertThat(WebhookRecorder.read(file), hasSize(1));
+    }
+
+    @Test
+    public void shouldReplayRecordingAndReportThroughput() throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve("webhook.rec");
+        try (WebhookRecorder recorder = WebhookRecorder.open(file)) {
+            for (int i = 0; i < 10; i++) {
+                recorder.record(PAYLOAD, of(SIGNATURE));
+            }
+            recorder.record(PAYLOAD.replace("34wrr3wr", "CHANGED"), of(SIGNATURE));
+        }
+        final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", APP_SECRET, "VERIFY_TOKEN");
+        final List<Event> events = new ArrayList<>();
+
+        final WebhookReplayResult result = WebhookReplayer.create(Double.POSITIVE_INFINITY, true)
+                .replay(file, messenger, events::add);
+
+        assertThat(result.requestCount(), is(11L));
+        assertThat(result.eventCount(), is(10L));
+        assertThat(result.failureCount(), is(1L));
+        assertThat(events, hasSize(10));
+        assertThat(events.get(9).asTextMessageEvent().text(), is(equalTo("34wrr3wr")));
+        assertThat(result.requestLatency().count(), is(11L));
+        assertThat(result.handlerLatency().count(), is(10L));
+        assertThat(result.eventsPerSecond(), is(greaterThan(0.0)));
+
+        final WebhookReplayResult unverifiedResult = WebhookReplayer.create(1, false)
+                .replay(file, messenger, event -> {
+                });
+        assertThat(unverifiedResult.eventCount(), is(11L));
+        assertThat(unverifiedResult.failureCount(), is(0L));
+    }
+}
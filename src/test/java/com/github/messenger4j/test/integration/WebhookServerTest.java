@@ -0,0 +1,214 @@
+package com.github.messenger4j.test.integration;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import com.github.messenger4j.Messenger;
+import com.github.messenger4j.WebhookServer;
+import com.github.messenger4j.webhook.Event;
+import com.github.messenger4j.webhook.IngestionQueue;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since 1.1.0
+ */
+public class WebhookServerTest {
+
+    private static final String PAYLOAD = "{\"object\":\"page\",\"entry\":[{\"id\":\"1717527131834678\"," +
+            "\"time\":1475942721780,\"messaging\":[{\"sender\":{\"id\":\"1256217357730577\"}," +
+            "\"recipient\":{\"id\":\"1717527131834678\"},\"timestamp\":1475942721741," +
+            "\"message\":{\"mid\":\"mid.1475942721728:3b9e3646712f9bed52\",\"seq\":123,\"text\":\"34wrr3wr\"}}]}]}";
+    private static final String SIGNATURE = "sha1=3daa41999293ff66c3eb313e04bcf77861bb0276";
+
+    private final Messenger messenger = Messenger.create("PAGE_ACCESS_TOKEN", "60efff025951cddde78c8d03de52cc90",
+            "CUSTOM_VERIFY_TOKEN");
+    private WebhookServer webhookServer;
+
+    @After
+    public void closeServer() throws Exception {
+        if (webhookServer != null) {
+            webhookServer.close();
+        }
+    }
+
+    @Test
+    public void shouldAnswerVerificationRequest() throws Exception {
+        startServer(event -> {
+        }, 1);
+
+        final HttpURLConnection validRequest = open("/webhook?hub.mode=subscribe" +
+                "&hub.verify_token=CUSTOM_VERIFY_TOKEN&hub.challenge=CHALLENGE_123");
+        assertThat(validRequest.getResponseCode(), is(200));
+        assertThat(readBody(validRequest.getInputStream()), is(equalTo("CHALLENGE_123")));
+
+        final HttpURLConnection invalidRequest = open("/webhook?hub.mode=subscribe" +
+                "&hub.verify_token=WRONG_TOKEN&hub.challenge=CHALLENGE_123");
+        assertThat(invalidRequest.getResponseCode(), is(403));
+    }
+
+    @Test
+    public void shouldAcknowledgeAndDispatchSignedPayload() throws Exception {
+        final List<Event> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch dispatched = new CountDownLatch(1);
+        startServer(event -> {
+            events.add(event);
+            dispatched.countDown();
+        }, 4);
+
+        assertThat(post(PAYLOAD, SIGNATURE), is(200));
+
+        assertTrue(dispatched.await(5, SECONDS));
+        assertThat(events.get(0).asTextMessageEvent().text(), is(equalTo("34wrr3wr")));
+        assertThat(webhookServer.acceptedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectPayloadWithInvalidOrMissingSignature() throws Exception {
+        final List<Event> events = new CopyOnWriteArrayList<>();
+        startServer(events::add, 4);
+
+        assertThat(post(PAYLOAD.replace("34wrr3wr", "CHANGED_TEXT"), SIGNATURE), is(403));
+        assertThat(post(PAYLOAD, null), is(403));
+
+        webhookServer.close();
+        assertThat(events.isEmpty(), is(true));
+        assertThat(webhookServer.rejectedCount(), is(2L));
+        webhookServer = null;
+    }
+
+    @Test
+    public void shouldAnswerServiceUnavailableIfQueueIsFull() throws Exception {
+        final CountDownLatch workerBusy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        startServer(event -> {
+            workerBusy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1);
+
+        try {
+            assertThat(post(PAYLOAD, SIGNATURE), is(200));
+            assertTrue(workerBusy.await(5, SECONDS));
+            assertThat(post(PAYLOAD, SIGNATURE), is(200));
+            assertThat(post(PAYLOAD, SIGNATURE), is(503));
+
+            assertThat(webhookServer.queueDepth(), is(1L));
+            assertThat(webhookServer.overflowCount(), is(1L));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldAnswerPayloadTooLargeWithoutAllocatingDeclaredLength() throws Exception {
+        final List<Event> events = new CopyOnWriteArrayList<>();
+        webhookServer = WebhookServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/webhook",
+                messenger, events::add, 1, IngestionQueue.create(4), 1024);
+
+        assertThat(postRaw("Content-Length: 2000000000"), is(equalTo("HTTP/1.1 413 Request Entity Too Large")));
+
+        final char[] largePayload = new char[2048];
+        Arrays.fill(largePayload, ' ');
+        final HttpURLConnection chunkedRequest = open("/webhook");
+        chunkedRequest.setRequestMethod("POST");
+        chunkedRequest.setDoOutput(true);
+        chunkedRequest.setChunkedStreamingMode(256);
+        chunkedRequest.setRequestProperty("X-Hub-Signature", SIGNATURE);
+        try (OutputStream outputStream = chunkedRequest.getOutputStream()) {
+            outputStream.write(new String(largePayload).getBytes(UTF_8));
+        }
+        assertThat(chunkedRequest.getResponseCode(), is(413));
+
+        assertThat(post(PAYLOAD, SIGNATURE), is(200));
+        webhookServer.close();
+        assertThat(events, hasSize(1));
+        assertThat(webhookServer.acceptedCount(), is(1L));
+        webhookServer = null;
+    }
+
+    @Test
+    public void shouldAnswerBadRequestIfContentLengthIsInvalid() throws Exception {
+        startServer(event -> {
+        }, 1);
+
+        assertThat(postRaw("Content-Length: 12x"), is(equalTo("HTTP/1.1 400 Bad Request")));
+        assertThat(postRaw("Content-Length: 99999999999999999999"), is(equalTo("HTTP/1.1 400 Bad Request")));
+        assertThat(webhookServer.acceptedCount(), is(0L));
+    }
+
+    private void startServer(Consumer<Event> eventHandler, int queueCapacity) throws IOException {
+        webhookServer = WebhookServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), "/webhook",
+                messenger, eventHandler, 1, IngestionQueue.create(queueCapacity));
+    }
+
+    /**
+     * Sends the head of a signed {@code POST} request with the given header but without body.
+     *
+     * @return the status line of the response
+     */
+    private String postRaw(String header) throws IOException {
+        try (Socket socket = new Socket(webhookServer.address().getAddress(), webhookServer.address().getPort())) {
+            socket.setSoTimeout(5000);
+            final String requestHead = "POST /webhook HTTP/1.1\r\nHost: localhost\r\n" +
+                    "X-Hub-Signature: " + SIGNATURE + "\r\n" + header + "\r\n\r\n";
+            socket.getOutputStream().write(requestHead.getBytes(US_ASCII));
+            socket.getOutputStream().flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), US_ASCII)).readLine();
+        }
+    }
+
+    private HttpURLConnection open(String pathAndQuery) throws IOException {
+        final URL url = new URL("http", webhookServer.address().getHostString(), webhookServer.address().getPort(),
+                pathAndQuery);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private int post(String payload, String signature) throws IOException {
+        final HttpURLConnection connection = open("/webhook");
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        if (signature != null) {
+            connection.setRequestProperty("X-Hub-Signature", signature);
+        }
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(payload.getBytes(UTF_8));
+        }
+        return connection.getResponseCode();
+    }
+
+    private static String readBody(InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[256];
+        int read;
+        while ((read = inputStream.read(buffer)) >= 0) {
+            body.write(buffer, 0, read);
+        }
+        return body.toString(UTF_8.name());
+    }
+}
@@ -1,11 +1,13 @@
 package com.github.messenger4j.test.integration;
 
+import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -534,6 +536,9 @@ public class WebhookTest {
         final Greeting greeting = greetingNlpEntity.as(Greeting.class);
         assertThat(greeting.confidence, equalTo(0.98786211036043));
         assertThat(greeting.value, equalTo("true"));
+        assertThat(greetingNlpEntity.confidence(), equalTo(0.98786211036043));
+        assertThat(greetingNlpEntity.value(), equalTo(of("true")));
+        assertThat(greetingNlpEntity, equalTo(new NLPEntity(greetingNlpEntity.asString())));
     }
 
     private class Greeting {
@@ -941,6 +946,33 @@ public class WebhookTest {
         assertThat(messageReadEvent.recipientId(), equalTo("PAGE_ID"));
         assertThat(messageReadEvent.timestamp(), equalTo(Instant.ofEpochMilli(1458668856463L)));
         assertThat(messageReadEvent.watermark(), equalTo(Instant.ofEpochMilli(1458668856253L)));
+        assertThat(messageReadEvent.senderIdAsLong(), equalTo(-1L));
+    }
+
+    @Test
+    public void shouldExposeNumericIdsAndTimestampsAsLong() throws Exception {
+        //given
+        final String payload = "{\"object\":\"page\",\"entry\":[{\"id\":\"1067280970047460\"," +
+                "\"time\":1458692752478,\"messaging\":[{\"sender\":{\"id\":\"1254459154682919\"}," +
+                "\"recipient\":{\"id\":\"1067280970047460\"},\"timestamp\":1458668856463," +
+                "\"read\":{\"watermark\":1458668856253}}]}]}";
+
+        //when
+        messenger.onReceiveEvents(payload, empty(), mockEventHandler);
+
+        //then
+        final ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+        verify(mockEventHandler).accept(eventCaptor.capture());
+        final Event event = eventCaptor.getValue();
+
+        assertThat(event.senderIdAsLong(), equalTo(1254459154682919L));
+        assertThat(event.senderId(), equalTo("1254459154682919"));
+        assertThat(event.senderId(), is(sameInstance(event.senderId())));
+        assertThat(event.recipientIdAsLong(), equalTo(1067280970047460L));
+        assertThat(event.recipientId(), equalTo("1067280970047460"));
+        assertThat(event.recipientId(), is(sameInstance(event.recipientId())));
+        assertThat(event.timestampEpochMilli(), equalTo(1458668856463L));
+        assertThat(event.asMessageReadEvent().watermarkEpochMilli(), equalTo(1458668856253L));
     }
 
     @Test
@@ -983,6 +1015,28 @@ public class WebhookTest {
         assertThat(messageDeliveredEvent.messageIds().isPresent(), is(true));
         assertThat(messageDeliveredEvent.messageIds().get(), hasSize(1));
         assertThat(messageDeliveredEvent.messageIds().get().get(0), equalTo("mid.1458668856218:ed81099e15d3f4f233"));
+        assertThat(messageDeliveredEvent.messageIds(), is(sameInstance(messageDeliveredEvent.messageIds())));
+    }
+
+    @Test
+    public void shouldIgnoreCachedViewsInEquality() throws Exception {
+        //given
+        final Instant timestamp = Instant.ofEpochMilli(1458668856463L);
+        final Instant watermark = Instant.ofEpochMilli(1458668856253L);
+        final MessageDeliveredEvent accessedEvent = new MessageDeliveredEvent("1254459154682919",
+                "1067280970047460", timestamp, watermark, of(singletonList("mid.1458668856218")));
+        final MessageDeliveredEvent untouchedEvent = new MessageDeliveredEvent("1254459154682919",
+                "1067280970047460", timestamp, watermark, of(singletonList("mid.1458668856218")));
+
+        //when
+        accessedEvent.senderId();
+        accessedEvent.recipientId();
+        accessedEvent.messageIds();
+
+        //then
+        assertThat(accessedEvent, equalTo(untouchedEvent));
+        assertThat(accessedEvent.hashCode(), equalTo(untouchedEvent.hashCode()));
+        assertThat(accessedEvent.toString(), equalTo(untouchedEvent.toString()));
     }
 
     @Test